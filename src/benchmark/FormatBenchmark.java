@@ -0,0 +1,80 @@
+package benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+
+import exporter.PostExporter;
+import importer.CsvRowSource;
+import importer.JsonLinesRowSource;
+import importer.RowSource;
+import models.Post;
+import models.User;
+import utils.CSVUtils;
+import utils.CsvRecord;
+
+/**
+ * FormatBenchmark compares the throughput of the CSV and JSON Lines post formats.
+ * <p>
+ * Each round exports the same generated posts to a .csv and a .jsonl file through
+ * {@link PostExporter}, then reads both back through the row sources of the import pipeline,
+ * validating every row into a Post. No database is involved.
+ * Run with: {@code java benchmark.FormatBenchmark [posts] [rounds]}.
+ * </p>
+ */
+public class FormatBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        User user = new User("bench", "dummyhashedpassword", "dummysalt", "Bench", "User", false);
+        user.setUserId(1);
+        Post[] posts = new Post[count];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            posts[i] = new Post(i + 1, "Benchmark post " + random.nextInt() + ", with \"quotes\"", "bench",
+                    random.nextInt(10_000), random.nextInt(10_000), "12/01/2023 09:00", 1);
+        }
+
+        File csvFile = Files.createTempFile("dah-bench", ".csv").toFile();
+        File jsonLinesFile = Files.createTempFile("dah-bench", ".jsonl").toFile();
+        try {
+            System.out.printf("%d posts, %d rounds%n", count, rounds);
+            for (int round = 1; round <= rounds; round++) {
+                for (File file : new File[] { csvFile, jsonLinesFile }) {
+                    long start = System.nanoTime();
+                    PostExporter.export(action -> {
+                        for (Post post : posts) {
+                            action.accept(post);
+                        }
+                        return posts.length;
+                    }, file);
+                    double writeSeconds = (System.nanoTime() - start) / 1e9;
+
+                    start = System.nanoTime();
+                    long rows = 0;
+                    try (RowSource source = file == csvFile ? new CsvRowSource(file) : new JsonLinesRowSource(file)) {
+                        CsvRecord record;
+                        while ((record = source.next()) != null) {
+                            CSVUtils.toPost(record, user);
+                            rows++;
+                        }
+                    }
+                    double readSeconds = (System.nanoTime() - start) / 1e9;
+                    if (rows != count) {
+                        throw new IllegalStateException("Read " + rows + " of " + count + " posts from " + file.getName());
+                    }
+
+                    double megabytes = file.length() / (1024.0 * 1024.0);
+                    System.out.printf("round %d %-5s %7.1f MB  write: %9.0f posts/s %6.1f MB/s  read: %9.0f posts/s %6.1f MB/s%n",
+                            round, file == csvFile ? "csv" : "jsonl", megabytes, count / writeSeconds, megabytes / writeSeconds,
+                            count / readSeconds, megabytes / readSeconds);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(csvFile.toPath());
+            Files.deleteIfExists(jsonLinesFile.toPath());
+        }
+    }
+}
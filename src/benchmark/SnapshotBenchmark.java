@@ -0,0 +1,96 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import database.DBManager;
+import database.PoolConfig;
+import database.PostDAO;
+import enums.CommitMode;
+import models.Post;
+import snapshot.PostSnapshot;
+import snapshot.PostSnapshotWriter;
+
+/**
+ * SnapshotBenchmark compares loading the Post table from SQLite with loading it from a
+ * {@link PostSnapshot} file written from the same table.
+ * <p>
+ * Each round streams every post through {@code PostDAO.forEachPost} and sums the likes, then
+ * maps the snapshot and sums the likes column. A full decode of the snapshot is timed as well.
+ * Run with: {@code java benchmark.SnapshotBenchmark [rows] [rounds]}.
+ * </p>
+ */
+public class SnapshotBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        File dbFile = Files.createTempFile("dah-bench-snapshot", ".db").toFile();
+        File snapshotFile = Files.createTempFile("dah-bench", ".snapshot").toFile();
+        PoolConfig config = new PoolConfig();
+        config.setUrl("jdbc:sqlite:" + dbFile.getAbsolutePath());
+        config.setLeakDetectionThresholdMillis(0);
+
+        DBManager dbManager = DBManager.newInstance(config);
+        PostDAO postDAO = new PostDAO(dbManager);
+        try {
+            List<Post> posts = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                posts.add(randomPost());
+            }
+            postDAO.addPostsBatch(posts, 1000, CommitMode.Per_chunk);
+
+            try (PostSnapshotWriter writer = new PostSnapshotWriter(snapshotFile)) {
+                postDAO.forEachPost(null, PostDAO.DEFAULT_FETCH_SIZE, post -> {
+                    try {
+                        writer.write(post);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                writer.finish();
+            }
+            System.out.printf("%d posts, snapshot of %d bytes%n", rows, snapshotFile.length());
+
+            for (int round = 1; round <= rounds; round++) {
+                long start = System.nanoTime();
+                long[] likes = new long[1];
+                postDAO.forEachPost(null, PostDAO.DEFAULT_FETCH_SIZE, post -> likes[0] += post.getLikes());
+                long queryNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                PostSnapshot snapshot = PostSnapshot.open(snapshotFile);
+                long snapshotLikes = snapshot.getTotalLikes();
+                long columnNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                long[] decoded = new long[1];
+                PostSnapshot.open(snapshotFile).forEach(post -> decoded[0]++);
+                long decodeNanos = System.nanoTime() - start;
+
+                if (likes[0] != snapshotLikes || decoded[0] != rows) {
+                    throw new IllegalStateException("Snapshot does not match the database.");
+                }
+                System.out.printf("round %d  query: %7.1f ms  snapshot likes column: %6.1f ms  snapshot decode: %7.1f ms%n",
+                        round, queryNanos / 1e6, columnNanos / 1e6, decodeNanos / 1e6);
+            }
+        } finally {
+            dbManager.close();
+            Files.deleteIfExists(snapshotFile.toPath());
+            Files.deleteIfExists(dbFile.toPath());
+            Files.deleteIfExists(new File(dbFile.getPath() + "-wal").toPath());
+            Files.deleteIfExists(new File(dbFile.getPath() + "-shm").toPath());
+        }
+    }
+
+    private static Post randomPost() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Post("Benchmark post " + random.nextInt(), "bench" + random.nextInt(50), random.nextInt(10_000),
+                random.nextInt(10_000), "12/01/2023 09:00", 1);
+    }
+}
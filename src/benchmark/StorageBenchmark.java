@@ -0,0 +1,124 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import database.DBManager;
+import database.PoolConfig;
+import database.PostDAO;
+import database.StorageProfile;
+import models.Post;
+
+/**
+ * StorageBenchmark measures mixed read/write throughput of the PostDAO against
+ * a scratch database for each {@link StorageProfile}.
+ * <p>
+ * Writer threads call {@code addPost} while reader threads alternate between
+ * {@code getPostByID} and {@code getTopNPostsByLikes}, for a fixed duration per profile.
+ * Run with: {@code java benchmark.StorageBenchmark [seconds] [readers] [writers]}.
+ * </p>
+ */
+public class StorageBenchmark {
+
+    private static final int SEED_ROWS = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int readers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int writers = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        System.out.printf("Mixed workload: %d reader thread(s), %d writer thread(s), %ds per profile%n", readers, writers, seconds);
+        for (StorageProfile profile : new StorageProfile[] { StorageProfile.legacy(), StorageProfile.tuned() }) {
+            run(profile, seconds, readers, writers);
+        }
+    }
+
+    private static void run(StorageProfile profile, int seconds, int readers, int writers) throws Exception {
+        File dbFile = Files.createTempFile("dah-bench-" + profile.getName(), ".db").toFile();
+        PoolConfig config = new PoolConfig();
+        config.setUrl("jdbc:sqlite:" + dbFile.getAbsolutePath());
+        config.setReaderPoolSize(readers);
+        config.setStorageProfile(profile);
+        config.setLeakDetectionThresholdMillis(0);
+
+        DBManager dbManager = DBManager.newInstance(config);
+        PostDAO postDAO = new PostDAO(dbManager);
+        try {
+            for (int i = 0; i < SEED_ROWS; i++) {
+                postDAO.addPost(randomPost());
+            }
+
+            LongAdder reads = new LongAdder();
+            LongAdder writes = new LongAdder();
+            AtomicBoolean running = new AtomicBoolean(true);
+            CountDownLatch done = new CountDownLatch(readers + writers);
+            List<Thread> threads = new ArrayList<>();
+
+            for (int i = 0; i < writers; i++) {
+                threads.add(new Thread(() -> {
+                    try {
+                        while (running.get()) {
+                            postDAO.addPost(randomPost());
+                            writes.increment();
+                        }
+                    } catch (Exception e) {
+                        System.err.println("Writer failed: " + e.getMessage());
+                    } finally {
+                        done.countDown();
+                    }
+                }, "bench-writer-" + i));
+            }
+            for (int i = 0; i < readers; i++) {
+                threads.add(new Thread(() -> {
+                    try {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (running.get()) {
+                            if (random.nextBoolean()) {
+                                postDAO.getPostByID(1 + random.nextInt(SEED_ROWS));
+                            } else {
+                                postDAO.getTopNPostsByLikes(10);
+                            }
+                            reads.increment();
+                        }
+                    } catch (Exception e) {
+                        System.err.println("Reader failed: " + e.getMessage());
+                    } finally {
+                        done.countDown();
+                    }
+                }, "bench-reader-" + i));
+            }
+
+            long start = System.nanoTime();
+            threads.forEach(Thread::start);
+            Thread.sleep(seconds * 1000L);
+            running.set(false);
+            done.await();
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%-7s reads/s: %10.0f  writes/s: %8.0f  (%s)%n", profile.getName(),
+                    reads.sum() / elapsed, writes.sum() / elapsed, dbManager.getWriterPoolStats());
+        } finally {
+            dbManager.close();
+            deleteQuietly(dbFile);
+        }
+    }
+
+    private static Post randomPost() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Post("Benchmark post " + random.nextInt(), "bench", random.nextInt(10_000), random.nextInt(10_000),
+                "12/01/2023 09:00", 1);
+    }
+
+    private static void deleteQuietly(File dbFile) throws IOException {
+        Files.deleteIfExists(dbFile.toPath());
+        Files.deleteIfExists(new File(dbFile.getPath() + "-wal").toPath());
+        Files.deleteIfExists(new File(dbFile.getPath() + "-shm").toPath());
+    }
+}
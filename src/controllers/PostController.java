@@ -1,14 +1,27 @@
 package controllers;
 
+import java.io.File;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import database.DBManager;
+import enums.CommitMode;
+import enums.ErrorMode;
+import enums.SortBy;
+import events.PostEventBus;
 import exceptions.PostException;
+import importer.ImportProgress;
+import importer.ImportStats;
 import models.Post;
+import models.PostPage;
 import models.User;
+import services.AsyncPostService;
 import services.PostService;
+import services.ServiceExecutor;
 import services.factory.ServiceFactory;
 import services.factory.ServiceFactoryImpl;
+import utils.CacheStats;
 
 /**
  * This controller manages operations related to posts. 
@@ -18,15 +31,27 @@ public class PostController {
 	
 	// Dependency Injection
 	private final PostService postService;
+	private final AsyncPostService asyncPostService;
 	
 	/**
-     * Constructor initializes the PostService object.
+     * Constructor initializes the PostService object, with its own executor for asynchronous calls.
      *
      * @param dbManager The database manager instance for database operations.
      */
     public PostController(DBManager dbManager) {
+    	this(dbManager, new ServiceExecutor());
+    }
+	
+	/**
+     * Constructor initializes the PostService object and dispatches asynchronous calls to a shared executor.
+     *
+     * @param dbManager The database manager instance for database operations.
+     * @param serviceExecutor The executor running asynchronous service calls.
+     */
+    public PostController(DBManager dbManager, ServiceExecutor serviceExecutor) {
 		 ServiceFactory serviceFactory = new ServiceFactoryImpl(dbManager);
 		 this.postService = serviceFactory.createPostService();
+		 this.asyncPostService = new AsyncPostService(postService, serviceExecutor);
     }
 
     /**
@@ -103,6 +128,20 @@ public class PostController {
         return postService.getPostsByUser(user);
     }
 
+    /**
+     * Retrieve the posts dated within a time range, newest first.
+     * 
+     * @param from Start of the range, inclusive.
+     * @param to   End of the range, exclusive.
+     * @param user The user whose posts are to be fetched, or null for all users.
+     * @return a list of posts in the range.
+     * @throws PostException if there's an error during the operation.
+     */
+    public List<Post> getPostsByDateRange(LocalDateTime from, LocalDateTime to, User user) throws PostException {
+        System.out.println("Fetching posts between " + from + " and " + to + ".");
+        return postService.getPostsByDateRange(from, to, user);
+    }
+
     /**
      * Update an existing post.
      * 
@@ -125,6 +164,72 @@ public class PostController {
         System.out.println("Fetching all posts.");
         return postService.getAllPosts();
     }
+
+    /**
+     * Get the counters of the post lookup cache.
+     * 
+     * @return a snapshot of the post cache statistics.
+     */
+    public CacheStats getPostCacheStats() {
+        return postService.getPostCacheStats();
+    }
+
+    /**
+     * Get the bus announcing committed changes to posts.
+     * 
+     * @return the post event bus.
+     */
+    public PostEventBus getPostEventBus() {
+        return postService.getEventBus();
+    }
+
+    /**
+     * Get the asynchronous variant of the post service, whose calls are limited per database lane.
+     * 
+     * @return the asynchronous post service.
+     */
+    public AsyncPostService getAsyncPostService() {
+        return asyncPostService;
+    }
+
+    /**
+     * Stream posts one at a time without loading them all into memory.
+     * 
+     * @param user   The user whose posts are to be streamed, or null for all posts.
+     * @param action Called for every post.
+     * @return the number of posts streamed.
+     * @throws PostException if there's an error during the operation.
+     */
+    public long forEachPost(User user, Consumer<Post> action) throws PostException {
+        System.out.println("Streaming posts" + (user != null ? " for user: " + user.getUsername() : "") + ".");
+        return postService.forEachPost(user, action);
+    }
+
+    /**
+     * Retrieve one page of posts in descending order of the given sort key.
+     * 
+     * @param sortBy   The sort order of the listing.
+     * @param user     The user whose posts are to be listed, or null for all posts.
+     * @param after    The last post of the previous page, or null for the first page.
+     * @param pageSize The maximum number of posts in the page.
+     * @return the page of posts.
+     * @throws PostException if there's an error during the operation.
+     */
+    public PostPage getPostsPage(SortBy sortBy, User user, Post after, int pageSize) throws PostException {
+        return postService.getPostsPage(sortBy, user, after, pageSize);
+    }
+
+    /**
+     * Count posts per shares range.
+     * 
+     * @param user       The user whose posts are counted, or null for all posts.
+     * @param boundaries The strictly ascending lower bounds of the buckets.
+     * @return the number of posts in each bucket.
+     * @throws PostException if there's an error during the operation.
+     */
+    public long[] getSharesHistogram(User user, int... boundaries) throws PostException {
+        return postService.getSharesHistogram(user, boundaries);
+    }
     
     /**
      * Add multiple posts in bulk.
@@ -137,4 +242,87 @@ public class PostController {
         System.out.println("Attempting to add " + posts.size() + " posts in bulk.");
         return postService.addBulkPosts(posts);
     }
+    
+    /**
+     * Add multiple posts in bulk with explicit batching and commit semantics.
+     * 
+     * @param posts The list of posts to be added.
+     * @param chunkSize The number of rows written per batch.
+     * @param commitMode Whether the whole list or each chunk is committed atomically.
+     * @return the generated PostIDs.
+     * @throws PostException if there's an error during the operation.
+     */
+    public List<Integer> addBulkPosts(List<Post> posts, int chunkSize, CommitMode commitMode) throws PostException {
+        System.out.println("Attempting to add " + posts.size() + " posts in bulk (chunks of " + chunkSize + ", " + commitMode + ").");
+        return postService.addBulkPosts(posts, chunkSize, commitMode);
+    }
+
+    /**
+     * Export posts to a CSV file.
+     * 
+     * @param user The user whose posts are exported, or null for all posts.
+     * @param file The export file.
+     * @param gzip Whether to GZIP compress the file.
+     * @return the number of posts exported.
+     * @throws PostException if there's an error during the operation.
+     */
+    public long exportPosts(User user, File file, boolean gzip) throws PostException {
+        System.out.println("Exporting " + (user != null ? "posts of user: " + user.getUsername() : "all posts") + " to file: " + file.getName());
+        return postService.exportPosts(user, file, gzip);
+    }
+
+    /**
+     * Write posts to a binary snapshot file for analytics.
+     * 
+     * @param user The user whose posts are written, or null for all posts.
+     * @param file The snapshot file.
+     * @return the number of posts written.
+     * @throws PostException if there's an error during the operation.
+     */
+    public long writePostSnapshot(User user, File file) throws PostException {
+        System.out.println("Writing snapshot of " + (user != null ? "posts of user: " + user.getUsername() : "all posts") + " to file: " + file.getName());
+        return postService.writePostSnapshot(user, file);
+    }
+
+    /**
+     * Remove the posts that already exist from a list of posts about to be imported.
+     * 
+     * @param posts The posts about to be imported.
+     * @param user  The importing user.
+     * @return the new posts.
+     * @throws PostException if there's an error during the operation.
+     */
+    public List<Post> removeDuplicatePosts(List<Post> posts, User user) throws PostException {
+        System.out.println("Checking " + posts.size() + " posts for duplicates.");
+        return postService.removeDuplicatePosts(posts, user);
+    }
+
+    /**
+     * Import posts from a CSV file straight into the database without a preview.
+     * 
+     * @param file      The CSV file to import.
+     * @param user      The importing user.
+     * @param errorMode Whether an invalid row aborts the import or is reported and skipped.
+     * @return the import statistics.
+     * @throws PostException if there's an error during the operation.
+     */
+    public ImportStats importPosts(File file, User user, ErrorMode errorMode) throws PostException {
+        System.out.println("Importing posts from file: " + file.getName() + " (" + errorMode + ").");
+        return postService.importPosts(file, user, errorMode);
+    }
+
+    /**
+     * Import posts straight into the database, reporting progress as the import runs.
+     * 
+     * @param file      The CSV or JSON Lines file to import.
+     * @param user      The importing user.
+     * @param errorMode Whether an invalid row aborts the import or is reported and skipped.
+     * @param progress  Receives the live counters and can cancel the import.
+     * @return the import statistics.
+     * @throws PostException if there's an error during the operation or the import was cancelled.
+     */
+    public ImportStats importPosts(File file, User user, ErrorMode errorMode, ImportProgress progress) throws PostException {
+        System.out.println("Importing posts with progress from file: " + file.getName() + " (" + errorMode + ").");
+        return postService.importPosts(file, user, errorMode, progress);
+    }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package controllers;
 import database.DBManager;
 import exceptions.UserException;
 import models.User;
+import services.AsyncUserService;
+import services.ServiceExecutor;
 import services.UserService;
 import services.factory.ServiceFactory;
 import services.factory.ServiceFactoryImpl;
@@ -18,16 +20,39 @@ public class UserController {
 	
 	// Dependency Injection
 	private final UserService userService;
+	private final AsyncUserService asyncUserService;
 	
 	/**
      * Constructs a UserController with a given DBManager.
-     * It initializes the UserService using the ServiceFactory.
+     * It initializes the UserService using the ServiceFactory, with its own executor for asynchronous calls.
      * 
      * @param dbManager The database manager to be used for database operations.
      */
     public UserController(DBManager dbManager) {
+    	this(dbManager, new ServiceExecutor());
+    }
+	
+	/**
+     * Constructs a UserController with a given DBManager whose asynchronous calls run on a shared executor.
+     * It initializes the UserService using the ServiceFactory.
+     * 
+     * @param dbManager The database manager to be used for database operations.
+     * @param serviceExecutor The executor running asynchronous service calls.
+     */
+    public UserController(DBManager dbManager, ServiceExecutor serviceExecutor) {
     	ServiceFactory serviceFactory = new ServiceFactoryImpl(dbManager);
         this.userService = serviceFactory.createUserService();
+        this.asyncUserService = new AsyncUserService(userService, serviceExecutor);
+    }
+    
+    /**
+     * Get the asynchronous variant of the user service, whose password hashing calls are limited
+     * to a few at a time.
+     * 
+     * @return the asynchronous user service.
+     */
+    public AsyncUserService getAsyncUserService() {
+        return asyncUserService;
     }
 
     /**
@@ -0,0 +1,129 @@
+package database;
+
+import java.io.File;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CheckpointScheduler periodically folds the write-ahead log back into the main
+ * database file when the {@link StorageProfile} uses WAL.
+ * <p>
+ * A PASSIVE checkpoint is run on every tick, which never blocks readers or writers.
+ * Once the WAL file grows beyond the profile's truncate threshold a TRUNCATE checkpoint
+ * is issued instead, resetting the WAL to zero bytes so that it can not grow without bound
+ * during long bulk imports. Checkpoints are run on the writer lane so they queue behind,
+ * rather than compete with, application writes.
+ * </p>
+ */
+public class CheckpointScheduler {
+
+    private final DBManager dbManager;
+    private final StorageProfile profile;
+    private final File walFile;
+    private ScheduledFuture<?> task;
+
+    // Statistics
+    private final AtomicLong passiveCheckpoints = new AtomicLong();
+    private final AtomicLong truncateCheckpoints = new AtomicLong();
+    private final AtomicLong pagesCheckpointed = new AtomicLong();
+
+    /**
+     * Constructs a CheckpointScheduler for the database behind the given manager.
+     *
+     * @param dbManager The database manager whose writer lane runs the checkpoints.
+     * @param profile   The storage profile holding the checkpoint thresholds.
+     */
+    CheckpointScheduler(DBManager dbManager, StorageProfile profile) {
+        this.dbManager = dbManager;
+        this.profile = profile;
+        this.walFile = resolveWalFile(dbManager.getConfig().getUrl());
+    }
+
+    // Derives "<database>-wal" from a jdbc:sqlite:<path> url, null for in-memory databases.
+    private static File resolveWalFile(String url) {
+        String path = url.startsWith("jdbc:sqlite:") ? url.substring("jdbc:sqlite:".length()) : url;
+        int options = path.indexOf('?');
+        if (options >= 0) {
+            path = path.substring(0, options);
+        }
+        if (path.isEmpty() || path.startsWith(":memory:") || path.startsWith("file::memory:")) {
+            return null;
+        }
+        if (path.startsWith("file:")) {
+            path = path.substring("file:".length());
+        }
+        return new File(path + "-wal");
+    }
+
+    /**
+     * Starts the periodic checkpoint on the given executor. Does nothing if the profile
+     * does not use WAL or has no checkpoint interval.
+     *
+     * @param executor The executor running housekeeping tasks.
+     */
+    void start(ScheduledExecutorService executor) {
+        if (!profile.isWal() || profile.getCheckpointIntervalMillis() <= 0 || walFile == null) {
+            return;
+        }
+        long interval = profile.getCheckpointIntervalMillis();
+        task = executor.scheduleWithFixedDelay(this::runScheduledCheckpoint, interval, interval, TimeUnit.MILLISECONDS);
+        System.out.println("WAL checkpoint scheduled every " + interval + "ms.");
+    }
+
+    /**
+     * Stops the periodic checkpoint.
+     */
+    void stop() {
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    // Exceptions must not escape, otherwise the executor silently cancels the schedule.
+    private void runScheduledCheckpoint() {
+        try {
+            checkpoint();
+        } catch (SQLException e) {
+            System.err.println("WAL checkpoint failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a checkpoint now, choosing TRUNCATE over PASSIVE when the WAL exceeds the threshold.
+     *
+     * @return the number of pages written back to the database file
+     * @throws SQLException if the checkpoint fails.
+     */
+    public int checkpoint() throws SQLException {
+        long walBytes = walFile != null && walFile.exists() ? walFile.length() : 0;
+        if (walBytes == 0) {
+            return 0;
+        }
+        boolean truncate = profile.getCheckpointTruncateBytes() > 0 && walBytes >= profile.getCheckpointTruncateBytes();
+        String mode = truncate ? "TRUNCATE" : "PASSIVE";
+
+        try (PooledConnection connection = dbManager.acquireWriter();
+             Statement stmt = connection.createStatement();
+             ResultSet resultSet = stmt.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+            // Columns: busy flag, pages in the WAL, pages checkpointed
+            int pages = resultSet.next() ? Math.max(0, resultSet.getInt(3)) : 0;
+            pagesCheckpointed.addAndGet(pages);
+            if (truncate) {
+                truncateCheckpoints.incrementAndGet();
+                System.out.println("WAL truncated after reaching " + walBytes + " bytes.");
+            } else {
+                passiveCheckpoints.incrementAndGet();
+            }
+            return pages;
+        }
+    }
+
+    public long getPassiveCheckpoints() { return passiveCheckpoints.get(); }
+    public long getTruncateCheckpoints() { return truncateCheckpoints.get(); }
+    public long getPagesCheckpointed() { return pagesCheckpointed.get(); }
+}
@@ -0,0 +1,237 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConnectionPool is a bounded pool of SQLite connections forming one "lane" of the
+ * {@link DBManager} (the reader lane or the writer lane).
+ * <p>
+ * Connections are opened lazily up to the configured size and are reused in LIFO
+ * order so that the most recently used (and therefore warmest) connection is handed
+ * out first. Callers that can not get a connection within the acquire timeout fail
+ * with an {@link SQLTimeoutException} instead of blocking forever. Connections held
+ * longer than the leak detection threshold are reported together with the stack
+ * trace of the code that borrowed them.
+ * </p>
+ */
+public class ConnectionPool {
+
+    /**
+     * Opens a new physical connection for the pool.
+     */
+    @FunctionalInterface
+    interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+    private final ConnectionFactory factory;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private int open;
+    private volatile boolean closed;
+
+    // Statistics
+    private final AtomicLong acquires = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    /**
+     * Constructs a new pool lane. No connection is opened until the first acquire.
+     *
+     * @param name                 Name of the lane, used in logs and statistics.
+     * @param maxSize              Maximum number of open connections.
+     * @param acquireTimeoutMillis How long {@link #acquire()} waits for a free connection.
+     * @param leakThresholdMillis  How long a connection may be held before being reported, 0 to disable.
+     * @param statementCacheSize   How many prepared statements each connection caches.
+     * @param factory              Opens and configures new physical connections.
+     */
+    ConnectionPool(String name, int maxSize, long acquireTimeoutMillis, long leakThresholdMillis, int statementCacheSize,
+            ConnectionFactory factory) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.factory = factory;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the acquire timeout for one to become free.
+     * The returned connection must be closed to hand it back.
+     *
+     * @return a borrowed connection
+     * @throws SQLTimeoutException if no connection became available in time.
+     * @throws SQLException if the pool is closed or a new connection can not be opened.
+     */
+    public PooledConnection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("The " + name + " connection pool is closed.");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + acquireTimeoutMillis + "ms waiting for a " + name + " connection.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a " + name + " connection.", e);
+        }
+
+        PooledConnection pooledConnection;
+        try {
+            pooledConnection = takeIdleOrOpen();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        long waited = System.nanoTime() - start;
+        acquires.incrementAndGet();
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        pooledConnection.markBorrowed(leakThresholdMillis > 0);
+        borrowed.add(pooledConnection);
+        return pooledConnection;
+    }
+
+    // Reuses the most recently returned healthy connection, or opens a new one.
+    private PooledConnection takeIdleOrOpen() throws SQLException {
+        synchronized (this) {
+            PooledConnection candidate;
+            while ((candidate = idle.pollFirst()) != null) {
+                if (!candidate.isPhysicallyClosed()) {
+                    return candidate;
+                }
+                open--;
+            }
+            open++;
+        }
+        try {
+            Connection connection = factory.open();
+            return new PooledConnection(this, connection, new StatementCache(connection, statementCacheSize,
+                    statementCacheHits, statementCacheMisses, statementCacheEvictions));
+        } catch (SQLException | RuntimeException e) {
+            synchronized (this) {
+                open--;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Hands a borrowed connection back. Any transaction left open by the borrower is rolled back.
+     */
+    void release(PooledConnection pooledConnection) {
+        if (!borrowed.remove(pooledConnection)) {
+            return;  // Already released
+        }
+
+        boolean healthy = !closed && !pooledConnection.isPhysicallyClosed();
+        if (healthy) {
+            try {
+                Connection connection = pooledConnection.getConnection();
+                if (!connection.getAutoCommit()) {
+                    System.err.println("A " + name + " connection was returned with an open transaction; rolling back.");
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                healthy = false;
+            }
+        }
+
+        if (healthy) {
+            synchronized (this) {
+                idle.addFirst(pooledConnection);
+            }
+        } else {
+            pooledConnection.closePhysical();
+            synchronized (this) {
+                open--;
+            }
+        }
+        permits.release();
+    }
+
+    /**
+     * Reports connections that have been borrowed for longer than the leak detection threshold.
+     * Each borrow is reported at most once.
+     */
+    void detectLeaks() {
+        if (leakThresholdMillis <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (PooledConnection pooledConnection : borrowed) {
+            long heldMillis = TimeUnit.NANOSECONDS.toMillis(now - pooledConnection.getBorrowedAtNanos());
+            if (heldMillis > leakThresholdMillis && !pooledConnection.isLeakReported()) {
+                pooledConnection.setLeakReported(true);
+                leaks.incrementAndGet();
+                System.err.println("Possible connection leak: a " + name + " connection has been held for " + heldMillis + "ms.");
+                if (pooledConnection.getBorrowedBy() != null) {
+                    pooledConnection.getBorrowedBy().printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a snapshot of the pool counters
+     */
+    public PoolStats getStats() {
+        int openNow;
+        synchronized (this) {
+            openNow = open;
+        }
+        return new PoolStats(name, maxSize, openNow, borrowed.size(), acquires.get(), timeouts.get(), leaks.get(),
+                totalWaitNanos.get(), maxWaitNanos.get(), statementCacheHits.sum(), statementCacheMisses.sum(),
+                statementCacheEvictions.sum());
+    }
+
+    /**
+     * @return true once {@link #close()} has been called
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes all idle connections. Connections still borrowed are closed when they are returned.
+     */
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            PooledConnection pooledConnection;
+            while ((pooledConnection = idle.pollFirst()) != null) {
+                pooledConnection.closePhysical();
+                open--;
+            }
+        }
+    }
+}
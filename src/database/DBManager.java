@@ -5,40 +5,74 @@ import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import exceptions.DatabaseException;
 
 /**
- * DBManager is responsible for managing the database connection, 
+ * DBManager is responsible for managing the database connections, 
  * initializing the database tables if they don't exist, 
  * and executing database queries and updates.
+ * <p>
+ * Connections are pooled in two lanes: a bounded writer lane (SQLite allows a single
+ * writer at a time) and a reader lane of N connections, so that reads scale across
+ * cores instead of queueing behind bulk imports on one shared connection.
+ * DAOs borrow a connection per operation through {@link #acquireReader()} and
+ * {@link #acquireWriter()}.
+ * </p>
  * It follows the Singleton pattern to ensure only one instance 
  * exists throughout the application's lifetime.
  */
 public class DBManager {
 	
-    private static final String DB_URL = "jdbc:sqlite:/Users/abhinav/Development/advance_programming/Assignment2/src/database/DataAnalyticsHub.db";
+    private final PoolConfig config;
+    private final ConnectionPool readerPool;
+    private final ConnectionPool writerPool;
+    private final ScheduledExecutorService housekeeper;
+    private final CheckpointScheduler checkpointScheduler;
+    // Maintenance connection used for schema initialization and the legacy query/update helpers.
     private Connection connection;
     private static DBManager instance;
     
     // Private constructor ensures that no other class can directly instantiate it.
-    private DBManager() {
+    private DBManager(PoolConfig config) {
+        this.config = config;
+        this.writerPool = new ConnectionPool("writer", config.getWriterPoolSize(), config.getAcquireTimeoutMillis(),
+                config.getLeakDetectionThresholdMillis(), config.getStatementCacheSize(), () -> openConnection(false));
+        this.readerPool = new ConnectionPool("reader", config.getReaderPoolSize(), config.getAcquireTimeoutMillis(),
+                config.getLeakDetectionThresholdMillis(), config.getStatementCacheSize(), () -> openConnection(true));
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (config.getLeakDetectionThresholdMillis() > 0) {
+            long period = Math.max(1000L, config.getLeakDetectionThresholdMillis() / 2);
+            housekeeper.scheduleAtFixedRate(() -> {
+                writerPool.detectLeaks();
+                readerPool.detectLeaks();
+            }, period, period, TimeUnit.MILLISECONDS);
+        }
         connect();
         initializeDB();
+        this.checkpointScheduler = new CheckpointScheduler(this, config.getStorageProfile());
+        checkpointScheduler.start(housekeeper);
     }
     
     /* 
      * Lazy Initialization with Check, the instance is created only when it's needed. If you never call getInstance(), the instance will never be created.
-     * By checking if the connection is closed, it attempt to ensure that the DB connection is always fresh when accessed.
+     * By checking if the manager is closed, it attempt to ensure that the DB connections are always fresh when accessed.
      * Reference: https://www.digitalocean.com/community/tutorials/java-singleton-design-pattern-best-practices-examples
      * 
      * @return DBManager instance
      * @throws SQLException if there's an error during database operation
      */
-    public static DBManager getInstance() throws DatabaseException {
+    public static synchronized DBManager getInstance() throws DatabaseException {
     	try {
-            if (instance == null || instance.getConnection().isClosed()) {
-                instance = new DBManager();
+            if (instance == null || instance.isClosed()) {
+                instance = new DBManager(new PoolConfig());
             }
         } catch (SQLException e) {
             throw new DatabaseException("Error while initializing DBManager.", e);
@@ -46,9 +80,80 @@ public class DBManager {
         return instance;
     }
     
+    /**
+     * Creates a standalone DBManager outside of the singleton, e.g. for benchmarks or tools
+     * that need to point at a different database file or pool size.
+     * The caller is responsible for closing it.
+     * 
+     * @param config The pool configuration.
+     * @return a new DBManager instance
+     */
+    public static DBManager newInstance(PoolConfig config) {
+        return new DBManager(config);
+    }
+    
+    /**
+     * Borrows a read-only connection from the reader lane.
+     * The connection must be closed (try-with-resources) to return it to the pool.
+     * 
+     * @return a pooled reader connection
+     * @throws SQLException if no reader connection became available within the acquire timeout.
+     */
+    public PooledConnection acquireReader() throws SQLException {
+        return readerPool.acquire();
+    }
+    
+    /**
+     * Borrows a connection from the writer lane.
+     * The connection must be closed (try-with-resources) to return it to the pool.
+     * 
+     * @return a pooled writer connection
+     * @throws SQLException if no writer connection became available within the acquire timeout.
+     */
+    public PooledConnection acquireWriter() throws SQLException {
+        return writerPool.acquire();
+    }
+    
+    /**
+     * @return statistics of the reader lane
+     */
+    public PoolStats getReaderPoolStats() {
+        return readerPool.getStats();
+    }
+    
+    /**
+     * @return statistics of the writer lane
+     */
+    public PoolStats getWriterPoolStats() {
+        return writerPool.getStats();
+    }
+    
+    /**
+     * @return the WAL checkpointer of this manager
+     */
+    public CheckpointScheduler getCheckpointScheduler() {
+        return checkpointScheduler;
+    }
+    
+    /**
+     * @return the configuration this manager was created with
+     */
+    public PoolConfig getConfig() {
+        return config;
+    }
+    
+    /**
+     * @return true once the manager has been closed
+     * @throws SQLException if the state of the maintenance connection can not be determined
+     */
+    public boolean isClosed() throws SQLException {
+        return writerPool.isClosed() || connection == null || connection.isClosed();
+    }
+    
     /*
      * Resource Handling in Singleton, every time getConnection is called, it checks if the connection is active. If not, it re-establishes the connection. 
      * This ensures that a healthy connection is always returned.
+     * Note that this is the maintenance connection; DAOs should borrow pooled connections instead.
      * 
      * @return active database connection
      */
@@ -64,62 +169,57 @@ public class DBManager {
         return this.connection;
     }
 
-    // Establish a connection to the SQLite database
+    // Establish the maintenance connection to the SQLite database
     private void connect() {
         try {
-            connection = DriverManager.getConnection(DB_URL);
-            System.out.println("Connection to Data Analytics Hub SQLite database established.");
+            connection = openConnection(false);
+            // The journal mode is persisted in the database file, so it is switched once here
+            // before any pooled connection is opened.
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("PRAGMA journal_mode = " + config.getStorageProfile().getJournalMode());
+            }
+            System.out.println("Connection to Data Analytics Hub SQLite database established (" + config.getStorageProfile().getName() + " profile).");
         } catch (SQLException e) {
             System.err.println("Error while connecting to the SQLite database: " + e.getMessage());
             e.printStackTrace();
 
         }
     }
+    
+    // Opens and configures a new physical connection for one of the lanes.
+    private Connection openConnection(boolean readOnly) throws SQLException {
+        Connection newConnection = DriverManager.getConnection(config.getUrl());
+        try (Statement stmt = newConnection.createStatement()) {
+            // Wait for a competing lane instead of failing immediately with SQLITE_BUSY
+            stmt.execute("PRAGMA busy_timeout = " + config.getBusyTimeoutMillis());
+            applyStoragePragmas(stmt, readOnly);
+            if (readOnly) {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+        } catch (SQLException e) {
+            newConnection.close();
+            throw e;
+        }
+        return newConnection;
+    }
+    
+    // Applies the per-connection pragmas of the storage profile.
+    private void applyStoragePragmas(Statement stmt, boolean readOnly) throws SQLException {
+        StorageProfile profile = config.getStorageProfile();
+        stmt.execute("PRAGMA synchronous = " + profile.getSynchronous());
+        // A negative cache_size is interpreted by SQLite as KiB rather than pages
+        stmt.execute("PRAGMA cache_size = -" + (readOnly ? profile.getReaderCacheSizeKib() : profile.getCacheSizeKib()));
+        stmt.execute("PRAGMA mmap_size = " + profile.getMmapSizeBytes());
+        stmt.execute("PRAGMA temp_store = " + profile.getTempStore());
+    }
 
-    // Initializes the database tables if they don't exist.
+    // Creates or upgrades the database schema by applying pending migrations.
     private void initializeDB() {
         try {
-            if (!tableExists("User")) {
-                // User table creation
-                try (Statement stmt = connection.createStatement()) {
-                    String createUsersTable = "CREATE TABLE User (" +
-                                              "UserID INTEGER UNIQUE PRIMARY KEY AUTOINCREMENT," +
-                                              "Username VARCHAR(100) UNIQUE," +
-                                              "HashedPassword VARCHAR(100)," +
-                                              "Salt VARCHAR(100)," +
-                                              "FirstName VARCHAR(100)," +
-                                              "LastName VARCHAR(100)," +
-                                              "IsVIP BOOLEAN," +
-                                              "CreatedDate DATETIME DEFAULT CURRENT_TIMESTAMP," +
-                                              "UpdatedOn DATETIME DEFAULT CURRENT_TIMESTAMP)";
-                    stmt.execute(createUsersTable);
-                    System.out.println("User table created successfully.");
-                }
-            } else {
-                System.out.println("User table already exists. Skipping initialization.");
-            }
-
-            if (!tableExists("Post")) {
-                // Post table creation
-                try (Statement stmt = connection.createStatement()) {
-                    String createPostsTable = "CREATE TABLE Post (" +
-                                              "PostID INTEGER UNIQUE PRIMARY KEY AUTOINCREMENT," +
-                                              "Content VARCHAR(100)," +
-                                              "Author VARCHAR(100)," +
-                                              "Likes INTEGER," +
-                                              "Shares INTEGER," +
-                                              "DateTime VARCHAR(100)," +
-                                              "UserID INTEGER," +
-                                              "CreatedDate DATETIME DEFAULT CURRENT_TIMESTAMP," +
-                                              "UpdatedOn DATETIME DEFAULT CURRENT_TIMESTAMP," +
-                                              "FOREIGN KEY(UserID) REFERENCES User(UserID))";
-                    stmt.execute(createPostsTable);
-                    System.out.println("Post table created successfully.");
-                }
-            } else {
-                System.out.println("Post table already exists. Skipping initialization.");
+            if (tableExists("Post")) {
+                System.out.println("Existing database found. Checking for schema upgrades.");
             }
-
+            new SchemaMigrator(SchemaMigrations.all()).migrate(connection);
         } catch (SQLException e) {
         	System.err.println("Error during database initialization: " + e.getMessage());
             e.printStackTrace();
@@ -153,8 +253,14 @@ public class DBManager {
         }
     }
 
-    // Close the database connection
+    // Close the pooled and maintenance database connections
     public void close() {
+        checkpointScheduler.stop();
+        housekeeper.shutdownNow();
+        writerPool.close();
+        readerPool.close();
+        System.out.println(writerPool.getStats());
+        System.out.println(readerPool.getStats());
         try {
             if (connection != null) {
                 connection.close();
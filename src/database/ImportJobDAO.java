@@ -0,0 +1,167 @@
+package database;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import enums.ImportJobStatus;
+import exceptions.PostException;
+import models.ImportJob;
+
+/**
+ * The ImportJobDAO class provides data access methods for the checkpoints of resumable imports.
+ * <p>
+ * Like {@link PostDAO} it uses cached statements of pooled connections. The checkpoint itself is
+ * saved through {@link #checkpointHook(ImportJob)}, which runs on the connection and inside the
+ * transaction of the batch insert it describes.
+ * </p>
+ */
+public class ImportJobDAO {
+
+    private DBManager dbManager;
+
+    /**
+     * Constructs a new ImportJobDAO with a DBManager instance.
+     *
+     * @param dbManager The database manager to handle database operations.
+     */
+    public ImportJobDAO(DBManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Inserts a new job and sets its generated JobID.
+     *
+     * @param job The job to be added.
+     * @throws PostException if there's an error during the operation.
+     */
+    public void addJob(ImportJob job) throws PostException {
+        String query = "INSERT INTO ImportJob (UserID, FilePath, FileSize, FileModified, ByteOffset, LineNumber,"
+        		+ " RowsRead, PostsAccepted, RowsRejected, RejectReportLength, Status, CreatedDate, UpdatedOn)"
+        		+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, DATETIME('now', 'localtime'), DATETIME('now', 'localtime'))";
+
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            preparedStatement.setInt(1, job.getUserId());
+            preparedStatement.setString(2, job.getFilePath());
+            preparedStatement.setLong(3, job.getFileSize());
+            preparedStatement.setLong(4, job.getFileModified());
+            preparedStatement.setLong(5, job.getByteOffset());
+            preparedStatement.setLong(6, job.getLineNumber());
+            preparedStatement.setLong(7, job.getRowsRead());
+            preparedStatement.setLong(8, job.getPostsAccepted());
+            preparedStatement.setLong(9, job.getRowsRejected());
+            preparedStatement.setLong(10, job.getRejectReportLength());
+            preparedStatement.setString(11, job.getStatus().name());
+            preparedStatement.executeUpdate();
+
+            try (ResultSet resultSet = connection.prepareCached("SELECT last_insert_rowid()").executeQuery()) {
+                if (resultSet.next()) {
+                    job.setJobId(resultSet.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error while adding import job: " + e.getMessage());
+            throw new PostException("Error while adding import job.", e);
+        }
+    }
+
+    /**
+     * Finds the most recent unfinished job of a user for the same version of a file. The job may
+     * be In_progress, either left behind by a stopped process or still running; callers must not
+     * resume a job that is still running.
+     *
+     * @param userId       The importing user.
+     * @param filePath     The canonical path of the file.
+     * @param fileSize     The current size of the file.
+     * @param fileModified The current modification time of the file.
+     * @return the job to resume, or null if there is none
+     * @throws PostException if there's an error during the operation.
+     */
+    public ImportJob findResumableJob(int userId, String filePath, long fileSize, long fileModified) throws PostException {
+        String query = "SELECT * FROM ImportJob WHERE UserID = ? AND FilePath = ? AND FileSize = ? AND FileModified = ?"
+        		+ " AND Status <> ? ORDER BY JobID DESC LIMIT 1";
+
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            preparedStatement.setInt(1, userId);
+            preparedStatement.setString(2, filePath);
+            preparedStatement.setLong(3, fileSize);
+            preparedStatement.setLong(4, fileModified);
+            preparedStatement.setString(5, ImportJobStatus.Completed.name());
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? mapJob(resultSet) : null;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error while fetching import job: " + e.getMessage());
+            throw new PostException("Error while fetching import job.", e);
+        }
+    }
+
+    /**
+     * Updates the status of a job.
+     *
+     * @param job The job, with its new status set.
+     * @throws PostException if there's an error during the operation.
+     */
+    public void updateStatus(ImportJob job) throws PostException {
+        String query = "UPDATE ImportJob SET Status = ?, UpdatedOn = DATETIME('now', 'localtime') WHERE JobID = ?";
+
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            preparedStatement.setString(1, job.getStatus().name());
+            preparedStatement.setInt(2, job.getJobId());
+            preparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error while updating import job: " + e.getMessage());
+            throw new PostException("Error while updating import job.", e);
+        }
+    }
+
+    /**
+     * Returns a hook that saves the current checkpoint of a job. Passed to
+     * {@link PostDAO#addPostsBatch(java.util.List, int, enums.CommitMode, TransactionHook)}, the checkpoint
+     * commits together with the batch, so it never points past or before the committed rows.
+     *
+     * @param job The job, already advanced past the batch.
+     * @return the hook
+     */
+    public TransactionHook checkpointHook(ImportJob job) {
+        String query = "UPDATE ImportJob SET ByteOffset = ?, LineNumber = ?, RowsRead = ?, PostsAccepted = ?,"
+        		+ " RowsRejected = ?, RejectReportLength = ?, UpdatedOn = DATETIME('now', 'localtime') WHERE JobID = ?";
+
+        return connection -> {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            preparedStatement.setLong(1, job.getByteOffset());
+            preparedStatement.setLong(2, job.getLineNumber());
+            preparedStatement.setLong(3, job.getRowsRead());
+            preparedStatement.setLong(4, job.getPostsAccepted());
+            preparedStatement.setLong(5, job.getRowsRejected());
+            preparedStatement.setLong(6, job.getRejectReportLength());
+            preparedStatement.setInt(7, job.getJobId());
+            preparedStatement.executeUpdate();
+        };
+    }
+
+    private ImportJob mapJob(ResultSet resultSet) throws SQLException {
+        // Jobs checkpointed before the column existed do not know how much of their report is committed
+        long rejectReportLength = resultSet.getLong("RejectReportLength");
+        if (resultSet.wasNull()) {
+            rejectReportLength = -1;
+        }
+        return new ImportJob(
+            resultSet.getInt("JobID"),
+            resultSet.getInt("UserID"),
+            resultSet.getString("FilePath"),
+            resultSet.getLong("FileSize"),
+            resultSet.getLong("FileModified"),
+            resultSet.getLong("ByteOffset"),
+            resultSet.getLong("LineNumber"),
+            resultSet.getLong("RowsRead"),
+            resultSet.getLong("PostsAccepted"),
+            resultSet.getLong("RowsRejected"),
+            rejectReportLength,
+            ImportJobStatus.valueOf(resultSet.getString("Status")));
+    }
+}
@@ -0,0 +1,88 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A Migration is one ordered, forward-only step of the database schema.
+ * <p>
+ * Migrations are applied by the {@link SchemaMigrator} in ascending version order,
+ * each inside its own transaction, and recorded in the {@code schema_version} table
+ * so that they run exactly once per database file. Once released, a migration must
+ * never be edited; schema changes are made by appending a new version.
+ * </p>
+ */
+public interface Migration {
+
+    /**
+     * Java code run by a migration, e.g. to backfill data that SQL alone can not compute.
+     */
+    @FunctionalInterface
+    interface Step {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    /**
+     * @return the version reached once this migration has been applied
+     */
+    int getVersion();
+
+    /**
+     * @return a short human readable description, stored in schema_version
+     */
+    String getDescription();
+
+    /**
+     * Applies the migration. Runs inside a transaction opened by the migrator.
+     *
+     * @param connection The connection to migrate.
+     * @throws SQLException if the migration fails; the transaction is then rolled back.
+     */
+    void apply(Connection connection) throws SQLException;
+
+    /**
+     * Creates a migration running the given SQL statements in order.
+     *
+     * @param version     The schema version reached by the migration.
+     * @param description A short description.
+     * @param statements  The SQL statements to execute.
+     * @return the migration
+     */
+    static Migration sql(int version, String description, String... statements) {
+        return of(version, description, connection -> {
+            try (Statement stmt = connection.createStatement()) {
+                for (String statement : statements) {
+                    stmt.execute(statement);
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates a migration running arbitrary Java code.
+     *
+     * @param version     The schema version reached by the migration.
+     * @param description A short description.
+     * @param step        The code applying the migration.
+     * @return the migration
+     */
+    static Migration of(int version, String description, Step step) {
+        return new Migration() {
+            @Override
+            public int getVersion() {
+                return version;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public void apply(Connection connection) throws SQLException {
+                step.apply(connection);
+            }
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package database;
+
+/**
+ * PoolConfig holds the tunables of the pooled connection manager.
+ * <p>
+ * Defaults can be overridden with system properties (for example
+ * {@code -Ddah.db.readers=8}) so that the pool can be sized per deployment
+ * without code changes, or programmatically through the setters before the
+ * configuration is handed to {@link DBManager#newInstance(PoolConfig)}.
+ * </p>
+ */
+public class PoolConfig {
+
+    public static final String DEFAULT_DB_URL = "jdbc:sqlite:/Users/abhinav/Development/advance_programming/Assignment2/src/database/DataAnalyticsHub.db";
+
+    private String url;
+    private int readerPoolSize;
+    private int writerPoolSize;
+    private long acquireTimeoutMillis;
+    private long leakDetectionThresholdMillis;
+    private int busyTimeoutMillis;
+    private int statementCacheSize;
+    private StorageProfile storageProfile;
+
+    /**
+     * Constructs a PoolConfig populated from system properties, falling back to sensible defaults.
+     */
+    public PoolConfig() {
+        this.url = System.getProperty("dah.db.url", DEFAULT_DB_URL);
+        this.readerPoolSize = Integer.getInteger("dah.db.readers", Math.max(2, Runtime.getRuntime().availableProcessors()));
+        // SQLite only ever allows one writer at a time, so the writer lane defaults to a single connection.
+        this.writerPoolSize = Integer.getInteger("dah.db.writers", 1);
+        this.acquireTimeoutMillis = Long.getLong("dah.db.acquireTimeoutMs", 5000L);
+        this.leakDetectionThresholdMillis = Long.getLong("dah.db.leakThresholdMs", 30000L);
+        this.busyTimeoutMillis = Integer.getInteger("dah.db.busyTimeoutMs", 5000);
+        this.statementCacheSize = Integer.getInteger("dah.db.statementCacheSize", 64);
+        this.storageProfile = StorageProfile.fromSystemProperties();
+    }
+
+    /**
+     * @return the JDBC url of the database
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @param url the JDBC url of the database
+     */
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    /**
+     * @return the number of concurrent reader connections
+     */
+    public int getReaderPoolSize() {
+        return readerPoolSize;
+    }
+
+    /**
+     * @param readerPoolSize the number of concurrent reader connections, at least 1
+     */
+    public void setReaderPoolSize(int readerPoolSize) {
+        if (readerPoolSize < 1) {
+            throw new IllegalArgumentException("Reader pool size must be at least 1.");
+        }
+        this.readerPoolSize = readerPoolSize;
+    }
+
+    /**
+     * @return the number of connections in the writer lane
+     */
+    public int getWriterPoolSize() {
+        return writerPoolSize;
+    }
+
+    /**
+     * @param writerPoolSize the number of connections in the writer lane, at least 1
+     */
+    public void setWriterPoolSize(int writerPoolSize) {
+        if (writerPoolSize < 1) {
+            throw new IllegalArgumentException("Writer pool size must be at least 1.");
+        }
+        this.writerPoolSize = writerPoolSize;
+    }
+
+    /**
+     * @return how long a caller waits for a free connection before giving up
+     */
+    public long getAcquireTimeoutMillis() {
+        return acquireTimeoutMillis;
+    }
+
+    /**
+     * @param acquireTimeoutMillis how long a caller waits for a free connection before giving up
+     */
+    public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    /**
+     * @return how long a connection may be held before it is reported as a possible leak, 0 to disable
+     */
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+
+    /**
+     * @param leakDetectionThresholdMillis how long a connection may be held before it is reported, 0 to disable
+     */
+    public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+    }
+
+    /**
+     * @return how long SQLite retries a locked database before failing with SQLITE_BUSY
+     */
+    public int getBusyTimeoutMillis() {
+        return busyTimeoutMillis;
+    }
+
+    /**
+     * @param busyTimeoutMillis how long SQLite retries a locked database before failing with SQLITE_BUSY
+     */
+    public void setBusyTimeoutMillis(int busyTimeoutMillis) {
+        this.busyTimeoutMillis = busyTimeoutMillis;
+    }
+
+    /**
+     * @return how many prepared statements are cached per connection
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * @param statementCacheSize how many prepared statements are cached per connection, at least 1
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        if (statementCacheSize < 1) {
+            throw new IllegalArgumentException("Statement cache size must be at least 1.");
+        }
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * @return the pragmas and checkpoint thresholds applied to every connection
+     */
+    public StorageProfile getStorageProfile() {
+        return storageProfile;
+    }
+
+    /**
+     * @param storageProfile the pragmas and checkpoint thresholds applied to every connection
+     */
+    public void setStorageProfile(StorageProfile storageProfile) {
+        this.storageProfile = storageProfile;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolConfig [url=" + url + ", readers=" + readerPoolSize + ", writers=" + writerPoolSize
+                + ", acquireTimeoutMillis=" + acquireTimeoutMillis + ", leakDetectionThresholdMillis="
+                + leakDetectionThresholdMillis + ", busyTimeoutMillis=" + busyTimeoutMillis + ", statementCacheSize=" + statementCacheSize + ", " + storageProfile + "]";
+    }
+}
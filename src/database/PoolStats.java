@@ -0,0 +1,77 @@
+package database;
+
+/**
+ * PoolStats is an immutable snapshot of the counters of a single {@link ConnectionPool} lane.
+ * It is intended for logging and diagnostics, not for driving pool behaviour.
+ */
+public class PoolStats {
+
+    private final String name;
+    private final int maxSize;
+    private final int open;
+    private final int active;
+    private final long acquires;
+    private final long timeouts;
+    private final long leaks;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+    private final long statementCacheEvictions;
+
+    /**
+     * Constructs a PoolStats snapshot with all counters.
+     */
+    public PoolStats(String name, int maxSize, int open, int active, long acquires, long timeouts, long leaks,
+            long totalWaitNanos, long maxWaitNanos, long statementCacheHits, long statementCacheMisses,
+            long statementCacheEvictions) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.open = open;
+        this.active = active;
+        this.acquires = acquires;
+        this.timeouts = timeouts;
+        this.leaks = leaks;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+        this.statementCacheEvictions = statementCacheEvictions;
+    }
+
+    public String getName() { return name; }
+    public int getMaxSize() { return maxSize; }
+    public int getOpen() { return open; }
+    public int getActive() { return active; }
+    public int getIdle() { return open - active; }
+    public long getAcquires() { return acquires; }
+    public long getTimeouts() { return timeouts; }
+    public long getLeaks() { return leaks; }
+    public long getMaxWaitNanos() { return maxWaitNanos; }
+    public long getStatementCacheHits() { return statementCacheHits; }
+    public long getStatementCacheMisses() { return statementCacheMisses; }
+    public long getStatementCacheEvictions() { return statementCacheEvictions; }
+
+    /**
+     * @return the share of prepared statement lookups served from the cache, between 0 and 1
+     */
+    public double getStatementCacheHitRatio() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0 : (double) statementCacheHits / lookups;
+    }
+
+    /**
+     * @return the average time callers waited for a connection, in microseconds
+     */
+    public double getAverageWaitMicros() {
+        return acquires == 0 ? 0 : totalWaitNanos / 1000.0 / acquires;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s pool [size=%d, open=%d, active=%d, acquires=%d, timeouts=%d, leaks=%d, avgWait=%.1fus, maxWait=%.1fus,"
+                + " stmtCache hits=%d misses=%d evictions=%d hitRatio=%.2f]",
+                name, maxSize, open, active, acquires, timeouts, leaks, getAverageWaitMicros(), maxWaitNanos / 1000.0,
+                statementCacheHits, statementCacheMisses, statementCacheEvictions, getStatementCacheHitRatio());
+    }
+}
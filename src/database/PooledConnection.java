@@ -0,0 +1,122 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * PooledConnection is a connection borrowed from a {@link ConnectionPool} lane.
+ * <p>
+ * It is meant to be used with try-with-resources: closing it hands the physical
+ * connection back to its pool instead of closing it, so DAOs can borrow a
+ * connection per operation without paying the cost of reopening the database file.
+ * </p>
+ */
+public class PooledConnection implements AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final StatementCache statementCache;
+
+    // Borrow bookkeeping used for leak detection
+    private volatile long borrowedAtNanos;
+    private volatile Throwable borrowedBy;
+    private volatile boolean leakReported;
+
+    PooledConnection(ConnectionPool pool, Connection connection, StatementCache statementCache) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statementCache = statementCache;
+    }
+
+    /**
+     * Gets the underlying physical connection, e.g. for transaction control.
+     * The connection must not be closed by the caller.
+     *
+     * @return the physical JDBC connection
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Creates a prepared statement on the underlying connection.
+     *
+     * @param sql The SQL statement.
+     * @return a new PreparedStatement
+     * @throws SQLException if the statement can not be prepared.
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return connection.prepareStatement(sql);
+    }
+
+    /**
+     * Returns a prepared statement from this connection's statement cache, preparing it on first use.
+     * The statement stays owned by the cache: callers must close their ResultSets but not the statement.
+     *
+     * @param sql The SQL statement.
+     * @return a cached PreparedStatement with its parameters cleared
+     * @throws SQLException if the statement can not be prepared.
+     */
+    public PreparedStatement prepareCached(String sql) throws SQLException {
+        return statementCache.prepare(sql);
+    }
+
+    /**
+     * Creates a plain statement on the underlying connection.
+     *
+     * @return a new Statement
+     * @throws SQLException if the statement can not be created.
+     */
+    public Statement createStatement() throws SQLException {
+        return connection.createStatement();
+    }
+
+    /**
+     * Returns this connection to its pool.
+     */
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+
+    void markBorrowed(boolean captureStack) {
+        this.borrowedAtNanos = System.nanoTime();
+        this.borrowedBy = captureStack ? new Throwable("Connection acquired here") : null;
+        this.leakReported = false;
+    }
+
+    long getBorrowedAtNanos() {
+        return borrowedAtNanos;
+    }
+
+    Throwable getBorrowedBy() {
+        return borrowedBy;
+    }
+
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    void setLeakReported(boolean leakReported) {
+        this.leakReported = leakReported;
+    }
+
+    boolean isPhysicallyClosed() {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    void closePhysical() {
+        statementCache.clear();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error while closing pooled connection: " + e.getMessage());
+        }
+    }
+}
@@ -1,26 +1,39 @@
 package database;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
+import enums.CommitMode;
+import enums.SortBy;
 import exceptions.PostException;
 import models.Post;
+import models.PostPage;
 import models.User;
 
 /**
  * The PostDAO class provides data access methods related to the Post model.
  * It provides CRUD operations for posts and some additional query methods.
+ * <p>
+ * Statements are taken from the per-connection statement cache of the pooled
+ * connection, so the constant SQL of each method is only parsed once per connection.
+ * Cached statements are owned by the cache and are therefore never closed here;
+ * only their result sets are.
+ * </p>
  */
 public class PostDAO {
 
+    // Rows the driver fetches per round trip when streaming posts, overridable with -Ddah.db.fetchSize
+    public static final int DEFAULT_FETCH_SIZE = Integer.getInteger("dah.db.fetchSize", 500);
+
     private DBManager dbManager;
     
-    private static DateTimeFormatter formatter = DateTimeFormatter.ofPattern("d/MM/yyyy HH:mm");
-    
     /**
      * Constructs a new PostDAO with a DBManager instance.
      * 
@@ -31,25 +44,21 @@ public class PostDAO {
     }
 
     /**
-     * Adds a new post to the database.
+     * Adds a new post to the database and sets the generated PostID on it.
      * 
      * @param post The post to be added.
      * @throws PostException if there's an error during the operation.
      */
     public void addPost(Post post) throws PostException {
-        String query = "INSERT INTO Post (Content, Author, Likes, Shares, DateTime, UserID, CreatedDate, UpdatedOn)"
-        		+ " VALUES (?, ?, ?, ?, ?, ?, DATETIME('now', 'localtime'), DATETIME('now', 'localtime'))";
+        String query = "INSERT INTO Post (Content, Author, Likes, Shares, DateTime, UserID, ContentHash, CreatedDate, UpdatedOn)"
+        		+ " VALUES (?, ?, ?, ?, ?, ?, ?, DATETIME('now', 'localtime'), DATETIME('now', 'localtime'))";
         
-        try {
-        	PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query);
-            preparedStatement.setString(1, post.getContent());
-            preparedStatement.setString(2, post.getAuthor());
-            preparedStatement.setInt(3, post.getLikes());
-            preparedStatement.setInt(4, post.getShares());
-            preparedStatement.setString(5, post.getDateTime().toString());
-            preparedStatement.setInt(6, post.getUserId());
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            bindInsert(preparedStatement, post);
             
             preparedStatement.executeUpdate();
+            post.setPostId(lastInsertRowId(connection));
             
             System.out.println("Post added successfully: " + post.getContent());
 
@@ -60,6 +69,109 @@ public class PostDAO {
         
     }
 
+    /**
+     * Adds many posts using JDBC batching inside explicit transactions on the writer lane.
+     * <p>
+     * Rows are sent in chunks of {@code chunkSize} with {@code addBatch}/{@code executeBatch}.
+     * With {@link CommitMode#All_or_nothing} a single transaction spans all chunks, so a failure
+     * leaves the table untouched; with {@link CommitMode#Per_chunk} every chunk is committed on
+     * its own, which bounds the size of the WAL for very large imports.
+     * </p>
+     * The generated PostIDs are derived from {@code last_insert_rowid()} after each chunk: the
+     * writer lane holds the write lock for the whole chunk, so AUTOINCREMENT hands out consecutive
+     * IDs within it. Each post's ID is also set on the post itself. If the operation fails, only
+     * the posts of chunks committed before the failure keep their ID; it is reset to 0 on the others.
+     * 
+     * @param posts      The posts to be added.
+     * @param chunkSize  The number of rows per JDBC batch (and per commit in per-chunk mode).
+     * @param commitMode Whether the whole list or each chunk is committed atomically.
+     * @return the generated PostIDs, in the order of the given posts
+     * @throws PostException if there's an error during the operation.
+     */
+    public List<Integer> addPostsBatch(List<Post> posts, int chunkSize, CommitMode commitMode) throws PostException {
+        return addPostsBatch(posts, chunkSize, commitMode, null);
+    }
+
+    /**
+     * Adds many posts like {@link #addPostsBatch(List, int, CommitMode)} and runs a hook in every
+     * transaction just before it commits, e.g. to record an import checkpoint atomically with the rows.
+     * The hook also runs, in a transaction of its own, when the list is empty.
+     * 
+     * @param posts        The posts to be added.
+     * @param chunkSize    The number of rows per JDBC batch (and per commit in per-chunk mode).
+     * @param commitMode   Whether the whole list or each chunk is committed atomically.
+     * @param beforeCommit Runs on the writer connection before each commit, or null.
+     * @return the generated PostIDs, in the order of the given posts
+     * @throws PostException if there's an error during the operation.
+     */
+    public List<Integer> addPostsBatch(List<Post> posts, int chunkSize, CommitMode commitMode,
+            TransactionHook beforeCommit) throws PostException {
+        String query = "INSERT INTO Post (Content, Author, Likes, Shares, DateTime, UserID, ContentHash, CreatedDate, UpdatedOn)"
+        		+ " VALUES (?, ?, ?, ?, ?, ?, ?, DATETIME('now', 'localtime'), DATETIME('now', 'localtime'))";
+        
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1.");
+        }
+        
+        List<Integer> generatedIds = new ArrayList<>(posts.size());
+        if (posts.isEmpty() && beforeCommit == null) {
+            return generatedIds;
+        }
+        
+        int committed = 0;
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            Connection jdbcConnection = connection.getConnection();
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            jdbcConnection.setAutoCommit(false);
+            try {
+                for (int start = 0; start < posts.size(); start += chunkSize) {
+                    int end = Math.min(start + chunkSize, posts.size());
+                    for (int i = start; i < end; i++) {
+                        bindInsert(preparedStatement, posts.get(i));
+                        preparedStatement.addBatch();
+                    }
+                    preparedStatement.executeBatch();
+                    
+                    int lastId = lastInsertRowId(connection);
+                    for (int i = start; i < end; i++) {
+                        int postId = lastId - (end - 1 - i);
+                        posts.get(i).setPostId(postId);
+                        generatedIds.add(postId);
+                    }
+                    
+                    if (commitMode == CommitMode.Per_chunk && end < posts.size()) {
+                        if (beforeCommit != null) {
+                            beforeCommit.beforeCommit(connection);
+                        }
+                        jdbcConnection.commit();
+                        committed = end;
+                    }
+                }
+                if (beforeCommit != null) {
+                    beforeCommit.beforeCommit(connection);
+                }
+                jdbcConnection.commit();
+                committed = posts.size();
+            } catch (SQLException | RuntimeException e) {
+                // The statement is cached, so drop any rows still queued from the failed chunk
+                preparedStatement.clearBatch();
+                jdbcConnection.rollback();
+                // Only the posts of committed chunks exist, so only they keep their IDs
+                for (int i = committed; i < posts.size(); i++) {
+                    posts.get(i).setPostId(0);
+                }
+                throw e;
+            } finally {
+                jdbcConnection.setAutoCommit(true);
+            }
+            System.out.println("Batch inserted " + posts.size() + " posts in chunks of " + chunkSize + ".");
+        } catch(SQLException e) {
+            System.err.println("Error while batch inserting posts after " + committed + " committed rows: " + e.getMessage());
+            throw new PostException("Error while batch inserting posts; " + committed + " rows were committed.", e);
+        }
+        return generatedIds;
+    }
+
     /**
      * Deletes a post from the database based on its ID.
      * 
@@ -69,8 +181,8 @@ public class PostDAO {
     public void deletePost(int postID) throws PostException {
         String query = "DELETE FROM Post WHERE PostID = ?";
         
-        try {
-        	PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query);
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setInt(1, postID);
             
             int affectedRows = preparedStatement.executeUpdate();
@@ -97,20 +209,14 @@ public class PostDAO {
     public Post getPostByID(int postID) throws PostException {
         String query = "SELECT * FROM Post WHERE PostID = ?";
         
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setInt(1, postID);
             
-            ResultSet resultSet = preparedStatement.executeQuery();
-            if (resultSet.next()) {
-                return new Post(
-                    resultSet.getInt("PostID"),
-                    resultSet.getString("Content"),
-                    resultSet.getString("Author"),
-                    resultSet.getInt("Likes"),
-                    resultSet.getInt("Shares"),
-                    resultSet.getString("DateTime"),
-                    resultSet.getInt("UserID")
-                );
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    return mapPost(resultSet);
+                }
             }
         } catch(SQLException e) {
             System.err.println("Error while fetching post with ID " + postID + ": " + e.getMessage());
@@ -130,28 +236,16 @@ public class PostDAO {
     public List<Post> getTopNPostsByLikes(int n, User user) throws PostException {
         String query = "SELECT * FROM Post WHERE UserID = ? ORDER BY Likes DESC LIMIT ?";
         
-        List<Post> posts = new ArrayList<>();
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setInt(1, user.getUserId());
             preparedStatement.setInt(2, n);
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            while (resultSet.next()) {
-                posts.add(new Post(
-                    resultSet.getInt("PostID"),
-                    resultSet.getString("Content"),
-                    resultSet.getString("Author"),
-                    resultSet.getInt("Likes"),
-                    resultSet.getInt("Shares"),
-                    resultSet.getString("DateTime"),
-                    resultSet.getInt("UserID")
-                ));
-            }
+            return readPosts(preparedStatement);
         } catch(SQLException e) {
             System.err.println("Error while fetching top " + n + " posts by likes for user " + user.getUsername() + ": " + e.getMessage());
             throw new PostException("Error while fetching top posts by likes for user.", e);
         }
-        return posts;
     }
     
     /**
@@ -164,27 +258,15 @@ public class PostDAO {
     public List<Post> getTopNPostsByLikes(int n) throws PostException {
         String query = "SELECT * FROM Post ORDER BY Likes DESC LIMIT ?";
         
-        List<Post> posts = new ArrayList<>();
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setInt(1, n);
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            while (resultSet.next()) {
-                posts.add(new Post(
-                    resultSet.getInt("PostID"),
-                    resultSet.getString("Content"),
-                    resultSet.getString("Author"),
-                    resultSet.getInt("Likes"),
-                    resultSet.getInt("Shares"),
-                    resultSet.getString("DateTime"),
-                    resultSet.getInt("UserID")
-                ));
-            }
+            return readPosts(preparedStatement);
         } catch(SQLException e) {
             System.err.println("Error while fetching top " + n + " posts by likes: " + e.getMessage());
             throw new PostException("Error while fetching top posts by likes.", e);
         }
-        return posts;
     }
 
     /**
@@ -194,17 +276,19 @@ public class PostDAO {
      * @throws PostException if there's an error during the update operation.
      */
     public void updatePost(Post post) throws PostException {
-        String query = "UPDATE Post SET Content = ?, Author = ?, Likes = ?, Shares = ?, DateTime = ?, UpdatedOn = DATETIME('now', 'localtime')"
-        		+ " WHERE PostID = ? AND UserID = ?";
+        String query = "UPDATE Post SET Content = ?, Author = ?, Likes = ?, Shares = ?, DateTime = ?, ContentHash = ?,"
+        		+ " UpdatedOn = DATETIME('now', 'localtime') WHERE PostID = ? AND UserID = ?";
 
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setString(1, post.getContent());
             preparedStatement.setString(2, post.getAuthor());
             preparedStatement.setInt(3, post.getLikes());
             preparedStatement.setInt(4, post.getShares());
-            preparedStatement.setString(5, post.getDateTime().format(formatter));
-            preparedStatement.setInt(6, post.getPostId());
-            preparedStatement.setInt(7, post.getUserId());
+            preparedStatement.setLong(5, post.getEpochMillis());
+            preparedStatement.setLong(6, post.getContentHash());
+            preparedStatement.setInt(7, post.getPostId());
+            preparedStatement.setInt(8, post.getUserId());
 
             preparedStatement.executeUpdate();
             System.out.println("Post with ID " + post.getPostId() + " updated successfully.");
@@ -224,27 +308,46 @@ public class PostDAO {
     public List<Post> getPostsByUser(User user) throws PostException {
         String query = "SELECT * FROM Post WHERE UserID = ?";
 
-        List<Post> posts = new ArrayList<>();
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setInt(1, user.getUserId());
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            while (resultSet.next()) {
-                posts.add(new Post(
-                    resultSet.getInt("PostID"),
-                    resultSet.getString("Content"),
-                    resultSet.getString("Author"),
-                    resultSet.getInt("Likes"),
-                    resultSet.getInt("Shares"),
-                    resultSet.getString("DateTime"),
-                    resultSet.getInt("UserID")
-                ));
-            }
+            return readPosts(preparedStatement);
         } catch(SQLException e) {
             System.err.println("Error while fetching posts for user " + user.getUsername() + ": " + e.getMessage());
             throw new PostException("Error while fetching posts for user.", e);
         }
-        return posts;
+    }
+    
+    /**
+     * Retrieves the posts dated within a time range, newest first.
+     * The range is evaluated by SQLite on the indexed epoch DateTime column.
+     * 
+     * @param from Start of the range, inclusive.
+     * @param to   End of the range, exclusive.
+     * @param user The user whose posts are to be fetched, or null for all users.
+     * @return List of posts in the range.
+     * @throws PostException if there's an error during the operation.
+     */
+    public List<Post> getPostsByDateRange(LocalDateTime from, LocalDateTime to, User user) throws PostException {
+        String query = user != null
+            ? "SELECT * FROM Post WHERE UserID = ? AND DateTime >= ? AND DateTime < ? ORDER BY DateTime DESC"
+            : "SELECT * FROM Post WHERE DateTime >= ? AND DateTime < ? ORDER BY DateTime DESC";
+
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            int index = 1;
+            if (user != null) {
+                preparedStatement.setInt(index++, user.getUserId());
+            }
+            preparedStatement.setLong(index++, Post.toEpochMillis(from));
+            preparedStatement.setLong(index, Post.toEpochMillis(to));
+
+            return readPosts(preparedStatement);
+        } catch(SQLException e) {
+            System.err.println("Error while fetching posts between " + from + " and " + to + ": " + e.getMessage());
+            throw new PostException("Error while fetching posts by date range.", e);
+        }
     }
     
     /**
@@ -256,25 +359,236 @@ public class PostDAO {
     public List<Post> getAllPosts() throws PostException {
         String query = "SELECT * FROM Post";
 
-        List<Post> posts = new ArrayList<>();
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
-            ResultSet resultSet = preparedStatement.executeQuery();
-            while (resultSet.next()) {
-                posts.add(new Post(
-                    resultSet.getInt("PostID"),
-                    resultSet.getString("Content"),
-                    resultSet.getString("Author"),
-                    resultSet.getInt("Likes"),
-                    resultSet.getInt("Shares"),
-                    resultSet.getString("DateTime"),
-                    resultSet.getInt("UserID")
-                ));
-            }
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            return readPosts(preparedStatement);
         } catch(SQLException e) {
             System.err.println("Error while fetching all posts: " + e.getMessage());
             throw new PostException("Error while fetching all posts.", e);
         }
-        return posts;
+    }
+
+    /**
+     * Streams posts to a callback one row at a time instead of materializing them in a list,
+     * so scans over large tables run in constant memory. The reader connection and the result
+     * set are held only for the duration of the call and are released even if the action fails.
+     * 
+     * @param user      The user whose posts are to be streamed, or null for all posts.
+     * @param fetchSize The number of rows the driver fetches per round trip.
+     * @param action    Called for every post, in PostID order.
+     * @return the number of posts streamed
+     * @throws PostException if there's an error during the operation.
+     */
+    public long forEachPost(User user, int fetchSize, Consumer<Post> action) throws PostException {
+        String query = user != null
+            ? "SELECT * FROM Post WHERE UserID = ? ORDER BY PostID"
+            : "SELECT * FROM Post ORDER BY PostID";
+
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            preparedStatement.setFetchSize(fetchSize);
+            if (user != null) {
+                preparedStatement.setInt(1, user.getUserId());
+            }
+
+            long count = 0;
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    action.accept(mapPost(resultSet));
+                    count++;
+                }
+            }
+            return count;
+        } catch(SQLException e) {
+            System.err.println("Error while streaming posts: " + e.getMessage());
+            throw new PostException("Error while streaming posts.", e);
+        }
+    }
+
+    /**
+     * Counts the posts of an author.
+     * 
+     * @param author The author of the posts.
+     * @return the number of posts
+     * @throws PostException if there's an error during the operation.
+     */
+    public long countPostsByAuthor(String author) throws PostException {
+        String query = "SELECT COUNT(*) FROM Post WHERE Author = ?";
+
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            preparedStatement.setString(1, author);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        } catch(SQLException e) {
+            System.err.println("Error while counting posts: " + e.getMessage());
+            throw new PostException("Error while counting posts.", e);
+        }
+    }
+
+    /**
+     * Streams the duplicate keys ({@link Post#getDuplicateKey()}) of an author's posts without
+     * loading the posts themselves; only the ContentHash and DateTime columns are read.
+     * 
+     * @param author    The author of the posts.
+     * @param fetchSize The number of rows the driver fetches per round trip.
+     * @param action    Called with the key of every post.
+     * @return the number of keys streamed
+     * @throws PostException if there's an error during the operation.
+     */
+    public long forEachDuplicateKey(String author, int fetchSize, LongConsumer action) throws PostException {
+        String query = "SELECT ContentHash, DateTime FROM Post WHERE Author = ?";
+
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            preparedStatement.setFetchSize(fetchSize);
+            preparedStatement.setString(1, author);
+
+            long count = 0;
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    action.accept(Post.duplicateKey(author, resultSet.getLong(1), resultSet.getLong(2)));
+                    count++;
+                }
+            }
+            return count;
+        } catch(SQLException e) {
+            System.err.println("Error while reading post keys: " + e.getMessage());
+            throw new PostException("Error while reading post keys.", e);
+        }
+    }
+
+    /**
+     * Checks whether a post with the same author, content and date already exists.
+     * The lookup goes through the ContentHash index and compares the content only on a hash match.
+     * 
+     * @param post The post to look for.
+     * @return true if an equal post exists
+     * @throws PostException if there's an error during the operation.
+     */
+    public boolean postExists(Post post) throws PostException {
+        String query = "SELECT 1 FROM Post WHERE ContentHash = ? AND DateTime = ? AND Author = ? AND Content = ? LIMIT 1";
+
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            preparedStatement.setLong(1, post.getContentHash());
+            preparedStatement.setLong(2, post.getEpochMillis());
+            preparedStatement.setString(3, post.getAuthor());
+            preparedStatement.setString(4, post.getContent());
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next();
+            }
+        } catch(SQLException e) {
+            System.err.println("Error while looking up post: " + e.getMessage());
+            throw new PostException("Error while looking up post.", e);
+        }
+    }
+
+    /**
+     * Retrieves one page of posts in descending order of likes, shares or date, using keyset
+     * pagination: the next page continues after the (sort value, PostID) of the previous page's
+     * last post instead of skipping an OFFSET, so every page costs the same index range scan
+     * no matter how deep the user has scrolled. PostID breaks ties between equal sort values.
+     * 
+     * @param sortBy   The sort order of the listing.
+     * @param user     The user whose posts are to be listed, or null for all posts.
+     * @param after    The last post of the previous page, or null for the first page.
+     * @param pageSize The maximum number of posts in the page.
+     * @return the page of posts
+     * @throws PostException if there's an error during the operation.
+     */
+    public PostPage getPostsPage(SortBy sortBy, User user, Post after, int pageSize) throws PostException {
+        String column = sortColumn(sortBy);
+        StringBuilder query = new StringBuilder("SELECT * FROM Post");
+        if (user != null) {
+            query.append(" WHERE UserID = ?");
+        }
+        if (after != null) {
+            query.append(user != null ? " AND" : " WHERE").append(" (").append(column).append(", PostID) < (?, ?)");
+        }
+        query.append(" ORDER BY ").append(column).append(" DESC, PostID DESC LIMIT ?");
+
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query.toString());
+            int index = 1;
+            if (user != null) {
+                preparedStatement.setInt(index++, user.getUserId());
+            }
+            if (after != null) {
+                preparedStatement.setLong(index++, sortKey(sortBy, after));
+                preparedStatement.setInt(index++, after.getPostId());
+            }
+            // One extra row tells whether another page follows
+            preparedStatement.setInt(index, pageSize + 1);
+
+            List<Post> posts = readPosts(preparedStatement);
+            boolean hasMore = posts.size() > pageSize;
+            if (hasMore) {
+                posts.remove(pageSize);
+            }
+            return new PostPage(posts, hasMore);
+        } catch(SQLException e) {
+            System.err.println("Error while fetching a page of posts: " + e.getMessage());
+            throw new PostException("Error while fetching a page of posts.", e);
+        }
+    }
+
+    /**
+     * Counts posts per shares range with a single GROUP BY aggregate, so only the counts leave
+     * the database. Bucket i holds the posts with boundaries[i] &lt;= Shares &lt; boundaries[i + 1];
+     * the last bucket is open ended and posts below the first boundary are not counted.
+     * 
+     * @param user       The user whose posts are counted, or null for all posts.
+     * @param boundaries The ascending lower bounds of the buckets.
+     * @return the number of posts in each bucket
+     * @throws PostException if there's an error during the operation.
+     */
+    public long[] getSharesHistogram(User user, int... boundaries) throws PostException {
+        if (boundaries.length == 0) {
+            throw new IllegalArgumentException("At least one bucket boundary is required.");
+        }
+        for (int i = 1; i < boundaries.length; i++) {
+            if (boundaries[i] <= boundaries[i - 1]) {
+                throw new IllegalArgumentException("Bucket boundaries must be strictly ascending.");
+            }
+        }
+
+        // Highest boundary first, so each post falls into the first matching WHEN
+        StringBuilder query = new StringBuilder("SELECT CASE");
+        for (int i = boundaries.length - 1; i >= 0; i--) {
+            query.append(" WHEN Shares >= ? THEN ").append(i);
+        }
+        query.append(" END AS Bucket, COUNT(*) AS Posts FROM Post");
+        if (user != null) {
+            query.append(" WHERE UserID = ?");
+        }
+        query.append(" GROUP BY Bucket");
+
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query.toString());
+            int index = 1;
+            for (int i = boundaries.length - 1; i >= 0; i--) {
+                preparedStatement.setInt(index++, boundaries[i]);
+            }
+            if (user != null) {
+                preparedStatement.setInt(index, user.getUserId());
+            }
+
+            long[] counts = new long[boundaries.length];
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    int bucket = resultSet.getInt("Bucket");
+                    if (!resultSet.wasNull()) {
+                        counts[bucket] = resultSet.getLong("Posts");
+                    }
+                }
+            }
+            return counts;
+        } catch(SQLException e) {
+            System.err.println("Error while counting posts by shares: " + e.getMessage());
+            throw new PostException("Error while counting posts by shares.", e);
+        }
     }
 
     /**
@@ -288,28 +602,16 @@ public class PostDAO {
     public List<Post> getTopNPostsByShares(int n, User user) throws PostException {
         String query = "SELECT * FROM Post WHERE UserID = ? ORDER BY Shares DESC LIMIT ?";
 
-        List<Post> posts = new ArrayList<>();
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setInt(1, user.getUserId());
             preparedStatement.setInt(2, n);
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            while (resultSet.next()) {
-                posts.add(new Post(
-                    resultSet.getInt("PostID"),
-                    resultSet.getString("Content"),
-                    resultSet.getString("Author"),
-                    resultSet.getInt("Likes"),
-                    resultSet.getInt("Shares"),
-                    resultSet.getString("DateTime"),
-                    resultSet.getInt("UserID")
-                ));
-            }
+            return readPosts(preparedStatement);
         } catch(SQLException e) {
             System.err.println("Error while fetching top " + n + " posts by shares for user " + user.getUsername() + ": " + e.getMessage());
             throw new PostException("Error while fetching top posts by shares for user.", e);
         }
-        return posts;
     }
 
     
@@ -323,27 +625,15 @@ public class PostDAO {
     public List<Post> getTopNPostsByShares(int n) throws PostException {
         String query = "SELECT * FROM Post ORDER BY Shares DESC LIMIT ?";
 
-        List<Post> posts = new ArrayList<>();
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setInt(1, n);
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            while (resultSet.next()) {
-                posts.add(new Post(
-                    resultSet.getInt("PostID"),
-                    resultSet.getString("Content"),
-                    resultSet.getString("Author"),
-                    resultSet.getInt("Likes"),
-                    resultSet.getInt("Shares"),
-                    resultSet.getString("DateTime"),
-                    resultSet.getInt("UserID")
-                ));
-            }
+            return readPosts(preparedStatement);
         } catch(SQLException e) {
             System.err.println("Error while fetching top " + n + " posts by shares: " + e.getMessage());
             throw new PostException("Error while fetching top posts by shares.", e);
         }
-        return posts;
     }
     
     /**
@@ -356,11 +646,78 @@ public class PostDAO {
     public boolean deletePostByAuthor(String author) throws SQLException {
         String query = "DELETE FROM Post WHERE Author = ?";
         
-        PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query);
-        preparedStatement.setString(1, author);
-        
-        int affectedRows = preparedStatement.executeUpdate();
-        return affectedRows > 0;
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            preparedStatement.setString(1, author);
+            
+            int affectedRows = preparedStatement.executeUpdate();
+            return affectedRows > 0;
+        }
     }
-}
 
+    // Column a paginated listing is ordered by.
+    private static String sortColumn(SortBy sortBy) {
+        switch (sortBy) {
+            case By_Likes:
+                return "Likes";
+            case By_Shares:
+                return "Shares";
+            default:
+                return "DateTime";
+        }
+    }
+
+    // Value of the sort column for the given post.
+    private static long sortKey(SortBy sortBy, Post post) {
+        switch (sortBy) {
+            case By_Likes:
+                return post.getLikes();
+            case By_Shares:
+                return post.getShares();
+            default:
+                return post.getEpochMillis();
+        }
+    }
+
+    // Binds the columns of the Post INSERT statement.
+    private void bindInsert(PreparedStatement preparedStatement, Post post) throws SQLException {
+        preparedStatement.setString(1, post.getContent());
+        preparedStatement.setString(2, post.getAuthor());
+        preparedStatement.setInt(3, post.getLikes());
+        preparedStatement.setInt(4, post.getShares());
+        preparedStatement.setLong(5, post.getEpochMillis());
+        preparedStatement.setInt(6, post.getUserId());
+        preparedStatement.setLong(7, post.getContentHash());
+    }
+
+    // Returns the rowid of the last row inserted on the given connection.
+    private int lastInsertRowId(PooledConnection connection) throws SQLException {
+        try (ResultSet resultSet = connection.prepareCached("SELECT last_insert_rowid()").executeQuery()) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    // Executes a prepared query and maps every row to a Post.
+    private List<Post> readPosts(PreparedStatement preparedStatement) throws SQLException {
+        List<Post> posts = new ArrayList<>();
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                posts.add(mapPost(resultSet));
+            }
+        }
+        return posts;
+    }
+
+    // Maps the current row of a Post result set.
+    private Post mapPost(ResultSet resultSet) throws SQLException {
+        return new Post(
+            resultSet.getInt("PostID"),
+            resultSet.getString("Content"),
+            resultSet.getString("Author"),
+            resultSet.getInt("Likes"),
+            resultSet.getInt("Shares"),
+            Post.fromEpochMillis(resultSet.getLong("DateTime")),
+            resultSet.getInt("UserID")
+        );
+    }
+}
@@ -0,0 +1,223 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import models.Post;
+
+/**
+ * SchemaMigrations is the ordered list of every schema change of the Data Analytics Hub database.
+ * New changes are appended with the next version number; released migrations are never edited.
+ */
+public final class SchemaMigrations {
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * @return all migrations in ascending version order
+     */
+    public static List<Migration> all() {
+        return List.of(
+            // Baseline: the tables as originally created by DBManager. IF NOT EXISTS lets databases
+            // created before migrations existed adopt version 1 without touching their data.
+            Migration.sql(1, "Create User and Post tables",
+                "CREATE TABLE IF NOT EXISTS User (" +
+                "UserID INTEGER UNIQUE PRIMARY KEY AUTOINCREMENT," +
+                "Username VARCHAR(100) UNIQUE," +
+                "HashedPassword VARCHAR(100)," +
+                "Salt VARCHAR(100)," +
+                "FirstName VARCHAR(100)," +
+                "LastName VARCHAR(100)," +
+                "IsVIP BOOLEAN," +
+                "CreatedDate DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                "UpdatedOn DATETIME DEFAULT CURRENT_TIMESTAMP)",
+                "CREATE TABLE IF NOT EXISTS Post (" +
+                "PostID INTEGER UNIQUE PRIMARY KEY AUTOINCREMENT," +
+                "Content VARCHAR(100)," +
+                "Author VARCHAR(100)," +
+                "Likes INTEGER," +
+                "Shares INTEGER," +
+                "DateTime VARCHAR(100)," +
+                "UserID INTEGER," +
+                "CreatedDate DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                "UpdatedOn DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                "FOREIGN KEY(UserID) REFERENCES User(UserID))"),
+
+            // Top-N queries per user walk (UserID, Likes/Shares DESC) instead of scanning and sorting;
+            // PostID is the rowid and is implicitly part of every index, which also serves tie-breaks.
+            Migration.sql(2, "Add Post indexes for top-N and author lookups",
+                "CREATE INDEX IF NOT EXISTS idx_post_user_likes ON Post (UserID, Likes DESC)",
+                "CREATE INDEX IF NOT EXISTS idx_post_user_shares ON Post (UserID, Shares DESC)",
+                "CREATE INDEX IF NOT EXISTS idx_post_likes ON Post (Likes DESC)",
+                "CREATE INDEX IF NOT EXISTS idx_post_shares ON Post (Shares DESC)",
+                "CREATE INDEX IF NOT EXISTS idx_post_author ON Post (Author)",
+                "ANALYZE"),
+
+            // DateTime was text in two formats (ISO from inserts, d/MM/yyyy HH:mm from updates).
+            // SQLite can not change a column type in place, so the table is rebuilt with an
+            // INTEGER epoch-millis column and the text values are parsed once here.
+            Migration.of(3, "Store Post.DateTime as epoch milliseconds", SchemaMigrations::convertPostDateTimeToEpoch),
+
+            // One row per pipelined CSV import. The checkpoint columns are updated in the same
+            // transaction as each batch of posts, so they always describe exactly what was committed.
+            Migration.sql(4, "Add ImportJob table for resumable imports",
+                "CREATE TABLE IF NOT EXISTS ImportJob (" +
+                "JobID INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "UserID INTEGER," +
+                "FilePath VARCHAR(1000)," +
+                "FileSize INTEGER," +
+                "FileModified INTEGER," +
+                "ByteOffset INTEGER," +
+                "LineNumber INTEGER," +
+                "RowsRead INTEGER," +
+                "PostsAccepted INTEGER," +
+                "RowsRejected INTEGER," +
+                "Status VARCHAR(20)," +
+                "CreatedDate DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                "UpdatedOn DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                "FOREIGN KEY(UserID) REFERENCES User(UserID))",
+                "CREATE INDEX IF NOT EXISTS idx_importjob_user_file ON ImportJob (UserID, FilePath)"),
+
+            // Imports skip posts that already exist, keyed on (Author, content, DateTime). Content is
+            // free text, so lookups go through an indexed hash of it and compare the text only on a match.
+            Migration.of(5, "Add indexed Post.ContentHash for duplicate detection", SchemaMigrations::addPostContentHash),
+
+            // Rows rejected after the last checkpoint are read again on resume, so the job remembers how
+            // long its reject report was at each checkpoint. NULL for jobs checkpointed before this column.
+            Migration.sql(6, "Add ImportJob.RejectReportLength",
+                "ALTER TABLE ImportJob ADD COLUMN RejectReportLength INTEGER")
+        );
+    }
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    // Rebuilds Post with an INTEGER DateTime column and backfills it from the old text values.
+    private static void convertPostDateTimeToEpoch(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long previousSequence = 0;
+            try (ResultSet resultSet = statement.executeQuery("SELECT seq FROM sqlite_sequence WHERE name = 'Post'")) {
+                if (resultSet.next()) {
+                    previousSequence = resultSet.getLong(1);
+                }
+            }
+
+            statement.executeUpdate("CREATE TABLE Post_new (" +
+                "PostID INTEGER UNIQUE PRIMARY KEY AUTOINCREMENT," +
+                "Content VARCHAR(100)," +
+                "Author VARCHAR(100)," +
+                "Likes INTEGER," +
+                "Shares INTEGER," +
+                "DateTime INTEGER," +
+                "UserID INTEGER," +
+                "CreatedDate DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                "UpdatedOn DATETIME DEFAULT CURRENT_TIMESTAMP," +
+                "FOREIGN KEY(UserID) REFERENCES User(UserID))");
+            statement.executeUpdate("INSERT INTO Post_new (PostID, Content, Author, Likes, Shares, DateTime, UserID, CreatedDate, UpdatedOn)"
+                + " SELECT PostID, Content, Author, Likes, Shares,"
+                + " CASE WHEN typeof(DateTime) = 'integer' THEN DateTime END, UserID, CreatedDate, UpdatedOn FROM Post");
+
+            backfillEpochDateTimes(connection);
+
+            statement.executeUpdate("DROP TABLE Post");
+            statement.executeUpdate("ALTER TABLE Post_new RENAME TO Post");
+            // Keep AUTOINCREMENT from reusing IDs of posts deleted before the rebuild. Whether the
+            // copy left a sqlite_sequence row for the rebuilt table is up to SQLite, and the table has
+            // no unique key to INSERT OR REPLACE on, so the row is inserted when there is none to update.
+            try (PreparedStatement updateStatement = connection.prepareStatement(
+                    "UPDATE sqlite_sequence SET seq = MAX(seq, ?) WHERE name = 'Post'")) {
+                updateStatement.setLong(1, previousSequence);
+                if (updateStatement.executeUpdate() == 0 && previousSequence > 0) {
+                    try (PreparedStatement insertStatement = connection.prepareStatement(
+                            "INSERT INTO sqlite_sequence (name, seq) VALUES ('Post', ?)")) {
+                        insertStatement.setLong(1, previousSequence);
+                        insertStatement.executeUpdate();
+                    }
+                }
+            }
+
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_post_user_likes ON Post (UserID, Likes DESC)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_post_user_shares ON Post (UserID, Shares DESC)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_post_likes ON Post (Likes DESC)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_post_shares ON Post (Shares DESC)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_post_author ON Post (Author)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_post_datetime ON Post (DateTime)");
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_post_user_datetime ON Post (UserID, DateTime)");
+            statement.executeUpdate("ANALYZE");
+        }
+    }
+
+    // Adds the ContentHash column and fills it in for the existing posts, one keyset page at a time.
+    private static void addPostContentHash(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("ALTER TABLE Post ADD COLUMN ContentHash INTEGER");
+        }
+
+        int hashed = 0;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT PostID, Content FROM Post WHERE PostID > ? AND Content IS NOT NULL ORDER BY PostID LIMIT " + BACKFILL_BATCH_SIZE);
+             PreparedStatement update = connection.prepareStatement("UPDATE Post SET ContentHash = ? WHERE PostID = ?")) {
+            int lastPostId = 0;
+            boolean more = true;
+            while (more) {
+                more = false;
+                select.setInt(1, lastPostId);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastPostId = resultSet.getInt(1);
+                        update.setLong(1, Post.contentHash(resultSet.getString(2)));
+                        update.setInt(2, lastPostId);
+                        update.addBatch();
+                        more = true;
+                    }
+                }
+                hashed += update.executeBatch().length;
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_post_content_hash ON Post (ContentHash, DateTime)");
+        }
+        System.out.println("Hashed the content of " + hashed + " posts.");
+    }
+
+    // Parses the text dates of the old table into the new one in JDBC batches.
+    private static void backfillEpochDateTimes(Connection connection) throws SQLException {
+        int converted = 0;
+        int unparseable = 0;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT PostID, DateTime FROM Post WHERE typeof(DateTime) = 'text'");
+             PreparedStatement update = connection.prepareStatement("UPDATE Post_new SET DateTime = ? WHERE PostID = ?");
+             ResultSet resultSet = select.executeQuery()) {
+            int pending = 0;
+            while (resultSet.next()) {
+                int postId = resultSet.getInt(1);
+                String dateTime = resultSet.getString(2);
+                try {
+                    update.setLong(1, Post.toEpochMillis(Post.parseDateTime(dateTime.trim())));
+                } catch (DateTimeParseException e) {
+                    System.err.println("Post " + postId + " has an unparseable date '" + dateTime + "'; leaving it empty.");
+                    unparseable++;
+                    continue;
+                }
+                update.setInt(2, postId);
+                update.addBatch();
+                converted++;
+                if (++pending == BACKFILL_BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+        System.out.println("Converted " + converted + " post dates to epoch milliseconds"
+            + (unparseable > 0 ? " (" + unparseable + " unparseable)." : "."));
+    }
+}
@@ -0,0 +1,117 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SchemaMigrator brings a database up to the latest schema version by applying
+ * the pending {@link Migration}s in order.
+ * <p>
+ * The current version is the highest version recorded in the {@code schema_version}
+ * table (0 for a fresh or pre-migration database). Each pending migration runs in its
+ * own transaction together with the insert of its version row, so an interrupted
+ * upgrade resumes from the last fully applied version the next time the application starts.
+ * </p>
+ */
+public class SchemaMigrator {
+
+    private final List<Migration> migrations;
+
+    /**
+     * Constructs a SchemaMigrator for the given migrations.
+     *
+     * @param migrations The migrations, in strictly ascending version order.
+     * @throws IllegalArgumentException if the versions are not strictly ascending.
+     */
+    public SchemaMigrator(List<Migration> migrations) {
+        int previous = 0;
+        for (Migration migration : migrations) {
+            if (migration.getVersion() <= previous) {
+                throw new IllegalArgumentException("Migration versions must be strictly ascending, found "
+                        + migration.getVersion() + " after " + previous + ".");
+            }
+            previous = migration.getVersion();
+        }
+        this.migrations = new ArrayList<>(migrations);
+    }
+
+    /**
+     * @return the version of the newest known migration
+     */
+    public int getLatestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion();
+    }
+
+    /**
+     * Reads the schema version of the database.
+     *
+     * @param connection The connection to inspect.
+     * @return the highest applied version, 0 if none
+     * @throws SQLException if the version can not be read.
+     */
+    public int getCurrentVersion(Connection connection) throws SQLException {
+        createVersionTable(connection);
+        try (Statement stmt = connection.createStatement();
+             ResultSet resultSet = stmt.executeQuery("SELECT COALESCE(MAX(Version), 0) FROM schema_version")) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Applies every migration newer than the current schema version.
+     *
+     * @param connection The connection to migrate. Its auto-commit mode is restored afterwards.
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails; earlier migrations stay applied.
+     */
+    public int migrate(Connection connection) throws SQLException {
+        int currentVersion = getCurrentVersion(connection);
+        int applied = 0;
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            for (Migration migration : migrations) {
+                if (migration.getVersion() <= currentVersion) {
+                    continue;
+                }
+                System.out.println("Applying schema migration " + migration.getVersion() + ": " + migration.getDescription());
+                connection.setAutoCommit(false);
+                try {
+                    migration.apply(connection);
+                    try (PreparedStatement preparedStatement = connection.prepareStatement(
+                            "INSERT INTO schema_version (Version, Description) VALUES (?, ?)")) {
+                        preparedStatement.setInt(1, migration.getVersion());
+                        preparedStatement.setString(2, migration.getDescription());
+                        preparedStatement.executeUpdate();
+                    }
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw new SQLException("Schema migration " + migration.getVersion() + " failed: " + e.getMessage(), e);
+                }
+                applied++;
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        if (applied > 0) {
+            System.out.println("Database schema upgraded to version " + getLatestVersion() + ".");
+        } else {
+            System.out.println("Database schema is up to date (version " + currentVersion + ").");
+        }
+        return applied;
+    }
+
+    private void createVersionTable(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                         "Version INTEGER PRIMARY KEY," +
+                         "Description VARCHAR(200)," +
+                         "AppliedOn DATETIME DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StatementCache keeps the most recently used prepared statements of a single
+ * physical connection, keyed by their SQL text.
+ * <p>
+ * The cache is an access-ordered {@link LinkedHashMap}, so the least recently used
+ * statement is closed and evicted once the capacity is reached. A pooled connection
+ * is only ever used by one thread at a time, so the cache itself is not synchronized;
+ * the hit, miss and eviction counters are shared with the owning pool and are thread safe.
+ * </p>
+ */
+class StatementCache {
+
+    private final Connection connection;
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    StatementCache(Connection connection, int capacity, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.capacity) {
+                    closeQuietly(eldest.getValue());
+                    StatementCache.this.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached statement for the given SQL, preparing and caching it on a miss.
+     * Parameters left over from the previous use are cleared.
+     *
+     * @param sql The SQL statement.
+     * @return a prepared statement owned by the cache; callers must not close it
+     * @throws SQLException if the statement can not be prepared.
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null && !statement.isClosed()) {
+            hits.increment();
+            statement.clearParameters();
+            return statement;
+        }
+        misses.increment();
+        statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+        return statement;
+    }
+
+    /**
+     * Closes and forgets all cached statements.
+     */
+    void clear() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Error while closing cached statement: " + e.getMessage());
+        }
+    }
+}
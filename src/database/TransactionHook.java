@@ -0,0 +1,17 @@
+package database;
+
+import java.sql.SQLException;
+
+/**
+ * TransactionHook runs extra statements inside a transaction opened by a DAO, just before it
+ * commits, so that they commit or roll back together with the DAO's own writes.
+ */
+@FunctionalInterface
+public interface TransactionHook {
+
+    /**
+     * @param connection The connection holding the open transaction.
+     * @throws SQLException if a statement fails; the whole transaction is rolled back.
+     */
+    void beforeCommit(PooledConnection connection) throws SQLException;
+}
@@ -9,6 +9,7 @@ import models.User;
 /**
  * Data Access Object (DAO) for User operations. 
  * Provides CRUD operations on the User table.
+ * Statements come from the pooled connection's statement cache and must not be closed here.
  */
 public class UserDAO {
 
@@ -35,7 +36,8 @@ public class UserDAO {
         		+ "VALUES (?, ?, ?, ?, ?, ?, DATETIME('now', 'localtime'), DATETIME('now', 'localtime'))";
         
         // Using try-with-resources to ensure the PreparedStatement is closed after use.
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setString(1, user.getUsername());
             preparedStatement.setString(2, user.getHashedPassword());
             preparedStatement.setString(3, user.getSalt());
@@ -57,11 +59,13 @@ public class UserDAO {
      */
     public boolean doesUsernameExist(String username) throws SQLException {
         String query = "SELECT COUNT(*) AS count FROM User WHERE Username = ?";
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setString(1, username);
             
-            ResultSet resultSet = preparedStatement.executeQuery();
-            return resultSet.next() && resultSet.getInt("count") > 0;
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt("count") > 0;
+            }
         }
     }
 
@@ -74,20 +78,22 @@ public class UserDAO {
      */
     public User getUserByUsername(String username) throws SQLException {
         String query = "SELECT * FROM User WHERE Username = ?";
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setString(1, username);
             
-            ResultSet resultSet = preparedStatement.executeQuery();
-            if (resultSet.next()) {
-                return new User(
-                	resultSet.getInt("UserID"),
-                    resultSet.getString("Username"),
-                    resultSet.getString("HashedPassword"),
-                    resultSet.getString("Salt"),
-                    resultSet.getString("FirstName"),
-                    resultSet.getString("LastName"),
-                    resultSet.getBoolean("IsVIP")
-                );
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    return new User(
+                    	resultSet.getInt("UserID"),
+                        resultSet.getString("Username"),
+                        resultSet.getString("HashedPassword"),
+                        resultSet.getString("Salt"),
+                        resultSet.getString("FirstName"),
+                        resultSet.getString("LastName"),
+                        resultSet.getBoolean("IsVIP")
+                    );
+                }
             }
         }
         return null;
@@ -103,7 +109,8 @@ public class UserDAO {
         String query = "UPDATE User SET Username = ?, HashedPassword = ?, Salt = ?, FirstName = ?, LastName = ?, UpdatedOn = DATETIME('now', 'localtime')"
         		+ " WHERE UserID = ?";
         
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setString(1, user.getUsername());
             preparedStatement.setString(2, user.getHashedPassword());
             preparedStatement.setString(3, user.getSalt());
@@ -125,12 +132,14 @@ public class UserDAO {
     public String getHashedPassword(int userId) throws SQLException {
         String query = "SELECT HashedPassword FROM User WHERE UserID = ?";
         
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireReader()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setInt(1, userId);
             
-            ResultSet resultSet = preparedStatement.executeQuery();
-            if (resultSet.next()) {
-                return resultSet.getString("HashedPassword");
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    return resultSet.getString("HashedPassword");
+                }
             }
         }
         return null;
@@ -148,7 +157,8 @@ public class UserDAO {
     public boolean updateUserPassword(User user, String newHashedPassword, String newSalt) throws SQLException {
         String query = "UPDATE User SET HashedPassword = ?, Salt = ?, UpdatedOn = DATETIME('now', 'localtime') WHERE UserID = ?";
         
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setString(1, newHashedPassword);
             preparedStatement.setString(2, newSalt);
             preparedStatement.setInt(3, user.getUserId());
@@ -168,7 +178,8 @@ public class UserDAO {
     public void upgradeToVIP(User user) throws SQLException {
         String query = "UPDATE User SET IsVIP = true, updatedOn = DATETIME('now', 'localtime') WHERE UserID = ?";
         
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setInt(1, user.getUserId());
             preparedStatement.executeUpdate();
         }
@@ -183,7 +194,8 @@ public class UserDAO {
     public void degradeToStandard(User user) throws SQLException {
         String query = "UPDATE User SET IsVIP = false, updatedOn = DATETIME('now', 'localtime') WHERE UserID = ?";
         
-        try (PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query)) {
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
             preparedStatement.setInt(1, user.getUserId());
             preparedStatement.executeUpdate();
         }
@@ -199,11 +211,13 @@ public class UserDAO {
     public boolean deleteUserByUsername(String username) throws SQLException {
         String query = "DELETE FROM User WHERE Username = ?";
         
-        PreparedStatement preparedStatement = dbManager.getConnection().prepareStatement(query);
-        preparedStatement.setString(1, username);
-        
-        int affectedRows = preparedStatement.executeUpdate();
-        return affectedRows > 0;
+        try (PooledConnection connection = dbManager.acquireWriter()) {
+            PreparedStatement preparedStatement = connection.prepareCached(query);
+            preparedStatement.setString(1, username);
+            
+            int affectedRows = preparedStatement.executeUpdate();
+            return affectedRows > 0;
+        }
     }
 
 }
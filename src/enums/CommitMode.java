@@ -0,0 +1,9 @@
+package enums;
+
+// Commit semantics of batched bulk inserts
+public enum CommitMode {
+	// Every chunk is committed in one transaction; a failure rolls back the whole import
+	All_or_nothing,
+	// Each chunk is committed on its own; a failure only rolls back the chunk being written
+	Per_chunk;
+}
@@ -0,0 +1,9 @@
+package enums;
+
+// Handling of invalid rows during an import
+public enum ErrorMode {
+	// The first invalid row aborts the import
+	Fail_fast,
+	// Invalid rows are written to a reject report and the import continues
+	Skip_and_report;
+}
@@ -0,0 +1,11 @@
+package enums;
+
+// Lifecycle of a resumable import job
+public enum ImportJobStatus {
+	// Started and not finished; left behind if the application stopped mid-import
+	In_progress,
+	// Stopped by an error; can be resumed from its last checkpoint
+	Failed,
+	// Every row of the file was processed
+	Completed;
+}
@@ -0,0 +1,13 @@
+package enums;
+
+// Kinds of changes announced on the PostEventBus
+public enum PostEventType {
+	// A single post was added
+	Added,
+	// A post was edited; the event carries its previous version when known
+	Updated,
+	// A post was deleted
+	Deleted,
+	// Many posts were added at once, by a bulk insert or an import batch
+	Bulk_added;
+}
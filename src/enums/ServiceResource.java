@@ -0,0 +1,11 @@
+package enums;
+
+// Resources whose concurrent use is limited when service calls run on the ServiceExecutor
+public enum ServiceResource {
+	// The SQLite writer lane; SQLite only ever runs one write transaction at a time
+	Db_writer,
+	// The reader connections of the pool
+	Db_reader,
+	// CPU-bound password hashing
+	Cpu_hashing;
+}
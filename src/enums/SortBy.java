@@ -3,7 +3,8 @@ package enums;
 // Sort by criteria
 public enum SortBy {
 	By_Likes("By Likes"),
-	By_Shares("By Shares");
+	By_Shares("By Shares"),
+	By_Date("By Date");
 
 	private String sortBy;
 
@@ -0,0 +1,60 @@
+package events;
+
+import java.util.Collections;
+import java.util.List;
+
+import enums.PostEventType;
+import models.Post;
+
+/**
+ * A change to posts, published on the {@link PostEventBus} once it is committed.
+ * Added and bulk added posts carry their generated PostIDs.
+ */
+public class PostEvent {
+
+    private final PostEventType type;
+    private final List<Post> posts;
+    private final Post previousPost;
+
+    /**
+     * Constructs an event for a single post.
+     *
+     * @param type         The kind of change.
+     * @param post         The post as it is now, or as it was before it was deleted.
+     * @param previousPost The post before an update, or null if unknown or not an update.
+     */
+    public PostEvent(PostEventType type, Post post, Post previousPost) {
+        this(type, Collections.singletonList(post), previousPost);
+    }
+
+    /**
+     * Constructs an event for posts added at once.
+     *
+     * @param posts The added posts.
+     */
+    public PostEvent(List<Post> posts) {
+        this(PostEventType.Bulk_added, posts, null);
+    }
+
+    private PostEvent(PostEventType type, List<Post> posts, Post previousPost) {
+        this.type = type;
+        this.posts = Collections.unmodifiableList(posts);
+        this.previousPost = previousPost;
+    }
+
+    public PostEventType getType() { return type; }
+    public List<Post> getPosts() { return posts; }
+    public Post getPreviousPost() { return previousPost; }
+
+    /**
+     * @return the post of a single-post event, or the first of a bulk event
+     */
+    public Post getPost() {
+        return posts.isEmpty() ? null : posts.get(0);
+    }
+
+    @Override
+    public String toString() {
+        return "PostEvent [type=" + type + ", posts=" + posts.size() + "]";
+    }
+}
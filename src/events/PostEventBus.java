@@ -0,0 +1,79 @@
+package events;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * PostEventBus announces committed changes to posts to the parts of the application that keep
+ * posts in memory, such as tables and charts, so they can apply the change instead of querying
+ * everything again.
+ * <p>
+ * Listeners are called synchronously on the thread that made the change, after its transaction
+ * committed, in the order the changes were published by that thread. They must be quick and hand
+ * UI work over to the JavaFX application thread. A listener that throws is reported and does not
+ * affect the change or the other listeners. One bus is shared by the whole process.
+ * </p>
+ */
+public class PostEventBus {
+
+    /**
+     * Receives post events.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onPostEvent(PostEvent event);
+    }
+
+    private static final PostEventBus INSTANCE = new PostEventBus();
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a bus of its own, e.g. for tests; the application uses {@link #getInstance()}.
+     */
+    public PostEventBus() {
+    }
+
+    /**
+     * @return the bus shared by the process
+     */
+    public static PostEventBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param listener Called for every event published from now on.
+     */
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener A listener passed to {@link #subscribe(Listener)}; no further events reach it.
+     */
+    public void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Calls every listener with the event.
+     *
+     * @param event The committed change.
+     */
+    public void publish(PostEvent event) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onPostEvent(event);
+            } catch (RuntimeException e) {
+                System.err.println("Error in post event listener for " + event + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the number of subscribed listeners
+     */
+    public int getListenerCount() {
+        return listeners.size();
+    }
+}
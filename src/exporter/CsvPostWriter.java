@@ -0,0 +1,51 @@
+package exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import models.Post;
+import utils.CSVUtils;
+
+/**
+ * CsvPostWriter writes posts as CSV with the header ID,Content,Author,Likes,Shares,DateTime.
+ * Text fields are quoted as needed, so the output reads back with {@link CSVUtils#readPosts}.
+ */
+public class CsvPostWriter implements PostWriter {
+
+    public static final String HEADER = "ID,Content,Author,Likes,Shares,DateTime";
+
+    private final Writer writer;
+
+    /**
+     * Constructs a writer and writes the header line.
+     *
+     * @param writer The output, ideally buffered; closed with this writer.
+     * @throws IOException if the header can not be written.
+     */
+    public CsvPostWriter(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(Post post) throws IOException {
+        writer.write(Integer.toString(post.getPostId()));
+        writer.write(',');
+        writer.write(CSVUtils.escapeField(post.getContent()));
+        writer.write(',');
+        writer.write(CSVUtils.escapeField(post.getAuthor()));
+        writer.write(',');
+        writer.write(Integer.toString(post.getLikes()));
+        writer.write(',');
+        writer.write(Integer.toString(post.getShares()));
+        writer.write(',');
+        writer.write(post.getDateTime().toString());
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,91 @@
+package exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import models.Post;
+import utils.JsonLinesTokenizer;
+
+/**
+ * JsonLinesPostWriter writes posts as JSON Lines, one object per line with the members
+ * ID, Content, Author, Likes, Shares and DateTime, so the output reads back with a {@link JsonLinesTokenizer}.
+ * Strings are escaped as they are written; no JSON tree or intermediate String is built per post.
+ */
+public class JsonLinesPostWriter implements PostWriter {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Writer writer;
+
+    /**
+     * Constructs a writer.
+     *
+     * @param writer The output, ideally buffered; closed with this writer.
+     */
+    public JsonLinesPostWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(Post post) throws IOException {
+        writer.write("{\"ID\":");
+        writer.write(Integer.toString(post.getPostId()));
+        writer.write(",\"Content\":");
+        writeString(post.getContent());
+        writer.write(",\"Author\":");
+        writeString(post.getAuthor());
+        writer.write(",\"Likes\":");
+        writer.write(Integer.toString(post.getLikes()));
+        writer.write(",\"Shares\":");
+        writer.write(Integer.toString(post.getShares()));
+        writer.write(",\"DateTime\":\"");
+        writer.write(post.getDateTime().toString());
+        writer.write("\"}\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        // Unescaped runs are written in one call
+        int runStart = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= ' ' && c != '"' && c != '\\') {
+                continue;
+            }
+            writer.write(value, runStart, i - runStart);
+            runStart = i + 1;
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    writer.write("\\u00");
+                    writer.write(HEX_DIGITS[c >> 4]);
+                    writer.write(HEX_DIGITS[c & 0xf]);
+            }
+        }
+        writer.write(value, runStart, value.length() - runStart);
+        writer.write('"');
+    }
+}
@@ -0,0 +1,176 @@
+package exporter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+import exceptions.PostException;
+import models.Post;
+import utils.JsonLinesTokenizer;
+
+/**
+ * PostExporter streams the result of a post query into an export file.
+ * <p>
+ * Posts are encoded as they arrive and written through a large buffer, optionally GZIP
+ * compressed, so exporting the whole table runs in constant memory. A failed export does
+ * not leave a truncated file behind.
+ * </p>
+ */
+public final class PostExporter {
+
+    // Characters buffered before the encoder and the disk are touched, overridable with -Ddah.export.bufferChars
+    public static final int DEFAULT_BUFFER_CHARS = Integer.getInteger("dah.export.bufferChars", 1024 * 1024);
+
+    private static final int GZIP_BUFFER_BYTES = 64 * 1024;
+
+    /**
+     * A post query that pushes its result to a callback, e.g. {@code action -> postDAO.forEachPost(user, fetchSize, action)}
+     * or, for queries returning lists, {@code action -> { posts.forEach(action); return posts.size(); }}.
+     */
+    @FunctionalInterface
+    public interface PostSource {
+        long forEach(Consumer<Post> action) throws PostException;
+    }
+
+    /**
+     * Opens a PostWriter for a file.
+     */
+    @FunctionalInterface
+    public interface PostWriterFactory {
+        PostWriter open(Writer writer) throws IOException;
+    }
+
+    private PostExporter() {
+    }
+
+    /**
+     * @param file The export file.
+     * @return whether the file name asks for GZIP compression, i.e. ends with .gz
+     */
+    public static boolean isGzipFile(File file) {
+        return file.getName().toLowerCase().endsWith(".gz");
+    }
+
+    /**
+     * Opens a buffered UTF-8 writer for an export file, replacing the file if it exists.
+     *
+     * @param file The export file.
+     * @param gzip Whether to GZIP compress the output.
+     * @return the writer
+     * @throws IOException if the file can not be created.
+     */
+    public static Writer openWriter(File file, boolean gzip) throws IOException {
+        OutputStream out = Files.newOutputStream(file.toPath());
+        try {
+            if (gzip) {
+                out = new GZIPOutputStream(out, GZIP_BUFFER_BYTES);
+            }
+            return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), DEFAULT_BUFFER_CHARS);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param file The export file.
+     * @return the writer of the format the file name asks for: JSON Lines for .jsonl or .ndjson, CSV otherwise
+     */
+    public static PostWriterFactory writerFactoryFor(File file) {
+        if (JsonLinesTokenizer.isJsonLinesFile(file)) {
+            return JsonLinesPostWriter::new;
+        }
+        return CsvPostWriter::new;
+    }
+
+    /**
+     * Exports posts in the format the file name asks for, see {@link #writerFactoryFor(File)}
+     * and {@link #isGzipFile(File)}.
+     *
+     * @param source The query whose posts are exported.
+     * @param file   The export file.
+     * @return the number of posts exported
+     * @throws IOException if the file can not be written.
+     * @throws PostException if the query fails.
+     */
+    public static long export(PostSource source, File file) throws IOException, PostException {
+        return export(source, file, isGzipFile(file), writerFactoryFor(file));
+    }
+
+    /**
+     * Exports posts as CSV.
+     *
+     * @param source The query whose posts are exported.
+     * @param file   The export file.
+     * @param gzip   Whether to GZIP compress the output.
+     * @return the number of posts exported
+     * @throws IOException if the file can not be written.
+     * @throws PostException if the query fails.
+     */
+    public static long exportCsv(PostSource source, File file, boolean gzip) throws IOException, PostException {
+        return export(source, file, gzip, CsvPostWriter::new);
+    }
+
+    /**
+     * Exports posts in the format of the given writer.
+     *
+     * @param source  The query whose posts are exported.
+     * @param file    The export file.
+     * @param gzip    Whether to GZIP compress the output.
+     * @param factory Creates the PostWriter of the export format.
+     * @return the number of posts exported
+     * @throws IOException if the file can not be written.
+     * @throws PostException if the query fails.
+     */
+    public static long export(PostSource source, File file, boolean gzip, PostWriterFactory factory)
+            throws IOException, PostException {
+        long start = System.nanoTime();
+        boolean completed = false;
+        long count;
+        try {
+            try (PostWriter postWriter = openPostWriter(file, gzip, factory)) {
+                count = source.forEach(post -> {
+                    try {
+                        postWriter.write(post);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            completed = true;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (PostException e) {
+            // The query wraps failures of the callback, so a write error may arrive as its cause
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            throw e;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+        System.out.println("Exported " + count + " posts to " + file.getName() + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        return count;
+    }
+
+    private static PostWriter openPostWriter(File file, boolean gzip, PostWriterFactory factory) throws IOException {
+        Writer writer = openWriter(file, gzip);
+        try {
+            return factory.open(writer);
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package exporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import models.Post;
+
+/**
+ * PostWriter encodes posts one at a time into an export file format.
+ * Implementations write through to a buffered stream, so any number of posts can be exported in constant memory.
+ */
+public interface PostWriter extends Closeable {
+
+    /**
+     * Writes one post.
+     *
+     * @param post The post to write.
+     * @throws IOException if the output can not be written.
+     */
+    void write(Post post) throws IOException;
+}
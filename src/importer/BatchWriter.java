@@ -0,0 +1,19 @@
+package importer;
+
+import exceptions.PostException;
+
+/**
+ * BatchWriter is the writer stage of an {@link ImportPipeline}. Each batch is expected
+ * to be written in its own transaction.
+ */
+@FunctionalInterface
+public interface BatchWriter {
+
+    /**
+     * Writes one batch of posts.
+     *
+     * @param batch The batch to write.
+     * @throws PostException if the batch can not be written.
+     */
+    void write(ImportBatch batch) throws PostException;
+}
@@ -0,0 +1,289 @@
+package importer;
+
+import java.io.CharArrayReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import exceptions.CsvLoadingException;
+import models.Post;
+import models.User;
+import utils.CSVUtils;
+import utils.CsvTokenizer;
+
+/**
+ * ChunkedCsvImporter reads a posts CSV file by memory-mapping it and parsing chunks of it in parallel.
+ * <p>
+ * A single scanner walks the mapped bytes and cuts the file into chunks of roughly the configured
+ * size, always on a line break outside of a quoted field, so that no record is split across chunks.
+ * Each chunk is decoded and parsed by a {@link CsvTokenizer} on a worker thread and validated with
+ * {@link CSVUtils#toPost}. Results are handed to the consumer on the calling thread in file order;
+ * only a bounded number of chunks are in flight at a time, so memory stays bounded as well.
+ * </p>
+ */
+public class ChunkedCsvImporter {
+
+    // Target size of a parsed chunk, overridable with -Ddah.import.chunkBytes
+    public static final int DEFAULT_CHUNK_BYTES = Integer.getInteger("dah.import.chunkBytes", 8 * 1024 * 1024);
+
+    // Number of parser threads, overridable with -Ddah.import.threads
+    public static final int DEFAULT_THREADS = Integer.getInteger("dah.import.threads", Runtime.getRuntime().availableProcessors());
+
+    private final int chunkBytes;
+    private final int threads;
+
+    /**
+     * Constructs an importer with the default chunk size and thread count.
+     */
+    public ChunkedCsvImporter() {
+        this(DEFAULT_CHUNK_BYTES, DEFAULT_THREADS);
+    }
+
+    /**
+     * Constructs an importer.
+     *
+     * @param chunkBytes Target size of a chunk in bytes.
+     * @param threads    Number of parser threads.
+     */
+    public ChunkedCsvImporter(int chunkBytes, int threads) {
+        if (chunkBytes < 1 || threads < 1) {
+            throw new IllegalArgumentException("Chunk size and thread count must be at least 1.");
+        }
+        this.chunkBytes = chunkBytes;
+        this.threads = threads;
+    }
+
+    /**
+     * Reads the posts of a CSV file authored by the given user. The first record is the header.
+     *
+     * @param file     The CSV file.
+     * @param user     The importing user; posts by other authors are skipped.
+     * @param consumer Receives the posts in file order, on the calling thread.
+     * @return the import statistics
+     * @throws CsvLoadingException if the file can not be read or contains an invalid row.
+     */
+    public ImportStats readPosts(File file, User user, Consumer<Post> consumer) throws CsvLoadingException {
+        long start = System.nanoTime();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "csv-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ChunkScanner scanner = new ChunkScanner(channel, chunkBytes);
+            Deque<Future<ChunkResult>> pending = new ArrayDeque<>();
+            long rows = 0;
+            long accepted = 0;
+            boolean more = true;
+
+            while (more || !pending.isEmpty()) {
+                // Keep every worker busy while bounding the number of parsed chunks held in memory
+                while (more && pending.size() < threads * 2) {
+                    Chunk chunk = scanner.next();
+                    if (chunk == null) {
+                        more = false;
+                    } else {
+                        pending.add(pool.submit(() -> parseChunk(channel, chunk, user)));
+                    }
+                }
+                if (!pending.isEmpty()) {
+                    ChunkResult result = await(pending.poll());
+                    rows += result.rows;
+                    for (Post post : result.posts) {
+                        consumer.accept(post);
+                    }
+                    accepted += result.posts.size();
+                }
+            }
+
+            ImportStats stats = new ImportStats(rows, accepted, 0, 0, channel.size(), System.nanoTime() - start);
+            System.out.println("Parsed " + file.getName() + " with " + threads + " threads: " + stats);
+            return stats;
+        } catch (IOException e) {
+            System.err.println("Error reading CSV file: " + e.getMessage());
+            throw new CsvLoadingException("Error reading CSV file", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ChunkResult await(Future<ChunkResult> future) throws CsvLoadingException, IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CsvLoadingException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CsvLoadingException csvLoadingException) {
+                throw csvLoadingException;
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new CsvLoadingException("Error parsing CSV chunk: " + cause.getMessage(), cause);
+        }
+    }
+
+    // Decodes and parses one chunk on a worker thread.
+    private static ChunkResult parseChunk(FileChannel channel, Chunk chunk, User user) throws IOException, CsvLoadingException {
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start, chunk.end - chunk.start);
+        CharBuffer chars;
+        try {
+            chars = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(bytes);
+        } catch (CharacterCodingException e) {
+            throw new CsvLoadingException("Invalid UTF-8 in CSV file near line " + chunk.firstLine + ".", e);
+        }
+
+        ChunkResult result = new ChunkResult();
+        CsvTokenizer tokenizer = new CsvTokenizer(new CharArrayReader(chars.array(), chars.arrayOffset(), chars.remaining()),
+            CsvTokenizer.DEFAULT_BUFFER_SIZE, chunk.start, chunk.firstLine);
+        if (chunk.start == 0 && !tokenizer.nextRecord()) {
+            return result;  // Skip the header row of the CSV file
+        }
+        while (tokenizer.nextRecord()) {
+            result.rows++;
+            Post post = CSVUtils.toPost(tokenizer.getRecord(), user);
+            if (post != null) {
+                result.posts.add(post);
+            }
+        }
+        return result;
+    }
+
+    private static class ChunkResult {
+        private final List<Post> posts = new ArrayList<>();
+        private long rows;
+    }
+
+    // A byte range of the file that starts at a record boundary, with the line number it starts on.
+    private static class Chunk {
+        private final long start;
+        private final long end;
+        private final long firstLine;
+
+        private Chunk(long start, long end, long firstLine) {
+            this.start = start;
+            this.end = end;
+            this.firstLine = firstLine;
+        }
+    }
+
+    /**
+     * Cuts the file into chunks. It follows the same quoting rules as {@link CsvTokenizer} but only
+     * looks at bytes, which is safe because UTF-8 never uses ASCII byte values inside multi-byte characters.
+     */
+    private static class ChunkScanner {
+
+        private static final int FIELD_START = 0;
+        private static final int UNQUOTED = 1;
+        private static final int QUOTED = 2;
+        private static final int AFTER_QUOTE = 3;
+
+        private final FileChannel channel;
+        private final long size;
+        private final int chunkBytes;
+
+        private ByteBuffer window;
+        private long windowStart;
+        private long position;
+        private long line = 1;
+        private int state = FIELD_START;
+        private boolean lastWasCarriageReturn;
+
+        private ChunkScanner(FileChannel channel, int chunkBytes) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.chunkBytes = chunkBytes;
+        }
+
+        // Returns the next chunk, or null once the whole file has been handed out.
+        private Chunk next() throws IOException {
+            if (position >= size) {
+                return null;
+            }
+            long chunkStart = position;
+            long chunkLine = line;
+            long target = chunkStart + chunkBytes;
+
+            while (position < size) {
+                byte b = byteAt(position++);
+                boolean lineFeed = advance(b);
+                if (lineFeed && position >= target) {
+                    break;
+                }
+            }
+            if (position - chunkStart > Integer.MAX_VALUE) {
+                throw new IOException("A CSV record starting near line " + chunkLine + " is larger than 2 GiB.");
+            }
+            return new Chunk(chunkStart, position, chunkLine);
+        }
+
+        // Feeds one byte through the quoting state machine; returns true at a record-ending LF.
+        private boolean advance(byte b) {
+            boolean carriageReturn = b == '\r';
+            if (b == '\n' && !lastWasCarriageReturn || carriageReturn) {
+                line++;
+            }
+            lastWasCarriageReturn = carriageReturn;
+
+            switch (state) {
+                case QUOTED:
+                    if (b == '"') {
+                        state = AFTER_QUOTE;
+                    }
+                    return false;
+                case AFTER_QUOTE:
+                    if (b == '"') {
+                        state = QUOTED;
+                        return false;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            if (b == ',') {
+                state = FIELD_START;
+            } else if (b == '\n' || b == '\r') {
+                state = FIELD_START;
+                return b == '\n';
+            } else if (b == '"' && state == FIELD_START) {
+                state = QUOTED;
+            } else {
+                state = UNQUOTED;
+            }
+            return false;
+        }
+
+        private byte byteAt(long offset) throws IOException {
+            if (window == null || offset >= windowStart + window.limit()) {
+                windowStart = offset;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(chunkBytes, size - offset));
+            }
+            return window.get((int) (offset - windowStart));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package importer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import exceptions.CsvLoadingException;
+import utils.CsvRecord;
+import utils.CsvTokenizer;
+
+/**
+ * CsvRowSource reads the data rows of a posts CSV file with a {@link CsvTokenizer}.
+ */
+public class CsvRowSource implements RowSource {
+
+    private final CsvTokenizer tokenizer;
+    private boolean headerSkipped;
+
+    /**
+     * Opens a CSV file for reading.
+     *
+     * @param file The CSV file; its first record is the header.
+     * @throws IOException if the file can not be opened.
+     */
+    public CsvRowSource(File file) throws IOException {
+        this(file, 0, 1);
+    }
+
+    /**
+     * Opens a CSV file for reading from a record boundary part-way into it, e.g. to resume an import.
+     *
+     * @param file            The CSV file; its first record is the header.
+     * @param startByteOffset The byte offset of a record start, or 0 to read from the beginning.
+     * @param startLineNumber The line number of the record at that offset.
+     * @throws IOException if the file can not be opened.
+     */
+    public CsvRowSource(File file, long startByteOffset, long startLineNumber) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            in.getChannel().position(startByteOffset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        this.tokenizer = new CsvTokenizer(new InputStreamReader(in, StandardCharsets.UTF_8),
+            CsvTokenizer.DEFAULT_BUFFER_SIZE, startByteOffset, startLineNumber);
+        this.headerSkipped = startByteOffset > 0;
+    }
+
+    @Override
+    public CsvRecord next() throws IOException, CsvLoadingException {
+        if (!headerSkipped) {
+            headerSkipped = true;
+            if (!tokenizer.nextRecord()) {
+                return null;
+            }
+        }
+        return tokenizer.nextRecord() ? tokenizer.getRecord().copy() : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        tokenizer.close();
+    }
+}
@@ -0,0 +1,147 @@
+package importer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import exceptions.PostException;
+import models.Post;
+import utils.BloomFilter;
+
+/**
+ * DuplicateFilter drops imported posts that already exist, keyed on (author, content, date).
+ * <p>
+ * The keys of the existing posts are loaded into a {@link BloomFilter} up front. A post whose
+ * key the filter has never seen is new without touching the database; only the rare positives,
+ * true duplicates and false positives, are confirmed with an exact lookup. Posts that pass are
+ * added to the filter, so repeats later in the same import are caught as well. Not thread-safe.
+ * </p>
+ * <p>
+ * The filter is sized for the posts known up front, not for a file of unknown length. Once it has
+ * taken as many keys as it was sized for, a filter twice as large with half the false positive
+ * rate is added, so memory grows with the posts actually imported and the overall false positive
+ * rate stays below twice {@link #FALSE_POSITIVE_RATE}.
+ * </p>
+ */
+public class DuplicateFilter {
+
+    // False positive rate of the key filter, i.e. the share of new posts that still need a lookup
+    public static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * The exact check behind the filter, e.g. an indexed query against the Post table.
+     */
+    @FunctionalInterface
+    public interface ExistingPostCheck {
+        boolean exists(Post post) throws PostException;
+    }
+
+    // Filters in the order they were added; keys go to the last one
+    private final List<BloomFilter> keys = new ArrayList<>();
+    private long capacity;
+    private double falsePositiveRate;
+    private long keysInLast;
+    private final ExistingPostCheck check;
+    private long duplicates;
+    private long lookups;
+
+    /**
+     * Constructs a filter with no known posts yet.
+     *
+     * @param expectedPosts The number of existing and imported posts the filter is first sized for.
+     * @param check         Confirms whether a post already exists.
+     */
+    public DuplicateFilter(long expectedPosts, ExistingPostCheck check) {
+        this.capacity = Math.max(expectedPosts, 1);
+        this.falsePositiveRate = FALSE_POSITIVE_RATE;
+        this.keys.add(new BloomFilter(capacity, falsePositiveRate));
+        this.check = check;
+    }
+
+    /**
+     * Registers the key of an existing post.
+     *
+     * @param duplicateKey The key, see {@link Post#getDuplicateKey()}.
+     */
+    public void addExisting(long duplicateKey) {
+        put(duplicateKey);
+    }
+
+    /**
+     * Removes the posts that already exist or repeat an earlier post of the list.
+     * The posts passed by an earlier call are expected to be stored by now.
+     *
+     * @param posts The candidate posts, in import order.
+     * @return the new posts, in import order
+     * @throws PostException if an exact check fails.
+     */
+    public List<Post> removeDuplicates(List<Post> posts) throws PostException {
+        List<Post> newPosts = new ArrayList<>(posts.size());
+        // Posts passed by this call are not stored yet, so the exact check can not see them
+        Map<Long, Post> passed = new HashMap<>();
+        for (Post post : posts) {
+            long key = post.getDuplicateKey();
+            boolean duplicate = false;
+            if (mightContain(key)) {
+                Post earlier = passed.get(key);
+                if (earlier != null && isSamePost(earlier, post)) {
+                    duplicate = true;
+                } else {
+                    lookups++;
+                    duplicate = check.exists(post);
+                }
+            }
+            if (duplicate) {
+                duplicates++;
+            } else {
+                put(key);
+                passed.putIfAbsent(key, post);
+                newPosts.add(post);
+            }
+        }
+        return newPosts;
+    }
+
+    /**
+     * @return the number of posts removed as duplicates so far
+     */
+    public long getDuplicates() { return duplicates; }
+
+    /**
+     * @return the number of exact checks made so far
+     */
+    public long getLookups() { return lookups; }
+
+    /**
+     * @return the number of Bloom filters, more than one once the keys outgrew the expected number of posts
+     */
+    public int getFilterCount() { return keys.size(); }
+
+    private void put(long key) {
+        if (keysInLast == capacity) {
+            capacity *= 2;
+            falsePositiveRate /= 2;
+            keys.add(new BloomFilter(capacity, falsePositiveRate));
+            keysInLast = 0;
+        }
+        keys.get(keys.size() - 1).put(key);
+        keysInLast++;
+    }
+
+    private boolean mightContain(long key) {
+        for (BloomFilter filter : keys) {
+            if (filter.mightContain(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSamePost(Post a, Post b) {
+        return a.getEpochMillis() == b.getEpochMillis()
+            && Objects.equals(a.getAuthor(), b.getAuthor())
+            && Objects.equals(a.getContent(), b.getContent());
+    }
+}
@@ -0,0 +1,43 @@
+package importer;
+
+import java.util.Collections;
+import java.util.List;
+
+import models.Post;
+
+/**
+ * ImportBatch is a group of validated posts written by the writer stage of an {@link ImportPipeline}
+ * in one transaction, together with how far into the input the batch reaches, so that an import
+ * can checkpoint its position in the same transaction.
+ */
+public class ImportBatch {
+
+    private final List<Post> posts;
+    private final long rows;
+    private final long rejected;
+    private final long endByteOffset;
+    private final long nextLineNumber;
+
+    /**
+     * Constructs an ImportBatch.
+     *
+     * @param posts         The posts to write.
+     * @param rows           The number of input rows covered by the batch, including rows that produced no post.
+     * @param rejected       The number of covered rows that were rejected as invalid.
+     * @param endByteOffset  The byte offset just past the last input row covered by the batch.
+     * @param nextLineNumber The line on which the input following the batch starts.
+     */
+    public ImportBatch(List<Post> posts, long rows, long rejected, long endByteOffset, long nextLineNumber) {
+        this.posts = Collections.unmodifiableList(posts);
+        this.rows = rows;
+        this.rejected = rejected;
+        this.endByteOffset = endByteOffset;
+        this.nextLineNumber = nextLineNumber;
+    }
+
+    public List<Post> getPosts() { return posts; }
+    public long getRows() { return rows; }
+    public long getRejected() { return rejected; }
+    public long getEndByteOffset() { return endByteOffset; }
+    public long getNextLineNumber() { return nextLineNumber; }
+}
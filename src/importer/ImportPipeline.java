@@ -0,0 +1,279 @@
+package importer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import exceptions.CsvLoadingException;
+import exceptions.PostException;
+import models.Post;
+import models.User;
+import utils.CSVUtils;
+import utils.CsvRecord;
+
+/**
+ * ImportPipeline imports posts from a {@link RowSource} straight into the database in three
+ * overlapping stages: a parser thread reads rows, a validation thread turns them into posts
+ * and the calling thread writes them in batches through a {@link BatchWriter}.
+ * <p>
+ * The stages are connected by bounded queues, so a fast parser blocks instead of running ahead
+ * of the database and memory stays bounded by the queue capacities and the batch size no
+ * matter how large the input is. The first failure in any stage stops the whole pipeline;
+ * batches written before it stay committed. Given a {@link RejectReport}, rows that fail
+ * validation are skipped instead of failing the import, and reported by the writer stage just
+ * before the batch that covers them is written. Given a {@link DuplicateFilter},
+ * posts that already exist are dropped from each batch before it is written. Given an
+ * {@link ImportProgress}, the stages publish their counters to it and the import stops when it is cancelled.
+ * </p>
+ */
+public class ImportPipeline {
+
+    // Rows buffered between two stages, overridable with -Ddah.import.queueCapacity
+    public static final int DEFAULT_QUEUE_CAPACITY = Integer.getInteger("dah.import.queueCapacity", 4096);
+
+    // A row travelling through the pipeline; the post or rejection reason is set by the validation stage.
+    private static class Row {
+        private final CsvRecord record;
+        private final Post post;
+        private final String rejectReason;
+
+        private Row(CsvRecord record, Post post, String rejectReason) {
+            this.record = record;
+            this.post = post;
+            this.rejectReason = rejectReason;
+        }
+    }
+
+    private static final Row END = new Row(null, null, null);
+
+    private final RowSource source;
+    private final User user;
+    private final BatchWriter writer;
+    private final int batchSize;
+    private final RejectReport rejects;
+    private final BlockingQueue<Row> parsedRows;
+    private final BlockingQueue<Row> validatedRows;
+    private DuplicateFilter duplicateFilter;
+    private ImportProgress progress;
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+    private Thread parserThread;
+    private Thread validatorThread;
+
+    /**
+     * Constructs a pipeline.
+     *
+     * @param source        The parser stage.
+     * @param user          The importing user; rows by other authors are skipped.
+     * @param writer        The writer stage.
+     * @param batchSize     The number of rows per written batch.
+     * @param queueCapacity The number of rows buffered between two stages.
+     */
+    public ImportPipeline(RowSource source, User user, BatchWriter writer, int batchSize, int queueCapacity) {
+        this(source, user, writer, batchSize, queueCapacity, null);
+    }
+
+    /**
+     * Constructs a pipeline that skips invalid rows.
+     *
+     * @param source        The parser stage.
+     * @param user          The importing user; rows by other authors are skipped.
+     * @param writer        The writer stage.
+     * @param batchSize     The number of rows per written batch.
+     * @param queueCapacity The number of rows buffered between two stages.
+     * @param rejects       Receives the rows that fail validation, or null to fail on the first one.
+     */
+    public ImportPipeline(RowSource source, User user, BatchWriter writer, int batchSize, int queueCapacity,
+            RejectReport rejects) {
+        if (batchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Batch size and queue capacity must be at least 1.");
+        }
+        this.source = source;
+        this.user = user;
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.rejects = rejects;
+        this.parsedRows = new ArrayBlockingQueue<>(queueCapacity);
+        this.validatedRows = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * @param duplicateFilter Drops posts that already exist before each batch is written, or null to write every post.
+     */
+    public void setDuplicateFilter(DuplicateFilter duplicateFilter) {
+        this.duplicateFilter = duplicateFilter;
+    }
+
+    /**
+     * @param progress Receives the counters of the running import and can cancel it, or null.
+     */
+    public void setProgress(ImportProgress progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Runs the import to completion. The row source is closed afterwards.
+     *
+     * @return the import statistics
+     * @throws CsvLoadingException if the input can not be read or contains an invalid row, or the import was cancelled.
+     * @throws PostException if a batch can not be written.
+     */
+    public ImportStats run() throws CsvLoadingException, PostException {
+        long start = System.nanoTime();
+        parserThread = new Thread(this::parse, "import-parser");
+        validatorThread = new Thread(this::validate, "import-validator");
+        parserThread.setDaemon(true);
+        validatorThread.setDaemon(true);
+        parserThread.start();
+        validatorThread.start();
+
+        long rowsRead = 0;
+        long accepted = 0;
+        long rejected = 0;
+        long duplicates = 0;
+        long endByteOffset = 0;
+        long nextLineNumber = 0;
+        List<Post> batch = new ArrayList<>(batchSize);
+        long batchRows = 0;
+        long batchRejected = 0;
+        try {
+            while (failure.get() == null) {
+                if (progress != null && progress.isCancelled()) {
+                    fail(new CsvLoadingException("Import cancelled after " + rowsRead + " rows.", null));
+                    break;
+                }
+                Row row = validatedRows.poll(100, TimeUnit.MILLISECONDS);
+                if (row == null) {
+                    continue;
+                }
+                if (row != END) {
+                    rowsRead++;
+                    batchRows++;
+                    endByteOffset = row.record.getEndByteOffset();
+                    nextLineNumber = row.record.getNextLineNumber();
+                    if (row.rejectReason != null) {
+                        rejects.reject(row.record, row.rejectReason);
+                        batchRejected++;
+                    } else if (row.post != null) {
+                        batch.add(row.post);
+                    }
+                }
+                if (batchRows > 0 && (batchRows >= batchSize || row == END)) {
+                    List<Post> posts = duplicateFilter != null ? duplicateFilter.removeDuplicates(batch) : batch;
+                    writer.write(new ImportBatch(posts, batchRows, batchRejected, endByteOffset, nextLineNumber));
+                    if (progress != null) {
+                        progress.batchWritten(batchRows, posts.size(), endByteOffset);
+                    }
+                    accepted += posts.size();
+                    duplicates += batch.size() - posts.size();
+                    rejected += batchRejected;
+                    batch = new ArrayList<>(batchSize);
+                    batchRows = 0;
+                    batchRejected = 0;
+                }
+                if (row == END) {
+                    break;
+                }
+            }
+        } catch (PostException e) {
+            fail(e);
+        } catch (IOException e) {
+            fail(new CsvLoadingException("Error writing rejected rows: " + e.getMessage(), e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(new CsvLoadingException("Import interrupted", e));
+        } finally {
+            stop();
+        }
+
+        Exception error = failure.get();
+        if (error instanceof CsvLoadingException csvLoadingException) {
+            throw csvLoadingException;
+        } else if (error instanceof PostException postException) {
+            throw postException;
+        } else if (error != null) {
+            throw new CsvLoadingException("Error reading import file: " + error.getMessage(), error);
+        }
+
+        ImportStats stats = new ImportStats(rowsRead, accepted, rejected, duplicates, endByteOffset, System.nanoTime() - start);
+        System.out.println("Pipelined import finished: " + stats);
+        return stats;
+    }
+
+    // Parser stage
+    private void parse() {
+        try {
+            CsvRecord record;
+            while ((record = source.next()) != null) {
+                parsedRows.put(new Row(record, null, null));
+                if (progress != null) {
+                    progress.rowParsed(record.getEndByteOffset());
+                }
+            }
+            parsedRows.put(END);
+        } catch (InterruptedException e) {
+            // Stopped because another stage failed
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    // Validation stage
+    private void validate() {
+        try {
+            while (true) {
+                Row row = parsedRows.take();
+                if (row == END) {
+                    validatedRows.put(END);
+                    return;
+                }
+                validatedRows.put(validateRow(row.record));
+            }
+        } catch (InterruptedException e) {
+            // Stopped because another stage failed
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    private Row validateRow(CsvRecord record) throws CsvLoadingException {
+        try {
+            return new Row(record, CSVUtils.toPost(record, user), null);
+        } catch (CsvLoadingException e) {
+            if (rejects == null) {
+                throw e;
+            }
+            return new Row(record, null, e.getMessage() != null ? e.getMessage() : "");
+        }
+    }
+
+    // Records the first failure and stops the stage threads blocked on a queue.
+    private void fail(Exception e) {
+        if (failure.compareAndSet(null, e)) {
+            parserThread.interrupt();
+            validatorThread.interrupt();
+        }
+    }
+
+    private void stop() {
+        if (failure.get() != null) {
+            parserThread.interrupt();
+            validatorThread.interrupt();
+        }
+        try {
+            parserThread.join();
+            validatorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            source.close();
+        } catch (Exception e) {
+            System.err.println("Error closing import source: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package importer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ImportProgress is the live counterpart of {@link ImportStats}: counters that an
+ * {@link ImportPipeline} updates while it runs, readable from any thread, e.g. by a progress
+ * bar or a headless job polling it.
+ * <p>
+ * The parser stage counts the rows and bytes it has read and the writer stage the rows and
+ * bytes it has committed; each counter has a single writing thread. Throughput and the estimated
+ * time left are derived from the committed bytes, so they reflect what is actually stored.
+ * An import can be stopped with {@link #cancel()}; it then fails after the batch in progress,
+ * which stays committed, and a resumed import carries on from there.
+ * </p>
+ */
+public class ImportProgress {
+
+    /**
+     * Notified on the writer thread after every committed batch.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onProgress(ImportProgress progress);
+    }
+
+    private final Listener listener;
+    private volatile long totalBytes;
+    private volatile long startByteOffset;
+    private volatile long startNanos;
+    private volatile long rowsParsed;
+    private volatile long bytesParsed;
+    private volatile long rowsWritten;
+    private volatile long postsWritten;
+    private volatile long bytesWritten;
+    private volatile boolean cancelled;
+
+    /**
+     * Constructs progress counters without a listener, to be polled.
+     */
+    public ImportProgress() {
+        this(null);
+    }
+
+    /**
+     * @param listener Notified after every committed batch, or null.
+     */
+    public ImportProgress(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Resets the counters at the start of an import.
+     *
+     * @param totalBytes      The size of the input in bytes.
+     * @param startByteOffset The offset the import starts from; non-zero when a checkpoint is resumed.
+     */
+    public void start(long totalBytes, long startByteOffset) {
+        this.totalBytes = totalBytes;
+        this.startByteOffset = startByteOffset;
+        this.bytesParsed = startByteOffset;
+        this.bytesWritten = startByteOffset;
+        this.rowsParsed = 0;
+        this.rowsWritten = 0;
+        this.postsWritten = 0;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Requests the import to stop after the batch in progress.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() { return cancelled; }
+    public long getTotalBytes() { return totalBytes; }
+    public long getRowsParsed() { return rowsParsed; }
+    public long getBytesParsed() { return bytesParsed; }
+    public long getRowsWritten() { return rowsWritten; }
+    public long getPostsWritten() { return postsWritten; }
+    public long getBytesWritten() { return bytesWritten; }
+
+    /**
+     * @return the share of the input committed so far, from 0 to 1
+     */
+    public double getFractionDone() {
+        long total = totalBytes;
+        return total <= 0 ? 0 : Math.min(1.0, (double) bytesWritten / total);
+    }
+
+    /**
+     * @return the number of rows committed per second since the start
+     */
+    public double getRowsPerSecond() {
+        long elapsed = getElapsedNanos();
+        return elapsed == 0 ? 0 : rowsWritten * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * @return the estimated time left in milliseconds at the current throughput, or -1 before the first batch
+     */
+    public long getEtaMillis() {
+        long done = bytesWritten - startByteOffset;
+        if (done <= 0) {
+            return -1;
+        }
+        long remaining = Math.max(0, totalBytes - bytesWritten);
+        return TimeUnit.NANOSECONDS.toMillis((long) ((double) getElapsedNanos() * remaining / done));
+    }
+
+    /**
+     * @return the wall-clock time since the start in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return startNanos == 0 ? 0 : System.nanoTime() - startNanos;
+    }
+
+    // Parser side
+    void rowParsed(long endByteOffset) {
+        rowsParsed++;
+        bytesParsed = endByteOffset;
+    }
+
+    // Writer side
+    void batchWritten(long rows, long posts, long endByteOffset) {
+        rowsWritten += rows;
+        postsWritten += posts;
+        bytesWritten = endByteOffset;
+        if (listener != null) {
+            listener.onProgress(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        long eta = getEtaMillis();
+        return String.format("Progress [%.1f%%, parsed=%d, written=%d, posts=%d, bytes=%d/%d, %.0f rows/s, eta=%s]",
+                getFractionDone() * 100, rowsParsed, rowsWritten, postsWritten, bytesWritten, totalBytes, getRowsPerSecond(),
+                eta < 0 ? "unknown" : eta / 1000 + "s");
+    }
+}
@@ -0,0 +1,65 @@
+package importer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ImportStats is an immutable summary of an import run: how many rows were read,
+ * how many posts were accepted, rejected or skipped as duplicates and how fast the input was processed.
+ */
+public class ImportStats {
+
+    private final long rowsRead;
+    private final long postsAccepted;
+    private final long rowsRejected;
+    private final long duplicatesSkipped;
+    private final long bytesRead;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs an ImportStats summary.
+     *
+     * @param rowsRead          Data rows read from the input, excluding the header.
+     * @param postsAccepted     Posts passed on to the consumer.
+     * @param rowsRejected      Invalid rows skipped by a lenient import.
+     * @param duplicatesSkipped Posts skipped because they already existed.
+     * @param bytesRead         Bytes of input processed.
+     * @param elapsedNanos      Wall-clock duration of the run.
+     */
+    public ImportStats(long rowsRead, long postsAccepted, long rowsRejected, long duplicatesSkipped, long bytesRead,
+            long elapsedNanos) {
+        this.rowsRead = rowsRead;
+        this.postsAccepted = postsAccepted;
+        this.rowsRejected = rowsRejected;
+        this.duplicatesSkipped = duplicatesSkipped;
+        this.bytesRead = bytesRead;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRowsRead() { return rowsRead; }
+    public long getPostsAccepted() { return postsAccepted; }
+    public long getRowsRejected() { return rowsRejected; }
+    public long getDuplicatesSkipped() { return duplicatesSkipped; }
+    public long getBytesRead() { return bytesRead; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /**
+     * @return the number of rows read per second of wall-clock time
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsRead * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * @return the input throughput in MiB per second
+     */
+    public double getMegabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytesRead / (1024.0 * 1024.0) * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Import [rows=%d, accepted=%d, rejected=%d, duplicates=%d, bytes=%d, time=%dms, %.0f rows/s, %.1f MiB/s]",
+                rowsRead, postsAccepted, rowsRejected, duplicatesSkipped, bytesRead, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getRowsPerSecond(),
+                getMegabytesPerSecond());
+    }
+}
@@ -0,0 +1,92 @@
+package importer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import exceptions.CsvLoadingException;
+import models.Post;
+import models.User;
+import utils.CSVUtils;
+import utils.CsvRecord;
+import utils.CsvTokenizer;
+import utils.JsonLinesTokenizer;
+
+/**
+ * JsonLinesRowSource reads the posts of a JSON Lines file with a {@link JsonLinesTokenizer}.
+ * Its rows have the same columns as those of a {@link CsvRowSource}, so both go through the
+ * same validation, reject report and checkpointing in an {@link ImportPipeline}.
+ */
+public class JsonLinesRowSource implements RowSource {
+
+    private final JsonLinesTokenizer tokenizer;
+
+    /**
+     * Opens a JSON Lines file for reading.
+     *
+     * @param file The JSON Lines file, one post object per line.
+     * @throws IOException if the file can not be opened.
+     */
+    public JsonLinesRowSource(File file) throws IOException {
+        this(file, 0, 1);
+    }
+
+    /**
+     * Opens a JSON Lines file for reading from a line start part-way into it, e.g. to resume an import.
+     *
+     * @param file            The JSON Lines file, one post object per line.
+     * @param startByteOffset The byte offset of a line start, or 0 to read from the beginning.
+     * @param startLineNumber The number of the line at that offset.
+     * @throws IOException if the file can not be opened.
+     */
+    public JsonLinesRowSource(File file, long startByteOffset, long startLineNumber) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            in.getChannel().position(startByteOffset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        this.tokenizer = new JsonLinesTokenizer(new InputStreamReader(in, StandardCharsets.UTF_8),
+            CsvTokenizer.DEFAULT_BUFFER_SIZE, startByteOffset, startLineNumber);
+    }
+
+    /**
+     * Streams the posts of a JSON Lines file to a consumer, like {@link CSVUtils#readPosts(String, User, Consumer)}.
+     *
+     * @param file        The JSON Lines file.
+     * @param currentUser The user importing the file; only posts authored by this user are passed on.
+     * @param consumer    Receives the posts in file order.
+     * @return the number of posts passed to the consumer
+     * @throws CsvLoadingException if the file can not be read or has invalid content.
+     */
+    public static long readPosts(File file, User currentUser, Consumer<Post> consumer) throws CsvLoadingException {
+        try (JsonLinesRowSource source = new JsonLinesRowSource(file)) {
+            long count = 0;
+            while (source.tokenizer.nextRecord()) {
+                Post post = CSVUtils.toPost(source.tokenizer.getRecord(), currentUser);
+                if (post != null) {
+                    consumer.accept(post);
+                    count++;
+                }
+            }
+            return count;
+        } catch (IOException e) {
+            System.out.println("Error reading JSON Lines file: " + e.getMessage());
+            throw new CsvLoadingException("Error reading JSON Lines file", e);
+        }
+    }
+
+    @Override
+    public CsvRecord next() throws IOException, CsvLoadingException {
+        return tokenizer.nextRecord() ? tokenizer.getRecord().copy() : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        tokenizer.close();
+    }
+}
@@ -0,0 +1,137 @@
+package importer;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import utils.CSVUtils;
+import utils.CsvRecord;
+
+/**
+ * RejectReport collects the rows a lenient import could not accept into a CSV side file.
+ * <p>
+ * Each line holds the input line number, the reason and the original fields of the row, so the
+ * rejected rows can be fixed and imported again on their own. The file is only created once the
+ * first row is rejected, and removed on close if no row was. Not thread-safe; rows are expected to be rejected from a single thread.
+ * </p>
+ * <p>
+ * A resumable import stores the length returned by {@link #flush()} in its checkpoint. Resuming
+ * with that length cuts off the rows reported after the checkpoint, as they are read again.
+ * </p>
+ */
+public class RejectReport implements Closeable {
+
+    private static final String HEADER = "line,reason,ID,content,author,likes,shares,date-time";
+
+    private final File file;
+    private final long resumeLength;
+    private BufferedWriter writer;
+    private long rejected;
+
+    /**
+     * Constructs a report that writes to the given file, replacing it if it exists.
+     *
+     * @param file The side file for rejected rows.
+     */
+    public RejectReport(File file) {
+        this(file, 0);
+    }
+
+    /**
+     * Constructs a report that continues the report of an earlier run, e.g. when an import is resumed.
+     *
+     * @param file         The side file for rejected rows.
+     * @param resumeLength The length of the earlier report to keep, as returned by {@link #flush()};
+     *                     0 to replace it, or a negative value to keep all of it.
+     */
+    public RejectReport(File file, long resumeLength) {
+        this.file = file;
+        this.resumeLength = resumeLength;
+    }
+
+    /**
+     * @param importFile The file being imported.
+     * @return the default side file for the rows rejected from the given import file
+     */
+    public static File defaultFileFor(File importFile) {
+        return new File(importFile.getPath() + ".rejects.csv");
+    }
+
+    /**
+     * Records a rejected row.
+     *
+     * @param record The rejected row.
+     * @param reason Why the row was rejected.
+     * @throws IOException if the side file can not be written.
+     */
+    public void reject(CsvRecord record, String reason) throws IOException {
+        if (writer == null) {
+            boolean continued = resumeLength != 0 && truncateToResumeLength();
+            writer = continued
+                ? Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+            if (!continued) {
+                writer.write(HEADER);
+                writer.write('\n');
+            }
+        }
+        writer.write(String.valueOf(record.getLineNumber()));
+        writer.write(',');
+        writer.write(CSVUtils.escapeField(reason == null ? "" : reason));
+        for (int i = 0; i < record.size(); i++) {
+            writer.write(',');
+            writer.write(CSVUtils.escapeField(record.get(i)));
+        }
+        writer.write('\n');
+        rejected++;
+    }
+
+    /**
+     * Writes the rows rejected so far to the side file.
+     *
+     * @return the length of the report, to resume it from
+     * @throws IOException if the side file can not be written.
+     */
+    public long flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+            return file.length();
+        }
+        return resumeLength < 0 ? file.length() : Math.min(resumeLength, file.length());
+    }
+
+    public File getFile() { return file; }
+    public long getRejectedCount() { return rejected; }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            System.out.println("Rejected " + rejected + " rows, see " + file.getPath());
+        } else if (resumeLength == 0) {
+            // Nothing rejected; do not leave the report of an earlier run behind
+            Files.deleteIfExists(file.toPath());
+        } else {
+            truncateToResumeLength();
+        }
+    }
+
+    // Cuts the earlier report back to its resume length. Returns whether there is a report to continue.
+    private boolean truncateToResumeLength() throws IOException {
+        long length = file.length();
+        if (length == 0) {
+            return false;
+        }
+        if (resumeLength > 0 && length > resumeLength) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(resumeLength);
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import exceptions.CsvLoadingException;
+import utils.CsvRecord;
+
+/**
+ * RowSource is the parser stage of an {@link ImportPipeline}: it reads the data rows of an
+ * import file one at a time, without the header.
+ */
+public interface RowSource extends Closeable {
+
+    /**
+     * Reads the next data row. The returned record is owned by the caller and may be handed to another thread.
+     *
+     * @return the next row, or null at the end of the input
+     * @throws IOException if the input can not be read.
+     * @throws CsvLoadingException if the input is malformed.
+     */
+    CsvRecord next() throws IOException, CsvLoadingException;
+}
@@ -1,10 +1,13 @@
 package main;
 
+import java.util.concurrent.TimeUnit;
+
 import controllers.PostController;
 import controllers.UserController;
 import database.DBManager;
 import javafx.application.Application;
 import javafx.stage.Stage;
+import services.ServiceExecutor;
 import views.EntryView;
 
 /**
@@ -15,6 +18,7 @@ import views.EntryView;
 public class Main extends Application {
 	
 	private DBManager dbManager;
+	private ServiceExecutor serviceExecutor;
 	
 	 /**
      * The start method initializes the application.
@@ -30,8 +34,10 @@ public class Main extends Application {
         	
         	// Ensure only one DBManager instance throughout the app's lifetime.
         	dbManager = DBManager.getInstance();
-        	UserController userController = new UserController(dbManager);
-        	PostController postController = new PostController(dbManager);
+        	// One executor limits the asynchronous service calls of both controllers together
+        	serviceExecutor = new ServiceExecutor();
+        	UserController userController = new UserController(dbManager, serviceExecutor);
+        	PostController postController = new PostController(dbManager, serviceExecutor);
              
         	// Launch the EntryView
             new EntryView(primaryStage, userController, postController);
@@ -53,6 +59,14 @@ public class Main extends Application {
     public void stop() {
     	System.out.println("Closing application...");
     	
+    	if (serviceExecutor != null) {
+    		// Let running service calls finish before their connections are closed
+    		try {
+    			serviceExecutor.shutdown(10, TimeUnit.SECONDS);
+    		} catch (InterruptedException e) {
+    			Thread.currentThread().interrupt();
+    		}
+    	}
         if (dbManager != null) {
             dbManager.close();
         }
@@ -0,0 +1,101 @@
+package models;
+
+import enums.ImportJobStatus;
+
+/**
+ * ImportJob represents one pipelined CSV import and its checkpoint: how far into the file
+ * the committed batches reach and how many rows they covered.
+ * The checkpoint is what lets an interrupted import resume instead of starting over.
+ */
+public class ImportJob {
+
+    private int jobId;
+    private int userId;
+    private String filePath;
+    private long fileSize;      // Size and modification time identify the version of the file
+    private long fileModified;
+    private long byteOffset;    // Start of the first row not yet committed
+    private long lineNumber;    // Line on which that row starts
+    private long rowsRead;
+    private long postsAccepted;
+    private long rowsRejected;
+    private long rejectReportLength;    // Length of the reject report covering the committed rows, negative if unknown
+    private ImportJobStatus status;
+
+    /**
+     * Constructs a new job that starts at the beginning of the file.
+     */
+    public ImportJob(int userId, String filePath, long fileSize, long fileModified) {
+        this.userId = userId;
+        this.filePath = filePath;
+        this.fileSize = fileSize;
+        this.fileModified = fileModified;
+        this.lineNumber = 1;
+        this.status = ImportJobStatus.In_progress;
+    }
+
+    /**
+     * Constructs a job with all attributes, as stored in the database.
+     */
+    public ImportJob(int jobId, int userId, String filePath, long fileSize, long fileModified, long byteOffset,
+            long lineNumber, long rowsRead, long postsAccepted, long rowsRejected, long rejectReportLength,
+            ImportJobStatus status) {
+        this(userId, filePath, fileSize, fileModified);
+        this.jobId = jobId;
+        this.byteOffset = byteOffset;
+        this.lineNumber = lineNumber;
+        this.rowsRead = rowsRead;
+        this.postsAccepted = postsAccepted;
+        this.rowsRejected = rowsRejected;
+        this.rejectReportLength = rejectReportLength;
+        this.status = status;
+    }
+
+    /**
+     * Moves the checkpoint past a batch of rows.
+     *
+     * @param rows           Rows covered by the batch.
+     * @param accepted       Posts written from the batch.
+     * @param rejected       Rows of the batch rejected as invalid.
+     * @param byteOffset     The byte offset just past the batch.
+     * @param nextLineNumber The line on which the input following the batch starts.
+     * @param rejectReportLength The length of the reject report once the rejected rows of the batch are in it.
+     */
+    public void advance(long rows, long accepted, long rejected, long byteOffset, long nextLineNumber,
+            long rejectReportLength) {
+        this.rowsRead += rows;
+        this.postsAccepted += accepted;
+        this.rowsRejected += rejected;
+        this.byteOffset = byteOffset;
+        this.lineNumber = nextLineNumber;
+        this.rejectReportLength = rejectReportLength;
+    }
+
+    /**
+     * @return whether the job has committed rows it can resume after
+     */
+    public boolean hasCheckpoint() {
+        return byteOffset > 0;
+    }
+
+    public int getJobId() { return jobId; }
+    public void setJobId(int jobId) { this.jobId = jobId; }
+    public int getUserId() { return userId; }
+    public String getFilePath() { return filePath; }
+    public long getFileSize() { return fileSize; }
+    public long getFileModified() { return fileModified; }
+    public long getByteOffset() { return byteOffset; }
+    public long getLineNumber() { return lineNumber; }
+    public long getRowsRead() { return rowsRead; }
+    public long getPostsAccepted() { return postsAccepted; }
+    public long getRowsRejected() { return rowsRejected; }
+    public long getRejectReportLength() { return rejectReportLength; }
+    public ImportJobStatus getStatus() { return status; }
+    public void setStatus(ImportJobStatus status) { this.status = status; }
+
+    @Override
+    public String toString() {
+        return "ImportJob [jobId=" + jobId + ", filePath=" + filePath + ", line=" + lineNumber + ", rowsRead=" + rowsRead
+                + ", postsAccepted=" + postsAccepted + ", rowsRejected=" + rowsRejected + ", status=" + status + "]";
+    }
+}
@@ -2,6 +2,7 @@ package models;
 
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
 /**
@@ -49,12 +50,29 @@ public class Post extends Auditable {
         this.likes = likes;
         this.shares = shares;
         this.userId = userId;
-        // Check if the string is in ISO format
-        if (dateTimeStr.contains("T")) {
-            this.dateTime = LocalDateTime.parse(dateTimeStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        } else {
-            this.dateTime = LocalDateTime.parse(dateTimeStr, formatter);
-        }
+        // Accepts both the ISO format and the d/MM/yyyy HH:mm format
+        this.dateTime = parseDateTime(dateTimeStr);
+    }
+    
+    /**
+     * Constructor for rebuilding a Post from already parsed values, e.g. a database row.
+     *
+     * @param postId   Unique identifier for the post.
+     * @param content  Text content of the post.
+     * @param author   Author or user who created the post.
+     * @param likes    Count of likes the post received.
+     * @param shares   Count of times the post was shared.
+     * @param dateTime When the post was created or published.
+     * @param userId   ID of the user owning the post.
+     */
+    public Post(int postId, String content, String author, int likes, int shares, LocalDateTime dateTime, int userId) {
+        this.postId = postId;
+        this.content = content;
+        this.author = author;
+        this.likes = likes;
+        this.shares = shares;
+        this.dateTime = dateTime;
+        this.userId = userId;
     }
     
     // Constructor without PostID
@@ -64,12 +82,8 @@ public class Post extends Auditable {
         this.likes = likes;
         this.shares = shares;
         this.userId = userId;
-        // Check if the string is in ISO format
-        if (dateTimeStr.contains("T")) {
-            this.dateTime = LocalDateTime.parse(dateTimeStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        } else {
-            this.dateTime = LocalDateTime.parse(dateTimeStr, formatter);
-        }
+        // Accepts both the ISO format and the d/MM/yyyy HH:mm format
+        this.dateTime = parseDateTime(dateTimeStr);
     }
 
     // Getter methods to access the private attributes of the Post class:
@@ -90,6 +104,92 @@ public class Post extends Auditable {
     public void setUserId(int userId) { this.userId = userId; }
     public void setDateTime(String dateTimeStr) { this.dateTime = LocalDateTime.parse(dateTimeStr, formatter); }
 
+    /**
+     * Post dates are wall-clock times without a zone. They are stored as epoch milliseconds of
+     * that wall-clock time read as UTC, which keeps the value stable regardless of the machine's
+     * time zone and daylight saving rules.
+     *
+     * @return the post date as epoch milliseconds
+     */
+    public long getEpochMillis() {
+        return toEpochMillis(dateTime);
+    }
+
+    /**
+     * @param dateTime a wall-clock date-time
+     * @return the date-time as epoch milliseconds, read as UTC
+     */
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * @param epochMillis epoch milliseconds as produced by {@link #toEpochMillis(LocalDateTime)}
+     * @return the wall-clock date-time
+     */
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L), (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * @return the hash of the post content, stored in the indexed ContentHash column for duplicate lookups
+     */
+    public long getContentHash() {
+        return contentHash(content);
+    }
+
+    /**
+     * @return the natural key of the post, see {@link #duplicateKey(String, long, long)}
+     */
+    public long getDuplicateKey() {
+        return duplicateKey(author, getContentHash(), getEpochMillis());
+    }
+
+    /**
+     * Folds the natural key of a post (author, content hash, date) into 64 bits for duplicate pre-checks.
+     * Equal posts always have equal keys; equal keys only suggest equal posts.
+     *
+     * @param author      the post author
+     * @param contentHash the hash of the post content, see {@link #contentHash(String)}
+     * @param epochMillis the post date as epoch milliseconds
+     * @return the key
+     */
+    public static long duplicateKey(String author, long contentHash, long epochMillis) {
+        long key = contentHash;
+        key = 31 * key + (author == null ? 0 : author.hashCode());
+        key = 31 * key + epochMillis;
+        return key;
+    }
+
+    /**
+     * Hashes post content with 64-bit FNV-1a. The value is persisted, so the function must never change;
+     * equal hashes do not prove equal content.
+     *
+     * @param content the post content
+     * @return the content hash
+     */
+    public static long contentHash(String content) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < content.length(); i++) {
+            hash ^= content.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Parses the date formats accepted by the Post constructors: ISO-8601 or d/MM/yyyy HH:mm.
+     *
+     * @param dateTimeStr the date-time text
+     * @return the parsed date-time
+     */
+    public static LocalDateTime parseDateTime(String dateTimeStr) {
+        if (dateTimeStr.contains("T")) {
+            return LocalDateTime.parse(dateTimeStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+        return LocalDateTime.parse(dateTimeStr, formatter);
+    }
+
     /**
      * Provides a custom string representation of the Post object.
      * Useful for printing post details in a readable format.
@@ -0,0 +1,60 @@
+package models;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import enums.SortBy;
+
+/**
+ * Represents one page of a keyset-paginated post listing.
+ * The last post of a page is the key from which the next page continues.
+ */
+public class PostPage {
+
+    // Posts of this page, in listing order
+    private final List<Post> posts;
+
+    // Whether more posts follow this page
+    private final boolean hasMore;
+
+    /**
+     * Constructor for creating a new PostPage object.
+     *
+     * @param posts   Posts of this page, in listing order.
+     * @param hasMore Whether more posts follow this page.
+     */
+    public PostPage(List<Post> posts, boolean hasMore) {
+        this.posts = Collections.unmodifiableList(posts);
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * @param sortBy The sort order of a listing.
+     * @return the order of the listing's pages: descending by the sort key, then by PostID
+     */
+    public static Comparator<Post> listingOrder(SortBy sortBy) {
+        Comparator<Post> byKey;
+        switch (sortBy) {
+            case By_Likes:
+                byKey = Comparator.comparingInt(Post::getLikes);
+                break;
+            case By_Shares:
+                byKey = Comparator.comparingInt(Post::getShares);
+                break;
+            default:
+                byKey = Comparator.comparingLong(Post::getEpochMillis);
+        }
+        return byKey.thenComparingInt(Post::getPostId).reversed();
+    }
+
+    public List<Post> getPosts() { return posts; }
+    public boolean hasMore() { return hasMore; }
+
+    /**
+     * @return the last post of this page, to be passed as the key of the next page, or null if the page is empty
+     */
+    public Post getLastPost() {
+        return posts.isEmpty() ? null : posts.get(posts.size() - 1);
+    }
+}
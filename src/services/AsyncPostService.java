@@ -0,0 +1,168 @@
+package services;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import enums.CommitMode;
+import enums.ErrorMode;
+import enums.ServiceResource;
+import enums.SortBy;
+import importer.ImportProgress;
+import importer.ImportStats;
+import models.Post;
+import models.PostPage;
+import models.User;
+
+/**
+ * AsyncPostService dispatches the calls of a {@link PostService} onto a {@link ServiceExecutor}.
+ * Every method returns at once; the future completes with the service's result, or exceptionally
+ * with a {@link java.util.concurrent.CompletionException} whose cause is the
+ * {@link exceptions.PostException} the service threw.
+ * <p>
+ * Queries, exports and snapshots are limited as database readers, everything that changes posts,
+ * including imports, as the database writer.
+ * </p>
+ */
+public class AsyncPostService {
+
+    private final PostService postService;
+    private final ServiceExecutor executor;
+
+    /**
+     * @param postService The blocking service doing the work.
+     * @param executor    The executor running the calls.
+     */
+    public AsyncPostService(PostService postService, ServiceExecutor executor) {
+        this.postService = postService;
+        this.executor = executor;
+    }
+
+    /**
+     * @see PostService#addPost(Post)
+     */
+    public CompletableFuture<Boolean> addPost(Post post) {
+        return executor.submit(ServiceResource.Db_writer, () -> postService.addPost(post));
+    }
+
+    /**
+     * @see PostService#deletePost(Post)
+     */
+    public CompletableFuture<Boolean> deletePost(Post post) {
+        return executor.submit(ServiceResource.Db_writer, () -> postService.deletePost(post));
+    }
+
+    /**
+     * @see PostService#updatePost(Post)
+     */
+    public CompletableFuture<Boolean> updatePost(Post post) {
+        return executor.submit(ServiceResource.Db_writer, () -> postService.updatePost(post));
+    }
+
+    /**
+     * @see PostService#getPostByID(int)
+     */
+    public CompletableFuture<Post> getPostByID(int postID) {
+        return executor.submit(ServiceResource.Db_reader, () -> postService.getPostByID(postID));
+    }
+
+    /**
+     * @see PostService#getTopNPostsByShares(int, User)
+     */
+    public CompletableFuture<List<Post>> getTopNPostsByShares(int n, User user) {
+        return executor.submit(ServiceResource.Db_reader, () -> postService.getTopNPostsByShares(n, user));
+    }
+
+    /**
+     * @see PostService#getTopNPostsByLikes(int, User)
+     */
+    public CompletableFuture<List<Post>> getTopNPostsByLikes(int n, User user) {
+        return executor.submit(ServiceResource.Db_reader, () -> postService.getTopNPostsByLikes(n, user));
+    }
+
+    /**
+     * @see PostService#getPostsByUser(User)
+     */
+    public CompletableFuture<List<Post>> getPostsByUser(User user) {
+        return executor.submit(ServiceResource.Db_reader, () -> postService.getPostsByUser(user));
+    }
+
+    /**
+     * @see PostService#getPostsByDateRange(LocalDateTime, LocalDateTime, User)
+     */
+    public CompletableFuture<List<Post>> getPostsByDateRange(LocalDateTime from, LocalDateTime to, User user) {
+        return executor.submit(ServiceResource.Db_reader, () -> postService.getPostsByDateRange(from, to, user));
+    }
+
+    /**
+     * @see PostService#getAllPosts()
+     */
+    public CompletableFuture<List<Post>> getAllPosts() {
+        return executor.submit(ServiceResource.Db_reader, postService::getAllPosts);
+    }
+
+    /**
+     * Streams posts like {@link PostService#forEachPost(User, Consumer)}; the action runs on the executor's thread.
+     */
+    public CompletableFuture<Long> forEachPost(User user, Consumer<Post> action) {
+        return executor.submit(ServiceResource.Db_reader, () -> postService.forEachPost(user, action));
+    }
+
+    /**
+     * @see PostService#getPostsPage(SortBy, User, Post, int)
+     */
+    public CompletableFuture<PostPage> getPostsPage(SortBy sortBy, User user, Post after, int pageSize) {
+        return executor.submit(ServiceResource.Db_reader, () -> postService.getPostsPage(sortBy, user, after, pageSize));
+    }
+
+    /**
+     * @see PostService#getSharesHistogram(User, int...)
+     */
+    public CompletableFuture<long[]> getSharesHistogram(User user, int... boundaries) {
+        return executor.submit(ServiceResource.Db_reader, () -> postService.getSharesHistogram(user, boundaries));
+    }
+
+    /**
+     * @see PostService#addBulkPosts(List)
+     */
+    public CompletableFuture<Boolean> addBulkPosts(List<Post> posts) {
+        return executor.submit(ServiceResource.Db_writer, () -> postService.addBulkPosts(posts));
+    }
+
+    /**
+     * @see PostService#addBulkPosts(List, int, CommitMode)
+     */
+    public CompletableFuture<List<Integer>> addBulkPosts(List<Post> posts, int chunkSize, CommitMode commitMode) {
+        return executor.submit(ServiceResource.Db_writer, () -> postService.addBulkPosts(posts, chunkSize, commitMode));
+    }
+
+    /**
+     * @see PostService#exportPosts(User, File, boolean)
+     */
+    public CompletableFuture<Long> exportPosts(User user, File file, boolean gzip) {
+        return executor.submit(ServiceResource.Db_reader, () -> postService.exportPosts(user, file, gzip));
+    }
+
+    /**
+     * @see PostService#writePostSnapshot(User, File)
+     */
+    public CompletableFuture<Long> writePostSnapshot(User user, File file) {
+        return executor.submit(ServiceResource.Db_reader, () -> postService.writePostSnapshot(user, file));
+    }
+
+    /**
+     * @see PostService#removeDuplicatePosts(List, User)
+     */
+    public CompletableFuture<List<Post>> removeDuplicatePosts(List<Post> posts, User user) {
+        return executor.submit(ServiceResource.Db_reader, () -> postService.removeDuplicatePosts(posts, user));
+    }
+
+    /**
+     * @see PostService#importPosts(File, User, ErrorMode, ImportProgress)
+     */
+    public CompletableFuture<ImportStats> importPosts(File file, User user, ErrorMode errorMode, ImportProgress progress) {
+        return executor.submit(ServiceResource.Db_writer, () -> postService.importPosts(file, user, errorMode, progress));
+    }
+}
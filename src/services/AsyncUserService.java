@@ -0,0 +1,87 @@
+package services;
+
+import java.util.concurrent.CompletableFuture;
+
+import enums.ServiceResource;
+import models.User;
+
+/**
+ * AsyncUserService dispatches the calls of a {@link UserService} onto a {@link ServiceExecutor}.
+ * Every method returns at once; the future completes with the service's result, or exceptionally
+ * with a {@link java.util.concurrent.CompletionException} whose cause is the
+ * {@link exceptions.UserException} the service threw.
+ * <p>
+ * Registration, login and password changes are limited as password hashing, which takes far longer
+ * than their single-row query; the connection pool still bounds their database access.
+ * </p>
+ */
+public class AsyncUserService {
+
+    private final UserService userService;
+    private final ServiceExecutor executor;
+
+    /**
+     * @param userService The blocking service doing the work.
+     * @param executor    The executor running the calls.
+     */
+    public AsyncUserService(UserService userService, ServiceExecutor executor) {
+        this.userService = userService;
+        this.executor = executor;
+    }
+
+    /**
+     * @see UserService#registerUser(String, String, String, String)
+     */
+    public CompletableFuture<Boolean> registerUser(String username, String password, String firstName, String lastName) {
+        return executor.submit(ServiceResource.Cpu_hashing, () -> userService.registerUser(username, password, firstName, lastName));
+    }
+
+    /**
+     * @see UserService#loginUser(String, String)
+     */
+    public CompletableFuture<User> loginUser(String username, String password) {
+        return executor.submit(ServiceResource.Cpu_hashing, () -> userService.loginUser(username, password));
+    }
+
+    /**
+     * @see UserService#updateUserProfile(User)
+     */
+    public CompletableFuture<Boolean> updateUserProfile(User user) {
+        return executor.submit(ServiceResource.Db_writer, () -> userService.updateUserProfile(user));
+    }
+
+    /**
+     * @see UserService#updateUserPassword(User, String)
+     */
+    public CompletableFuture<Boolean> updateUserPassword(User user, String newPassword) {
+        return executor.submit(ServiceResource.Cpu_hashing, () -> userService.updateUserPassword(user, newPassword));
+    }
+
+    /**
+     * @see UserService#usernameExists(String)
+     */
+    public CompletableFuture<Boolean> usernameExists(String username) {
+        return executor.submit(ServiceResource.Db_reader, () -> userService.usernameExists(username));
+    }
+
+    /**
+     * @see UserService#getHashedPassword(int)
+     */
+    public CompletableFuture<String> getHashedPassword(int userId) {
+        return executor.submit(ServiceResource.Db_reader, () -> userService.getHashedPassword(userId));
+    }
+
+    /**
+     * @see UserService#upgradeToVIP(User)
+     */
+    public CompletableFuture<Boolean> upgradeToVIP(User user) {
+        return executor.submit(ServiceResource.Db_writer, () -> userService.upgradeToVIP(user));
+    }
+
+    /**
+     * @see UserService#degradeToStandard(User)
+     */
+    public CompletableFuture<Boolean> degradeToStandard(User user) {
+        return executor.submit(ServiceResource.Db_writer, () -> userService.degradeToStandard(user));
+    }
+}
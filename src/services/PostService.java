@@ -1,10 +1,21 @@
 package services;
 
+import java.io.File;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+import enums.CommitMode;
+import enums.ErrorMode;
+import enums.SortBy;
+import events.PostEventBus;
 import exceptions.PostException;
+import importer.ImportProgress;
+import importer.ImportStats;
 import models.Post;
+import models.PostPage;
 import models.User;
+import utils.CacheStats;
 
 /**
  * Interface defining the contract for services related to the Post entity.
@@ -68,6 +79,17 @@ public interface PostService {
      */
     List<Post> getPostsByUser(User user) throws PostException;
 
+    /**
+     * Fetches the posts dated within a time range, newest first.
+     * 
+     * @param from Start of the range, inclusive.
+     * @param to   End of the range, exclusive.
+     * @param user The user whose posts are to be fetched, or null for all users.
+     * @return List of posts in the range.
+     * @throws PostException if there's an error during the fetch operation.
+     */
+    List<Post> getPostsByDateRange(LocalDateTime from, LocalDateTime to, User user) throws PostException;
+
     /**
      * Updates a specific post.
      * 
@@ -85,6 +107,54 @@ public interface PostService {
      */
     List<Post> getAllPosts() throws PostException;
 
+    /**
+     * Gets the bus on which the service announces every committed add, update, delete and bulk
+     * add of posts, including the batches of an import.
+     * 
+     * @return the post event bus.
+     */
+    PostEventBus getEventBus();
+
+    /**
+     * Gets the counters of the cache serving {@link #getPostByID(int)}.
+     * 
+     * @return a snapshot of the post cache statistics.
+     */
+    CacheStats getPostCacheStats();
+
+    /**
+     * Streams posts to a callback one at a time without loading them all into memory.
+     * 
+     * @param user   The user whose posts are to be streamed, or null for all posts.
+     * @param action Called for every post, in PostID order.
+     * @return the number of posts streamed
+     * @throws PostException if there's an error during the scan or in the action.
+     */
+    long forEachPost(User user, Consumer<Post> action) throws PostException;
+
+    /**
+     * Fetches one page of posts in descending order of the given sort key.
+     * 
+     * @param sortBy   The sort order of the listing.
+     * @param user     The user whose posts are to be listed, or null for all posts.
+     * @param after    The last post of the previous page, or null for the first page.
+     * @param pageSize The maximum number of posts in the page.
+     * @return the page of posts.
+     * @throws PostException if there's an error during the fetch operation.
+     */
+    PostPage getPostsPage(SortBy sortBy, User user, Post after, int pageSize) throws PostException;
+
+    /**
+     * Counts posts per shares range without loading them.
+     * Bucket i holds the posts with boundaries[i] &lt;= shares &lt; boundaries[i + 1], the last bucket is open ended.
+     * 
+     * @param user       The user whose posts are counted, or null for all posts.
+     * @param boundaries The strictly ascending lower bounds of the buckets.
+     * @return the number of posts in each bucket.
+     * @throws PostException if there's an error during the count.
+     */
+    long[] getSharesHistogram(User user, int... boundaries) throws PostException;
+
     /**
      * Adds multiple posts in bulk.
      * 
@@ -93,4 +163,79 @@ public interface PostService {
      * @throws PostException if there's an error during the bulk addition.
      */
     boolean addBulkPosts(List<Post> posts) throws PostException;
+
+    /**
+     * Adds multiple posts in bulk using batched inserts with the given chunk size and commit semantics.
+     * 
+     * @param posts List of posts to be added.
+     * @param chunkSize The number of rows written per batch.
+     * @param commitMode Whether the whole list or each chunk is committed atomically.
+     * @return the generated PostIDs, in the order of the given posts.
+     * @throws PostException if there's an error during the bulk addition.
+     */
+    List<Integer> addBulkPosts(List<Post> posts, int chunkSize, CommitMode commitMode) throws PostException;
+
+    /**
+     * Exports posts to a CSV file, or a JSON Lines file when its name ends with .jsonl or .ndjson,
+     * streaming them from the database in constant memory.
+     * 
+     * @param user The user whose posts are exported, or null for all posts.
+     * @param file The export file; replaced if it exists.
+     * @param gzip Whether to GZIP compress the file.
+     * @return the number of posts exported.
+     * @throws PostException if there's an error during the query or while writing the file.
+     */
+    long exportPosts(User user, File file, boolean gzip) throws PostException;
+
+    /**
+     * Writes posts to a binary, column-oriented snapshot file that analytics can memory-map
+     * with {@link snapshot.PostSnapshot#open(File)} instead of querying the database.
+     * 
+     * @param user The user whose posts are written, or null for all posts.
+     * @param file The snapshot file; replaced once the snapshot is complete, left untouched if writing fails.
+     * @return the number of posts written.
+     * @throws PostException if there's an error during the query or while writing the file.
+     */
+    long writePostSnapshot(User user, File file) throws PostException;
+
+    /**
+     * Removes the posts that already exist, by author, content and date, or repeat an earlier post of the list.
+     * 
+     * @param posts The posts about to be imported.
+     * @param user  The importing user, who authored the posts.
+     * @return the new posts, in the given order.
+     * @throws PostException if there's an error during the check.
+     */
+    List<Post> removeDuplicatePosts(List<Post> posts, User user) throws PostException;
+
+    /**
+     * Imports posts from a CSV file, or a JSON Lines file when its name ends with .jsonl or .ndjson, straight into the database, parsing, validating and writing
+     * in overlapping stages so that memory use does not grow with the file size.
+     * Each batch is committed on its own; batches written before a failure stay imported.
+     * Posts that already exist are skipped, and an interrupted import of the same file resumes
+     * after its last committed batch.
+     * 
+     * @param file      The CSV or JSON Lines file to import.
+     * @param user      The importing user; rows by other authors are skipped.
+     * @param errorMode Whether an invalid row aborts the import or is written to the reject
+     *                  report next to the file (see {@link importer.RejectReport#defaultFileFor}).
+     * @return the import statistics.
+     * @throws PostException if the file is invalid or a batch can not be written.
+     */
+    ImportStats importPosts(File file, User user, ErrorMode errorMode) throws PostException;
+
+    /**
+     * Imports posts like {@link #importPosts(File, User, ErrorMode)}, publishing the rows and bytes
+     * parsed and written, the throughput and the time left to the given progress as the import runs.
+     * Cancelling the progress stops the import after the batch in progress; importing the file
+     * again resumes it.
+     * 
+     * @param file      The CSV or JSON Lines file to import.
+     * @param user      The importing user; rows by other authors are skipped.
+     * @param errorMode Whether an invalid row aborts the import or is written to the reject report.
+     * @param progress  Receives the live counters and can cancel the import, or null.
+     * @return the import statistics.
+     * @throws PostException if the file is invalid, a batch can not be written or the import was cancelled.
+     */
+    ImportStats importPosts(File file, User user, ErrorMode errorMode, ImportProgress progress) throws PostException;
 }
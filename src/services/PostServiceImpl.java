@@ -1,12 +1,43 @@
 package services;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import database.DBManager;
+import database.ImportJobDAO;
 import database.PostDAO;
+import enums.CommitMode;
+import enums.ErrorMode;
+import enums.ImportJobStatus;
+import enums.PostEventType;
+import enums.SortBy;
+import exporter.PostExporter;
+import events.PostEvent;
+import events.PostEventBus;
 import exceptions.PostException;
+import importer.CsvRowSource;
+import importer.DuplicateFilter;
+import importer.ImportPipeline;
+import importer.ImportProgress;
+import importer.ImportStats;
+import importer.JsonLinesRowSource;
+import importer.RejectReport;
+import importer.RowSource;
+import models.ImportJob;
 import models.Post;
+import models.PostPage;
 import models.User;
+import snapshot.PostSnapshotWriter;
+import utils.CacheStats;
+import utils.JsonLinesTokenizer;
+import utils.LruCache;
 
 /**
  * This class provides an implementation for the PostService interface.
@@ -14,7 +45,33 @@ import models.User;
  */
 public class PostServiceImpl implements PostService {
 	
+	// Number of rows written per JDBC batch by addBulkPosts, overridable with -Ddah.import.chunkSize
+	public static final int DEFAULT_BULK_CHUNK_SIZE = Integer.getInteger("dah.import.chunkSize", 1000);
+	
+	// Smallest plausible CSV row in bytes, used to estimate the posts left in an import file
+	private static final int MIN_IMPORT_ROW_BYTES = 32;
+	
+	// Most imported posts the duplicate filter reserves room for up front, overridable with -Ddah.import.filterHeadroom;
+	// the filter grows if a file brings more
+	public static final long DEFAULT_FILTER_HEADROOM = Long.getLong("dah.import.filterHeadroom", 100_000L);
+	
+	// Posts kept by the getPostByID cache, overridable with -Ddah.cache.posts.size (0 disables it)
+	public static final int DEFAULT_POST_CACHE_SIZE = Integer.getInteger("dah.cache.posts.size", 1000);
+	
+	// Time a cached post stays valid, overridable with -Ddah.cache.posts.ttlMs
+	public static final long DEFAULT_POST_CACHE_TTL_MILLIS = Long.getLong("dah.cache.posts.ttlMs", 60_000L);
+	
+	// Import jobs running in this process; a job left In_progress by a stopped process is not among them
+	private static final Set<Integer> RUNNING_JOB_IDS = ConcurrentHashMap.newKeySet();
+	
 	private PostDAO postDAO;
+	private ImportJobDAO importJobDAO;
+	
+	// Read-through cache of getPostByID, invalidated by every write of a post
+	private LruCache<Integer, Post> postCache;
+	
+	// Announces every committed write of a post
+	private PostEventBus eventBus;
 	
 	/**
      * Constructor initializes the PostDAO object.
@@ -22,14 +79,29 @@ public class PostServiceImpl implements PostService {
      * @param dbManager The database manager instance for database operations.
      */
     public PostServiceImpl(DBManager dbManager) {
+        this(dbManager, PostEventBus.getInstance());
+    }
+    
+    /**
+     * Constructor initializes the PostDAO object and publishes changes on the given bus.
+     *
+     * @param dbManager The database manager instance for database operations.
+     * @param eventBus The bus announcing added, updated and deleted posts.
+     */
+    public PostServiceImpl(DBManager dbManager, PostEventBus eventBus) {
         this.postDAO = new PostDAO(dbManager);
+        this.importJobDAO = new ImportJobDAO(dbManager);
+        this.postCache = new LruCache<>("Post", DEFAULT_POST_CACHE_SIZE, DEFAULT_POST_CACHE_TTL_MILLIS);
+        this.eventBus = eventBus;
     }
 
     @Override
     public boolean addPost(Post post) throws PostException {
     	try {
             postDAO.addPost(post);
+            postCache.invalidate(post.getPostId());
             System.out.println("Successfully added post: " + post.toString());
+            eventBus.publish(new PostEvent(PostEventType.Added, post, null));
             return true;
         } catch (Exception e) {
             System.err.println("Error adding post: " + e.getMessage());
@@ -41,7 +113,9 @@ public class PostServiceImpl implements PostService {
     public boolean deletePost(Post post) throws PostException {
     	try {
             postDAO.deletePost(post.getPostId());
+            postCache.invalidate(post.getPostId());
             System.out.println("Successfully deleted post with ID: " + post.getPostId());
+            eventBus.publish(new PostEvent(PostEventType.Deleted, post, null));
             return true;
         } catch (Exception e) {
             System.err.println("Error deleting post: " + e.getMessage());
@@ -52,7 +126,13 @@ public class PostServiceImpl implements PostService {
 	@Override
 	public Post getPostByID(int postID) throws PostException {
 		try {
-            return postDAO.getPostByID(postID);
+            Post post = postCache.get(postID);
+            if (post == null) {
+                long generation = postCache.getGeneration();
+                post = postDAO.getPostByID(postID);
+                postCache.put(postID, post, generation);
+            }
+            return post;
         } catch (Exception e) {
             System.err.println("Error fetching post by ID: " + e.getMessage());
             throw new PostException("Failed to fetch post by ID.", e);
@@ -97,11 +177,25 @@ public class PostServiceImpl implements PostService {
         }
 	}
 	
+	@Override
+	public List<Post> getPostsByDateRange(LocalDateTime from, LocalDateTime to, User user) throws PostException {
+		try {
+            return postDAO.getPostsByDateRange(from, to, user);
+        } catch (Exception e) {
+            System.err.println("Error fetching posts by date range: " + e.getMessage());
+            throw new PostException("Failed to fetch posts by date range.", e);
+        }
+	}
+	
 	@Override
 	public boolean updatePost(Post post) throws PostException {
 		try {
+            // Listeners that keep posts ordered or counted need the values being replaced
+            Post previousPost = eventBus.getListenerCount() > 0 ? getPostByID(post.getPostId()) : null;
             postDAO.updatePost(post);
+            postCache.invalidate(post.getPostId());
             System.out.println("Successfully updated post: " + post.toString());
+            eventBus.publish(new PostEvent(PostEventType.Updated, post, previousPost));
             return true;
         } catch (Exception e) {
             System.err.println("Error updating post: " + e.getMessage());
@@ -109,6 +203,16 @@ public class PostServiceImpl implements PostService {
         }
 	}
 	
+	@Override
+	public PostEventBus getEventBus() {
+		return eventBus;
+	}
+	
+	@Override
+	public CacheStats getPostCacheStats() {
+		return postCache.getStats();
+	}
+	
 	@Override
 	public List<Post> getAllPosts() throws PostException {
 		try {
@@ -119,17 +223,214 @@ public class PostServiceImpl implements PostService {
         }
 	}
 	
+	@Override
+	public long forEachPost(User user, Consumer<Post> action) throws PostException {
+		try {
+            return postDAO.forEachPost(user, PostDAO.DEFAULT_FETCH_SIZE, action);
+        } catch (Exception e) {
+            System.err.println("Error streaming posts: " + e.getMessage());
+            throw new PostException("Failed to stream posts.", e);
+        }
+	}
+	
+	@Override
+	public PostPage getPostsPage(SortBy sortBy, User user, Post after, int pageSize) throws PostException {
+		try {
+            return postDAO.getPostsPage(sortBy, user, after, pageSize);
+        } catch (Exception e) {
+            System.err.println("Error fetching a page of posts: " + e.getMessage());
+            throw new PostException("Failed to fetch a page of posts.", e);
+        }
+	}
+	
+	@Override
+	public long[] getSharesHistogram(User user, int... boundaries) throws PostException {
+		try {
+            return postDAO.getSharesHistogram(user, boundaries);
+        } catch (Exception e) {
+            System.err.println("Error counting posts by shares: " + e.getMessage());
+            throw new PostException("Failed to count posts by shares.", e);
+        }
+	}
+	
 	@Override
 	public boolean addBulkPosts(List<Post> posts) throws PostException {
+		addBulkPosts(posts, DEFAULT_BULK_CHUNK_SIZE, CommitMode.All_or_nothing);
+		return true;
+	}
+	
+	@Override
+	public List<Integer> addBulkPosts(List<Post> posts, int chunkSize, CommitMode commitMode) throws PostException {
 		try {
-            for (Post post : posts) {
-                postDAO.addPost(post);
-            }
-            System.out.println("Successfully added bulk posts.");
-            return true;
+            List<Integer> postIds = postDAO.addPostsBatch(posts, chunkSize, commitMode);
+            System.out.println("Successfully added " + postIds.size() + " bulk posts.");
+            eventBus.publish(new PostEvent(new ArrayList<>(posts)));
+            return postIds;
         } catch (Exception e) {
             System.err.println("Error adding bulk posts: " + e.getMessage());
+            if (commitMode == CommitMode.Per_chunk) {
+                // The chunks before the failed one stay committed; they are the posts that kept an ID
+                List<Post> committedPosts = new ArrayList<>();
+                for (Post post : posts) {
+                    if (post.getPostId() == 0) {
+                        break;
+                    }
+                    committedPosts.add(post);
+                }
+                if (!committedPosts.isEmpty()) {
+                    eventBus.publish(new PostEvent(committedPosts));
+                }
+            }
             throw new PostException("Failed to add bulk posts.", e);
         }
 	}
+	
+	@Override
+	public ImportStats importPosts(File file, User user, ErrorMode errorMode) throws PostException {
+		return importPosts(file, user, errorMode, null);
+	}
+	
+	@Override
+	public ImportStats importPosts(File file, User user, ErrorMode errorMode, ImportProgress progress) throws PostException {
+		ImportJob job = null;
+		try {
+            job = startOrResumeJob(file, user);
+            ImportJob checkpoint = job;
+            try (RejectReport rejects = new RejectReport(RejectReport.defaultFileFor(file), job.getRejectReportLength())) {
+                // Each batch commits together with the checkpoint that moves the job past it
+                RowSource source = JsonLinesTokenizer.isJsonLinesFile(file)
+                        ? new JsonLinesRowSource(file, job.getByteOffset(), job.getLineNumber())
+                        : new CsvRowSource(file, job.getByteOffset(), job.getLineNumber());
+                ImportPipeline pipeline = new ImportPipeline(source, user,
+                        batch -> {
+                            // The pipeline has reported the rejected rows of the batch; the checkpoint keeps the report up to them
+                            checkpoint.advance(batch.getRows(), batch.getPosts().size(), batch.getRejected(),
+                                    batch.getEndByteOffset(), batch.getNextLineNumber(), flushRejects(rejects));
+                            List<Post> posts = new ArrayList<>(batch.getPosts());
+                            postDAO.addPostsBatch(posts, DEFAULT_BULK_CHUNK_SIZE,
+                                    CommitMode.All_or_nothing, importJobDAO.checkpointHook(checkpoint));
+                            eventBus.publish(new PostEvent(posts));
+                        },
+                        DEFAULT_BULK_CHUNK_SIZE, ImportPipeline.DEFAULT_QUEUE_CAPACITY,
+                        errorMode == ErrorMode.Skip_and_report ? rejects : null);
+                pipeline.setDuplicateFilter(loadDuplicateFilter(user, Math.min(DEFAULT_FILTER_HEADROOM,
+                        Math.max(0, file.length() - job.getByteOffset()) / MIN_IMPORT_ROW_BYTES)));
+                if (progress != null) {
+                    progress.start(file.length(), job.getByteOffset());
+                    pipeline.setProgress(progress);
+                }
+                ImportStats stats = pipeline.run();
+                job.setStatus(ImportJobStatus.Completed);
+                importJobDAO.updateStatus(job);
+                System.out.println("Finished " + job);
+                return stats;
+            }
+        } catch (Exception e) {
+            System.err.println("Error importing posts: " + e.getMessage());
+            if (job != null && job.getJobId() != 0) {
+                markJobFailed(job);
+            }
+            throw new PostException("Failed to import posts: " + e.getMessage(), e);
+        } finally {
+            if (job != null) {
+                RUNNING_JOB_IDS.remove(job.getJobId());
+            }
+        }
+	}
+	
+	@Override
+	public long exportPosts(User user, File file, boolean gzip) throws PostException {
+		try {
+            return PostExporter.export(action -> postDAO.forEachPost(user, PostDAO.DEFAULT_FETCH_SIZE, action), file, gzip,
+                    PostExporter.writerFactoryFor(file));
+        } catch (Exception e) {
+            System.err.println("Error exporting posts: " + e.getMessage());
+            throw new PostException("Failed to export posts: " + e.getMessage(), e);
+        }
+	}
+	
+	@Override
+	public long writePostSnapshot(User user, File file) throws PostException {
+		try (PostSnapshotWriter snapshotWriter = new PostSnapshotWriter(file)) {
+            postDAO.forEachPost(user, PostDAO.DEFAULT_FETCH_SIZE, post -> {
+                try {
+                    snapshotWriter.write(post);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            snapshotWriter.finish();
+            return snapshotWriter.size();
+        } catch (Exception e) {
+            System.err.println("Error writing post snapshot: " + e.getMessage());
+            throw new PostException("Failed to write post snapshot: " + e.getMessage(), e);
+        }
+	}
+	
+	@Override
+	public List<Post> removeDuplicatePosts(List<Post> posts, User user) throws PostException {
+		try {
+            DuplicateFilter duplicateFilter = loadDuplicateFilter(user, posts.size());
+            List<Post> newPosts = duplicateFilter.removeDuplicates(posts);
+            System.out.println("Skipped " + duplicateFilter.getDuplicates() + " duplicate posts after "
+                    + duplicateFilter.getLookups() + " lookups.");
+            return newPosts;
+        } catch (Exception e) {
+            System.err.println("Error checking for duplicate posts: " + e.getMessage());
+            throw new PostException("Failed to check for duplicate posts.", e);
+        }
+	}
+	
+	// Loads the keys of the user's existing posts into a filter with room for the posts about to be imported.
+	private DuplicateFilter loadDuplicateFilter(User user, long expectedNewPosts) throws PostException {
+		long existing = postDAO.countPostsByAuthor(user.getUsername());
+		DuplicateFilter duplicateFilter = new DuplicateFilter(existing + expectedNewPosts, postDAO::postExists);
+		postDAO.forEachDuplicateKey(user.getUsername(), PostDAO.DEFAULT_FETCH_SIZE, duplicateFilter::addExisting);
+		return duplicateFilter;
+	}
+	
+	// Writes out the rejected rows before the batch covering them commits, returning the report's length.
+	private long flushRejects(RejectReport rejects) throws PostException {
+		try {
+			return rejects.flush();
+		} catch (IOException e) {
+			throw new PostException("Failed to write rejected rows: " + e.getMessage(), e);
+		}
+	}
+
+	// Picks up the unfinished job of an earlier run on the same version of the file, or starts a new one.
+	private ImportJob startOrResumeJob(File file, User user) throws Exception {
+		File canonicalFile = file.getCanonicalFile();
+		ImportJob job = importJobDAO.findResumableJob(user.getUserId(), canonicalFile.getPath(),
+				canonicalFile.length(), canonicalFile.lastModified());
+		if (job != null) {
+			// Resuming a job that is still committing batches would write its last rows twice
+			if (!RUNNING_JOB_IDS.add(job.getJobId())) {
+				throw new PostException("An import of " + file.getName() + " is still running; wait for it to finish.", null);
+			}
+			System.out.println("Resuming " + job);
+			job.setStatus(ImportJobStatus.In_progress);
+			try {
+				importJobDAO.updateStatus(job);
+			} catch (PostException e) {
+				RUNNING_JOB_IDS.remove(job.getJobId());
+				throw e;
+			}
+			return job;
+		}
+		job = new ImportJob(user.getUserId(), canonicalFile.getPath(), canonicalFile.length(), canonicalFile.lastModified());
+		importJobDAO.addJob(job);
+		RUNNING_JOB_IDS.add(job.getJobId());
+		return job;
+	}
+	
+	private void markJobFailed(ImportJob job) {
+		try {
+			job.setStatus(ImportJobStatus.Failed);
+			importJobDAO.updateStatus(job);
+			System.err.println("Import job " + job.getJobId() + " failed; importing the same file again resumes after its last committed batch.");
+		} catch (PostException e) {
+			System.err.println("Error marking import job as failed: " + e.getMessage());
+		}
+	}
 }
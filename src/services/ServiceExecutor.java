@@ -0,0 +1,158 @@
+package services;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import enums.ServiceResource;
+
+/**
+ * ServiceExecutor runs service calls asynchronously, one thread per call, and limits how many
+ * calls use each {@link ServiceResource} at the same time.
+ * <p>
+ * On a Java 21 runtime every call gets its own virtual thread, so thousands of concurrent
+ * requests of a headless deployment cost no platform thread each while they wait. On older
+ * runtimes, or with {@code -Ddah.exec.virtualThreads=false}, a cached pool of daemon platform
+ * threads is used instead. Calls waiting for a resource queue on a fair semaphore in arrival order.
+ * Bounding the calls per resource keeps the waiting in front of the connection pool rather than in
+ * its acquire timeout, and stops CPU-bound hashing from occupying every carrier thread.
+ * </p>
+ */
+public class ServiceExecutor implements AutoCloseable {
+
+    // Concurrent calls per resource, overridable with -Ddah.exec.dbWriters, -Ddah.exec.dbReaders and -Ddah.exec.hashing
+    public static final int DEFAULT_DB_WRITERS = Integer.getInteger("dah.exec.dbWriters", Integer.getInteger("dah.db.writers", 1));
+    public static final int DEFAULT_DB_READERS = Integer.getInteger("dah.exec.dbReaders",
+            Integer.getInteger("dah.db.readers", Math.max(2, Runtime.getRuntime().availableProcessors())));
+    public static final int DEFAULT_HASHING = Integer.getInteger("dah.exec.hashing", Runtime.getRuntime().availableProcessors());
+
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final Map<ServiceResource, Semaphore> limits = new EnumMap<>(ServiceResource.class);
+
+    /**
+     * Constructs an executor with the limits from the system properties.
+     */
+    public ServiceExecutor() {
+        this(DEFAULT_DB_WRITERS, DEFAULT_DB_READERS, DEFAULT_HASHING);
+    }
+
+    /**
+     * Constructs an executor with the given limits.
+     *
+     * @param dbWriters The number of calls that may write to the database at the same time.
+     * @param dbReaders The number of calls that may read from the database at the same time.
+     * @param hashing   The number of calls that may hash passwords at the same time.
+     */
+    public ServiceExecutor(int dbWriters, int dbReaders, int hashing) {
+        if (dbWriters < 1 || dbReaders < 1 || hashing < 1) {
+            throw new IllegalArgumentException("Resource limits must be at least 1.");
+        }
+        limits.put(ServiceResource.Db_writer, new Semaphore(dbWriters, true));
+        limits.put(ServiceResource.Db_reader, new Semaphore(dbReaders, true));
+        limits.put(ServiceResource.Cpu_hashing, new Semaphore(hashing, true));
+
+        ExecutorService virtual = Boolean.parseBoolean(System.getProperty("dah.exec.virtualThreads", "true"))
+                ? newVirtualThreadExecutor() : null;
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : newPlatformThreadExecutor();
+        System.out.println("Service executor using " + (virtualThreads ? "virtual" : "platform") + " threads, limits: "
+                + dbWriters + " writers, " + dbReaders + " readers, " + hashing + " hashing.");
+    }
+
+    // The source level predates the final virtual thread API, so it is looked up at run time.
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Missing before Java 19; a Java 19 or 20 runtime without --enable-preview refuses to create them
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformThreadExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "service-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a call on its own thread once the resource it uses is available.
+     *
+     * @param resource The resource the call uses.
+     * @param call     The service call.
+     * @return the future result; a checked exception thrown by the call, e.g. a
+     *         {@link exceptions.PostException}, is the cause of its {@link CompletionException}
+     */
+    public <T> CompletableFuture<T> submit(ServiceResource resource, Callable<T> call) {
+        Semaphore limit = limits.get(resource);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                limit.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return call.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                limit.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * @return whether calls run on virtual threads
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @param resource A resource.
+     * @return the number of further calls that could use the resource right now
+     */
+    public int getAvailablePermits(ServiceResource resource) {
+        return limits.get(resource).availablePermits();
+    }
+
+    /**
+     * @param resource A resource.
+     * @return an estimate of the number of calls waiting for the resource
+     */
+    public int getQueueLength(ServiceResource resource) {
+        return limits.get(resource).getQueueLength();
+    }
+
+    /**
+     * Stops accepting calls and waits up to the given time for the running ones to finish.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit    The unit of the timeout.
+     * @return true if all calls finished in time
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,202 @@
+package snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import models.Post;
+
+/**
+ * PostSnapshot is a read-only, memory-mapped view of a post snapshot file.
+ * <p>
+ * The file stores the posts column by column, little-endian:
+ * </p>
+ * <pre>
+ * int magic, int version, int size, int authorCount
+ * long[size] DateTime (epoch millis)
+ * int[size]  PostID, Likes, Shares, UserID, author index (one column each)
+ * authorCount x (int byteLength, UTF-8 bytes)   author dictionary
+ * size x (int byteLength, UTF-8 bytes)          content
+ * </pre>
+ * Numeric columns are served straight from the mapped file without parsing, so scans such as
+ * summing likes touch only the columns they need. Authors are decoded once on open and content
+ * only when asked for. Instances are immutable apart from the lazily built content index.
+ */
+public class PostSnapshot {
+
+    static final int MAGIC = 0x44414853;  // "DAHS"
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+    private final int size;
+    private final LongBuffer dateTimes;
+    private final IntBuffer postIds;
+    private final IntBuffer likes;
+    private final IntBuffer shares;
+    private final IntBuffer userIds;
+    private final IntBuffer authorIndexes;
+    private final String[] authors;
+    private final ByteBuffer content;
+    private int[] contentOffsets;
+
+    private PostSnapshot(int size, LongBuffer dateTimes, IntBuffer[] intColumns, String[] authors, ByteBuffer content) {
+        this.size = size;
+        this.dateTimes = dateTimes;
+        this.postIds = intColumns[0];
+        this.likes = intColumns[1];
+        this.shares = intColumns[2];
+        this.userIds = intColumns[3];
+        this.authorIndexes = intColumns[4];
+        this.authors = authors;
+        this.content = content;
+    }
+
+    /**
+     * Maps a snapshot file.
+     *
+     * @param file The snapshot file, as written by {@link PostSnapshotWriter}.
+     * @return the snapshot
+     * @throws IOException if the file can not be read or is not a snapshot.
+     */
+    public static PostSnapshot open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException(file.getName() + " is not a post snapshot.");
+            }
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file.getName() + " is not a post snapshot.");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + file.getName() + ".");
+            }
+            int size = header.getInt();
+            int authorCount = header.getInt();
+
+            long position = HEADER_BYTES;
+            LongBuffer dateTimes = map(channel, position, (long) size * Long.BYTES).asLongBuffer();
+            position += (long) size * Long.BYTES;
+            IntBuffer[] intColumns = new IntBuffer[5];
+            for (int i = 0; i < intColumns.length; i++) {
+                intColumns[i] = map(channel, position, (long) size * Integer.BYTES).asIntBuffer();
+                position += (long) size * Integer.BYTES;
+            }
+
+            // The rest holds the author dictionary followed by the content; each is mapped in one piece
+            ByteBuffer tail = map(channel, position, channel.size() - position);
+            String[] authors = new String[authorCount];
+            for (int i = 0; i < authorCount; i++) {
+                authors[i] = readString(tail);
+            }
+            ByteBuffer content = tail.slice().order(ByteOrder.LITTLE_ENDIAN);
+            return new PostSnapshot(size, dateTimes, intColumns, authors, content);
+        }
+    }
+
+    /**
+     * @return the number of posts in the snapshot
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getPostId(int index) { return postIds.get(index); }
+    public int getLikes(int index) { return likes.get(index); }
+    public int getShares(int index) { return shares.get(index); }
+    public int getUserId(int index) { return userIds.get(index); }
+    public long getEpochMillis(int index) { return dateTimes.get(index); }
+    public String getAuthor(int index) { return authors[authorIndexes.get(index)]; }
+
+    /**
+     * @param index The 0-based post index.
+     * @return the decoded content of the post
+     */
+    public String getContent(int index) {
+        int offset = contentOffsets()[index];
+        int length = content.getInt(offset);
+        byte[] bytes = new byte[length];
+        content.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param index The 0-based post index.
+     * @return the post, with all its columns decoded
+     */
+    public Post getPost(int index) {
+        return new Post(getPostId(index), getContent(index), getAuthor(index), getLikes(index), getShares(index),
+            Post.fromEpochMillis(getEpochMillis(index)), getUserId(index));
+    }
+
+    /**
+     * Decodes every post in snapshot order.
+     *
+     * @param action Called for every post.
+     */
+    public void forEach(Consumer<Post> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(getPost(i));
+        }
+    }
+
+    /**
+     * @return the sum of the likes of all posts, read from the likes column only
+     */
+    public long getTotalLikes() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += likes.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @return the sum of the shares of all posts, read from the shares column only
+     */
+    public long getTotalShares() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += shares.get(i);
+        }
+        return total;
+    }
+
+    // Content is length-prefixed, so its offsets are found with one pass over the prefixes on first use.
+    private synchronized int[] contentOffsets() {
+        if (contentOffsets == null) {
+            int[] offsets = new int[size];
+            int offset = 0;
+            for (int i = 0; i < size; i++) {
+                offsets[i] = offset;
+                offset += Integer.BYTES + content.getInt(offset);
+            }
+            contentOffsets = offsets;
+        }
+        return contentOffsets;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("A snapshot section of " + length + " bytes is larger than 2 GiB.");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,202 @@
+package snapshot;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import models.Post;
+
+/**
+ * PostSnapshotWriter writes posts into the column-oriented snapshot format read by {@link PostSnapshot}.
+ * <p>
+ * Posts are fed one at a time, typically from a streaming {@code PostDAO} scan. The fixed-width
+ * columns are collected in primitive arrays (24 bytes per post) and the content, which dominates
+ * the size, is spooled to a temporary file, so memory does not grow with the amount of text.
+ * The snapshot is assembled in a temporary file by {@link #finish()} and only then moved into
+ * place; closing the writer without finishing, e.g. because the scan failed, discards it and
+ * leaves an existing snapshot untouched. Not thread-safe.
+ * </p>
+ */
+public class PostSnapshotWriter implements Closeable {
+
+    private static final int IO_BUFFER_BYTES = 1024 * 1024;
+
+    private final File file;
+    private final File contentFile;
+    private final FileChannel contentChannel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    private long[] dateTimes = new long[1024];
+    private int[] postIds = new int[1024];
+    private int[] likes = new int[1024];
+    private int[] shares = new int[1024];
+    private int[] userIds = new int[1024];
+    private int[] authorIndexes = new int[1024];
+    private int size;
+    private final Map<String, Integer> authorDictionary = new HashMap<>();
+    private final List<String> authors = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * Creates a writer; the snapshot file is written on {@link #finish()}.
+     *
+     * @param file The snapshot file; replaced if it exists.
+     * @throws IOException if the temporary content file can not be created.
+     */
+    public PostSnapshotWriter(File file) throws IOException {
+        this.file = file;
+        this.contentFile = File.createTempFile("snapshot-content", ".tmp", file.getAbsoluteFile().getParentFile());
+        this.contentChannel = FileChannel.open(contentFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.READ);
+    }
+
+    /**
+     * Appends a post.
+     *
+     * @param post The post to append.
+     * @throws IOException if the content can not be spooled.
+     */
+    public void write(Post post) throws IOException {
+        if (size == postIds.length) {
+            int capacity = size * 2;
+            dateTimes = Arrays.copyOf(dateTimes, capacity);
+            postIds = Arrays.copyOf(postIds, capacity);
+            likes = Arrays.copyOf(likes, capacity);
+            shares = Arrays.copyOf(shares, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            authorIndexes = Arrays.copyOf(authorIndexes, capacity);
+        }
+        dateTimes[size] = post.getEpochMillis();
+        postIds[size] = post.getPostId();
+        likes[size] = post.getLikes();
+        shares[size] = post.getShares();
+        userIds[size] = post.getUserId();
+        authorIndexes[size] = authorDictionary.computeIfAbsent(post.getAuthor() == null ? "" : post.getAuthor(), author -> {
+            authors.add(author);
+            return authors.size() - 1;
+        });
+        size++;
+
+        byte[] content = (post.getContent() == null ? "" : post.getContent()).getBytes(StandardCharsets.UTF_8);
+        putInt(contentChannel, content.length);
+        putBytes(contentChannel, content);
+    }
+
+    /**
+     * @return the number of posts written so far
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes the snapshot of the posts written so far, replaces the snapshot file with it and closes the writer.
+     *
+     * @throws IOException if the snapshot can not be written; the snapshot file is then left untouched.
+     */
+    public void finish() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("The snapshot writer is already closed.");
+        }
+        File partFile = File.createTempFile("snapshot", ".part", file.getAbsoluteFile().getParentFile());
+        try {
+            flush(contentChannel);
+            try (FileChannel out = FileChannel.open(partFile.toPath(), StandardOpenOption.WRITE)) {
+                putInt(out, PostSnapshot.MAGIC);
+                putInt(out, PostSnapshot.VERSION);
+                putInt(out, size);
+                putInt(out, authors.size());
+                for (int i = 0; i < size; i++) {
+                    putLong(out, dateTimes[i]);
+                }
+                for (int[] column : new int[][] { postIds, likes, shares, userIds, authorIndexes }) {
+                    for (int i = 0; i < size; i++) {
+                        putInt(out, column[i]);
+                    }
+                }
+                for (String author : authors) {
+                    byte[] bytes = author.getBytes(StandardCharsets.UTF_8);
+                    putInt(out, bytes.length);
+                    putBytes(out, bytes);
+                }
+                flush(out);
+
+                long position = 0;
+                long length = contentChannel.size();
+                while (position < length) {
+                    position += contentChannel.transferTo(position, length - position, out);
+                }
+            }
+            Files.move(partFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("Wrote snapshot of " + size + " posts to " + file.getName() + ".");
+        } finally {
+            Files.deleteIfExists(partFile.toPath());
+            close();
+        }
+    }
+
+    /**
+     * Removes the temporary content file. Unless {@link #finish()} was called, the snapshot is discarded.
+     *
+     * @throws IOException if the temporary content file can not be removed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            contentChannel.close();
+        } finally {
+            Files.deleteIfExists(contentFile.toPath());
+        }
+    }
+
+    // The shared buffer always belongs to one channel at a time: content while writing, the snapshot on close.
+
+    private void putInt(FileChannel channel, int value) throws IOException {
+        ensureRemaining(channel, Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    private void putLong(FileChannel channel, long value) throws IOException {
+        ensureRemaining(channel, Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    private void putBytes(FileChannel channel, byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensureRemaining(channel, 1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void ensureRemaining(FileChannel channel, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel);
+        }
+    }
+
+    private void flush(FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
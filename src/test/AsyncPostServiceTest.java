@@ -0,0 +1,105 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import controllers.PostController;
+import database.DBManager;
+import database.PostDAO;
+import enums.ServiceResource;
+import exceptions.DatabaseException;
+import exceptions.PostException;
+import models.Post;
+import models.User;
+import services.AsyncPostService;
+import services.PostServiceImpl;
+import services.ServiceExecutor;
+
+/**
+ * A test suite for the AsyncPostService class, running real post service calls on the
+ * ServiceExecutor and checking that writes stay within the writer limit.
+ */
+public class AsyncPostServiceTest {
+
+	private DBManager dbManager;
+	private PostDAO postDAO;
+	private ServiceExecutor executor;
+	private User testUser;
+
+	@Before
+	public void setUp() throws DatabaseException {
+		System.out.println("Setting up AsyncPostService for testing...");
+		dbManager = DBManager.getInstance();
+		postDAO = new PostDAO(dbManager);
+		executor = new ServiceExecutor(1, 4, 1);
+		testUser = new User("TestAuthorForAsync", "dummyhashedpassword", "dummysalt", "Test", "Async", false);
+		testUser.setUserId(1);
+	}
+
+	@After
+	public void tearDown() throws SQLException, InterruptedException {
+		executor.shutdown(30, TimeUnit.SECONDS);
+		postDAO.deletePostByAuthor(testUser.getUsername());
+	}
+
+	/**
+	 * Test that concurrent adds are all committed one at a time, and read back through the reader limit.
+	 */
+	@Test
+	public void testConcurrentAddsAreSerializedOnWriter() throws Exception {
+		System.out.println("Running testConcurrentAddsAreSerializedOnWriter...");
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		AsyncPostService asyncPostService = new AsyncPostService(new PostServiceImpl(dbManager) {
+			@Override
+			public boolean addPost(Post post) throws PostException {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					return super.addPost(post);
+				} finally {
+					running.decrementAndGet();
+				}
+			}
+		}, executor);
+
+		List<CompletableFuture<Boolean>> adds = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			adds.add(asyncPostService.addPost(new Post("TestPostForAsync " + i, testUser.getUsername(), i, i, "12/01/2023 09:00", 1)));
+		}
+		for (CompletableFuture<Boolean> add : adds) {
+			assertTrue(add.get(30, TimeUnit.SECONDS));
+		}
+		assertEquals(1, maxRunning.get());
+		assertEquals(20, asyncPostService.getPostsByUser(testUser).get(30, TimeUnit.SECONDS).size());
+		assertEquals(1, executor.getAvailablePermits(ServiceResource.Db_writer));
+	}
+
+	/**
+	 * Test that the controller dispatches through the shared executor and that a failed call carries its PostException.
+	 */
+	@Test
+	public void testControllerCallFailsWithPostException() throws Exception {
+		System.out.println("Running testControllerCallFailsWithPostException...");
+		AsyncPostService asyncPostService = new PostController(dbManager, executor).getAsyncPostService();
+		try {
+			asyncPostService.updatePost(null).join();
+			fail("Updating no post should fail.");
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof PostException);
+		}
+		assertEquals(1, executor.getAvailablePermits(ServiceResource.Db_writer));
+	}
+}
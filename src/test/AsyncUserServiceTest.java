@@ -0,0 +1,101 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import controllers.UserController;
+import database.DBManager;
+import database.UserDAO;
+import enums.ServiceResource;
+import exceptions.DatabaseException;
+import exceptions.UserException;
+import models.User;
+import services.AsyncUserService;
+import services.ServiceExecutor;
+import services.UserServiceImpl;
+
+/**
+ * A test suite for the AsyncUserService class, running real user service calls on the
+ * ServiceExecutor and checking that password hashing stays within its limit.
+ */
+public class AsyncUserServiceTest {
+
+	private static final int HASHING_LIMIT = 2;
+
+	private DBManager dbManager;
+	private UserDAO userDAO;
+	private ServiceExecutor executor;
+
+	@Before
+	public void setUp() throws DatabaseException, UserException {
+		System.out.println("Setting up AsyncUserService for testing...");
+		dbManager = DBManager.getInstance();
+		userDAO = new UserDAO(dbManager);
+		executor = new ServiceExecutor(1, 4, HASHING_LIMIT);
+		new UserServiceImpl(dbManager).registerUser("testAsyncUsername", "testAsyncPassword", "Test", "Async");
+	}
+
+	@After
+	public void tearDown() throws SQLException, InterruptedException {
+		executor.shutdown(30, TimeUnit.SECONDS);
+		userDAO.deleteUserByUsername("testAsyncUsername");
+	}
+
+	/**
+	 * Test that concurrent logins all succeed while no more of them hash at once than the hashing limit.
+	 */
+	@Test
+	public void testConcurrentLoginsAreCappedByHashingLimit() throws Exception {
+		System.out.println("Running testConcurrentLoginsAreCappedByHashingLimit...");
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		AsyncUserService asyncUserService = new AsyncUserService(new UserServiceImpl(dbManager) {
+			@Override
+			public User loginUser(String username, String password) throws UserException {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					return super.loginUser(username, password);
+				} finally {
+					running.decrementAndGet();
+				}
+			}
+		}, executor);
+
+		List<CompletableFuture<User>> logins = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			logins.add(asyncUserService.loginUser("testAsyncUsername", "testAsyncPassword"));
+		}
+		for (CompletableFuture<User> login : logins) {
+			User user = login.get(60, TimeUnit.SECONDS);
+			assertNotNull(user);
+			assertEquals("testAsyncUsername", user.getUsername());
+		}
+		assertTrue(maxRunning.get() <= HASHING_LIMIT);
+		assertEquals(HASHING_LIMIT, executor.getAvailablePermits(ServiceResource.Cpu_hashing));
+	}
+
+	/**
+	 * Test that the controller dispatches through the shared executor, and that a wrong password still fails the login.
+	 */
+	@Test
+	public void testControllerDispatchesThroughExecutor() throws Exception {
+		System.out.println("Running testControllerDispatchesThroughExecutor...");
+		AsyncUserService asyncUserService = new UserController(dbManager, executor).getAsyncUserService();
+		assertTrue(asyncUserService.usernameExists("testAsyncUsername").get(30, TimeUnit.SECONDS));
+		assertNull(asyncUserService.loginUser("testAsyncUsername", "wrongPassword").get(60, TimeUnit.SECONDS));
+		assertEquals(HASHING_LIMIT, executor.getAvailablePermits(ServiceResource.Cpu_hashing));
+	}
+}
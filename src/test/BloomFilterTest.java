@@ -0,0 +1,47 @@
+package test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import utils.BloomFilter;
+
+/**
+ * A test suite for the BloomFilter class.
+ */
+public class BloomFilterTest {
+
+	/**
+	 * Test that every added key is reported as possibly present.
+	 */
+	@Test
+	public void testNoFalseNegatives() {
+		System.out.println("Running testNoFalseNegatives...");
+		BloomFilter filter = new BloomFilter(10000, 0.01);
+		for (long key = 0; key < 10000; key++) {
+			filter.put(key * 7919);
+		}
+		for (long key = 0; key < 10000; key++) {
+			assertTrue(filter.mightContain(key * 7919));
+		}
+	}
+
+	/**
+	 * Test that the false positive rate stays near the configured rate at the expected size.
+	 */
+	@Test
+	public void testFalsePositiveRate() {
+		System.out.println("Running testFalsePositiveRate...");
+		BloomFilter filter = new BloomFilter(10000, 0.01);
+		for (long key = 0; key < 10000; key++) {
+			filter.put(key);
+		}
+		int falsePositives = 0;
+		for (long key = 10000; key < 110000; key++) {
+			if (filter.mightContain(key)) {
+				falsePositives++;
+			}
+		}
+		assertTrue("False positives: " + falsePositives, falsePositives < 2000);
+	}
+}
@@ -7,8 +7,10 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Before;
@@ -90,6 +92,25 @@ public class CSVUtilsTest {
         CSVUtils.readPosts("src/csv/fewerColumns.csv", testUser);
     }
 
+	/**
+	 * Test streaming posts whose content contains quoted commas, quotes and line breaks.
+	 */
+    @Test
+    public void testReadPostsQuotedContent() throws CsvLoadingException, IOException {
+    	System.out.println("Running testReadPostsQuotedContent...");
+        String csv = "ID,content,author,likes,shares,date-time\n"
+            + "1,\"Hello, \"\"world\"\"\",testuser,5,10,12/01/2023 09:00\n"
+            + "2,Someone else's post,otheruser,1,2,12/01/2023 09:00\n"
+            + "3,\"Two\nlines\",testuser,7,8,2023-01-13T10:30\n";
+        List<Post> posts = new ArrayList<>();
+        long count = CSVUtils.readPosts(new StringReader(csv), testUser, posts::add);
+        
+        assertEquals(2, count);
+        assertEquals("Hello, \"world\"", posts.get(0).getContent());
+        assertEquals("Two\nlines", posts.get(1).getContent());
+        assertEquals(8, posts.get(1).getShares());
+    }
+
 	/**
 	 * Test saving a post to a CSV file.
 	 */
@@ -0,0 +1,96 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import exceptions.CsvLoadingException;
+import importer.ChunkedCsvImporter;
+import importer.ImportStats;
+import models.Post;
+import models.User;
+import utils.CSVUtils;
+
+/**
+ * A test suite for the ChunkedCsvImporter class, ensuring the parallel chunked parse
+ * gives the same posts, in the same order, as the sequential CSVUtils reader.
+ */
+public class ChunkedCsvImporterTest {
+
+	private User testUser;
+	private File csvFile;
+
+	@Before
+	public void setUp() throws IOException {
+		System.out.println("Setting up ChunkedCsvImporterTest test file...");
+		testUser = new User("testuser", "dummyhashedpassword", "dummysalt", "Test", "User", false);
+		testUser.setUserId(1);
+
+		// Quoted commas, quotes and line breaks make naive newline splitting fail
+		StringBuilder csv = new StringBuilder("\uFEFFID,content,author,likes,shares,date-time\r\n");
+		for (int i = 0; i < 500; i++) {
+			String content = i % 3 == 0 ? "\"Post " + i + ", with \"\"quotes\"\"\nand a line break\"" : "Post " + i;
+			String author = i % 7 == 0 ? "otheruser" : "testuser";
+			csv.append(i).append(',').append(content).append(',').append(author).append(',')
+				.append(i).append(',').append(i * 2).append(",12/01/2023 09:00").append(i % 2 == 0 ? "\r\n" : "\n");
+		}
+		csvFile = File.createTempFile("chunked-import", ".csv");
+		Files.write(csvFile.toPath(), csv.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@After
+	public void tearDown() {
+		csvFile.delete();
+	}
+
+	/**
+	 * Test that small chunks on several threads match the sequential reader.
+	 */
+	@Test
+	public void testMatchesSequentialReader() throws CsvLoadingException {
+		System.out.println("Running testMatchesSequentialReader...");
+		List<Post> expected = CSVUtils.readPosts(csvFile.getAbsolutePath(), testUser);
+
+		for (int chunkBytes : new int[] {1, 64, 1000, 1 << 20}) {
+			List<Post> posts = new ArrayList<>();
+			ImportStats stats = new ChunkedCsvImporter(chunkBytes, 4).readPosts(csvFile, testUser, posts::add);
+
+			assertEquals(500, stats.getRowsRead());
+			assertEquals(expected.size(), stats.getPostsAccepted());
+			assertEquals(expected.size(), posts.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(i).getContent(), posts.get(i).getContent());
+				assertEquals(expected.get(i).getShares(), posts.get(i).getShares());
+			}
+		}
+	}
+
+	/**
+	 * Test that an invalid row is reported with its line number in the whole file.
+	 */
+	@Test
+	public void testReportsLineOfInvalidRow() throws IOException {
+		System.out.println("Running testReportsLineOfInvalidRow...");
+		String csv = "ID,content,author,likes,shares,date-time\n"
+			+ "1,\"two\nlines\",testuser,1,1,12/01/2023 09:00\n"
+			+ "2,ok,testuser,1,1,12/01/2023 09:00\n"
+			+ "3,bad,testuser,x,1,12/01/2023 09:00\n";
+		Files.write(csvFile.toPath(), csv.getBytes(StandardCharsets.UTF_8));
+		try {
+			new ChunkedCsvImporter(8, 2).readPosts(csvFile, testUser, post -> { });
+			fail("The invalid row should be rejected");
+		} catch (CsvLoadingException e) {
+			assertEquals("Invalid integer value for field: likes on line 5", e.getMessage());
+		}
+	}
+}
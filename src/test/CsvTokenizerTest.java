@@ -0,0 +1,126 @@
+package test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import exceptions.CsvLoadingException;
+import utils.CsvRecord;
+import utils.CsvTokenizer;
+
+/**
+ * A test suite for the CsvTokenizer class, ensuring it follows RFC 4180 and reports
+ * line numbers and byte offsets correctly, whatever the buffer size.
+ */
+public class CsvTokenizerTest {
+
+	// A tiny buffer makes records and escapes straddle buffer refills
+	private static final int SMALL_BUFFER = 3;
+
+	private List<String[]> readAll(String csv, int bufferSize) throws IOException, CsvLoadingException {
+		List<String[]> records = new ArrayList<>();
+		try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv), bufferSize)) {
+			tokenizer.forEach(record -> records.add(record.toArray()));
+		}
+		return records;
+	}
+
+	/**
+	 * Test quoted fields with commas, doubled quotes and line breaks.
+	 */
+	@Test
+	public void testQuotedFields() throws IOException, CsvLoadingException {
+		System.out.println("Running testQuotedFields...");
+		String csv = "1,\"Hello, world\",\"She said \"\"hi\"\"\",\"two\nlines\"\n";
+		for (int bufferSize : new int[] {SMALL_BUFFER, CsvTokenizer.DEFAULT_BUFFER_SIZE}) {
+			List<String[]> records = readAll(csv, bufferSize);
+			assertEquals(1, records.size());
+			assertArrayEquals(new String[] {"1", "Hello, world", "She said \"hi\"", "two\nlines"}, records.get(0));
+		}
+	}
+
+	/**
+	 * Test CRLF line breaks, empty fields, blank lines and a missing final line break.
+	 */
+	@Test
+	public void testLineBreaksAndEmptyFields() throws IOException, CsvLoadingException {
+		System.out.println("Running testLineBreaksAndEmptyFields...");
+		List<String[]> records = readAll("a,b\r\n\r\n,,\r\nlast,\"\"", SMALL_BUFFER);
+		assertEquals(3, records.size());
+		assertArrayEquals(new String[] {"a", "b"}, records.get(0));
+		assertArrayEquals(new String[] {"", "", ""}, records.get(1));
+		assertArrayEquals(new String[] {"last", ""}, records.get(2));
+	}
+
+	/**
+	 * Test that line numbers and UTF-8 byte offsets point at the start of each record.
+	 */
+	@Test
+	public void testLineNumbersAndByteOffsets() throws IOException, CsvLoadingException {
+		System.out.println("Running testLineNumbersAndByteOffsets...");
+		String first = "\uFEFFid,text\r\n";
+		String second = "1,\"caf\u00e9\nbar\"\n";
+		String csv = first + second + "2,x\n";
+		try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv), SMALL_BUFFER)) {
+			assertTrue(tokenizer.nextRecord());
+			CsvRecord record = tokenizer.getRecord();
+			assertEquals("id", record.get(0));  // The byte order mark is not part of the field
+			assertEquals(1, record.getLineNumber());
+			assertEquals(3, record.getByteOffset());
+
+			assertTrue(tokenizer.nextRecord());
+			assertEquals(2, record.getLineNumber());
+			long secondOffset = first.getBytes(StandardCharsets.UTF_8).length;
+			assertEquals(secondOffset, record.getByteOffset());
+			assertEquals(secondOffset + second.getBytes(StandardCharsets.UTF_8).length, record.getEndByteOffset());
+
+			assertTrue(tokenizer.nextRecord());
+			assertEquals(4, record.getLineNumber());
+			assertEquals(csv.getBytes(StandardCharsets.UTF_8).length, record.getEndByteOffset());
+			assertFalse(tokenizer.nextRecord());
+		}
+	}
+
+	/**
+	 * Test integer parsing straight from the field buffer.
+	 */
+	@Test
+	public void testGetInt() throws IOException, CsvLoadingException {
+		System.out.println("Running testGetInt...");
+		try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("42,-2147483648,+7,2147483648,1x, "))) {
+			assertTrue(tokenizer.nextRecord());
+			CsvRecord record = tokenizer.getRecord();
+			assertEquals(42, record.getInt(0));
+			assertEquals(Integer.MIN_VALUE, record.getInt(1));
+			assertEquals(7, record.getInt(2));
+			for (int index = 3; index <= 5; index++) {
+				try {
+					record.getInt(index);
+					fail("Field " + index + " should not parse");
+				} catch (NumberFormatException expected) {
+					// expected
+				}
+			}
+			assertTrue(record.isBlank(5));
+		}
+	}
+
+	/**
+	 * Test that input ending inside a quoted field is rejected.
+	 */
+	@Test(expected = CsvLoadingException.class)
+	public void testUnterminatedQuote() throws IOException, CsvLoadingException {
+		System.out.println("Running testUnterminatedQuote...");
+		readAll("1,\"never closed\n2,x\n", SMALL_BUFFER);
+	}
+}
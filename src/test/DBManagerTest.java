@@ -1,17 +1,27 @@
 package test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.Method;
 import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import database.DBManager;
+import database.PooledConnection;
+import database.SchemaMigrations;
+import database.SchemaMigrator;
+import database.StorageProfile;
 import exceptions.DatabaseException;
 
 /**
@@ -71,6 +81,104 @@ public class DBManagerTest {
         assertTrue(exists);
     }
 
+    /**
+     * Test that reader and writer connections are borrowed from and returned to their pools.
+     */
+    @Test
+    public void testAcquireAndReleasePooledConnections() throws SQLException {
+    	System.out.println("Running testAcquireAndReleasePooledConnections...");
+        try (PooledConnection reader = dbManager.acquireReader();
+             PooledConnection writer = dbManager.acquireWriter()) {
+            assertNotNull(reader.getConnection());
+            assertNotNull(writer.getConnection());
+            assertEquals(1, dbManager.getReaderPoolStats().getActive());
+            assertEquals(1, dbManager.getWriterPoolStats().getActive());
+        }
+        assertEquals(0, dbManager.getReaderPoolStats().getActive());
+        assertEquals(0, dbManager.getWriterPoolStats().getActive());
+    }
+
+    /**
+     * Test that connections from the reader lane reject writes.
+     */
+    @Test(expected = SQLException.class)
+    public void testReaderConnectionIsReadOnly() throws SQLException {
+    	System.out.println("Running testReaderConnectionIsReadOnly...");
+        try (PooledConnection reader = dbManager.acquireReader();
+             Statement stmt = reader.createStatement()) {
+            stmt.executeUpdate("DELETE FROM User WHERE Username = 'testUser'");
+        }
+    }
+
+    /**
+     * Test that reader connections get the storage profile's smaller reader page cache.
+     */
+    @Test
+    public void testReaderAndWriterCacheSizes() throws SQLException {
+    	System.out.println("Running testReaderAndWriterCacheSizes...");
+        StorageProfile profile = dbManager.getConfig().getStorageProfile();
+        try (PooledConnection reader = dbManager.acquireReader();
+             PooledConnection writer = dbManager.acquireWriter()) {
+            assertEquals(-profile.getReaderCacheSizeKib(), cacheSize(reader));
+            assertEquals(-profile.getCacheSizeKib(), cacheSize(writer));
+        }
+    }
+
+    private static int cacheSize(PooledConnection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA cache_size")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Test that preparing the same SQL twice on a connection is served from the statement cache.
+     */
+    @Test
+    public void testStatementCacheReusesStatements() throws SQLException {
+    	System.out.println("Running testStatementCacheReusesStatements...");
+        long hitsBefore = dbManager.getReaderPoolStats().getStatementCacheHits();
+        try (PooledConnection reader = dbManager.acquireReader()) {
+            PreparedStatement first = reader.prepareCached("SELECT * FROM User WHERE Username = ?");
+            PreparedStatement second = reader.prepareCached("SELECT * FROM User WHERE Username = ?");
+            assertSame(first, second);
+        }
+        assertEquals(hitsBefore + 1, dbManager.getReaderPoolStats().getStatementCacheHits());
+    }
+
+    /**
+     * Test that initialization migrates the database to the latest schema version,
+     * and that running the migrator again is a no-op.
+     */
+    @Test
+    public void testSchemaIsAtLatestVersion() throws SQLException {
+    	System.out.println("Running testSchemaIsAtLatestVersion...");
+        SchemaMigrator migrator = new SchemaMigrator(SchemaMigrations.all());
+        assertEquals(migrator.getLatestVersion(), migrator.getCurrentVersion(dbManager.getConnection()));
+        assertEquals(0, migrator.migrate(dbManager.getConnection()));
+    }
+
+    /**
+     * Test that rebuilding Post during the epoch migration keeps the AUTOINCREMENT sequence,
+     * even when every post was deleted beforehand and the rebuilt table starts empty.
+     */
+    @Test
+    public void testEpochMigrationKeepsPostSequence() throws SQLException {
+    	System.out.println("Running testEpochMigrationKeepsPostSequence...");
+        try (Connection scratch = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = scratch.createStatement()) {
+            new SchemaMigrator(SchemaMigrations.all().subList(0, 2)).migrate(scratch);
+            stmt.executeUpdate("INSERT INTO Post (Content, Author, Likes, Shares, DateTime, UserID) VALUES ('gone', 'a', 1, 1, '2023-01-01T10:00', 1)");
+            stmt.executeUpdate("DELETE FROM Post");
+            new SchemaMigrator(SchemaMigrations.all()).migrate(scratch);
+            try (ResultSet rs = stmt.executeQuery("SELECT seq FROM sqlite_sequence WHERE name = 'Post'")) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getLong(1));
+            }
+        }
+    }
+
     @After
     public void tearDown() throws DatabaseException {
     	System.out.println("Tearing down...");
@@ -0,0 +1,98 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import exceptions.PostException;
+import importer.DuplicateFilter;
+import models.Post;
+
+/**
+ * A test suite for the DuplicateFilter class, using an in-memory list in place of the Post table.
+ */
+public class DuplicateFilterTest {
+
+	private final List<Post> stored = new ArrayList<>();
+	private int lookups;
+
+	private boolean exists(Post post) {
+		lookups++;
+		for (Post existing : stored) {
+			if (existing.getAuthor().equals(post.getAuthor()) && existing.getContent().equals(post.getContent())
+					&& existing.getEpochMillis() == post.getEpochMillis()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Test that existing posts and repeats within the import are removed, and new posts are kept in order.
+	 */
+	@Test
+	public void testRemovesExistingAndRepeatedPosts() throws PostException {
+		System.out.println("Running testRemovesExistingAndRepeatedPosts...");
+		for (int i = 0; i < 100; i++) {
+			stored.add(new Post("Post " + i, "testuser", i, i, "12/01/2023 09:00", 1));
+		}
+		DuplicateFilter filter = new DuplicateFilter(1000, this::exists);
+		for (Post post : stored) {
+			filter.addExisting(post.getDuplicateKey());
+		}
+
+		List<Post> imported = new ArrayList<>();
+		imported.add(new Post("Post 5", "testuser", 0, 0, "12/01/2023 09:00", 1));   // Exists
+		imported.add(new Post("Post 5", "testuser", 0, 0, "12/01/2023 09:01", 1));   // Other date
+		imported.add(new Post("Post 500", "testuser", 0, 0, "12/01/2023 09:00", 1)); // New
+		imported.add(new Post("Post 500", "testuser", 9, 9, "12/01/2023 09:00", 1)); // Repeats the new post
+		List<Post> newPosts = filter.removeDuplicates(imported);
+
+		assertEquals(2, newPosts.size());
+		assertEquals(LocalDateTime.of(2023, 1, 12, 9, 1), newPosts.get(0).getDateTime());
+		assertEquals("Post 500", newPosts.get(1).getContent());
+		assertEquals(2, filter.getDuplicates());
+	}
+
+	/**
+	 * Test that new posts rarely need an exact lookup.
+	 */
+	@Test
+	public void testNewPostsSkipLookups() throws PostException {
+		System.out.println("Running testNewPostsSkipLookups...");
+		DuplicateFilter filter = new DuplicateFilter(20000, this::exists);
+		for (int i = 0; i < 10000; i++) {
+			filter.addExisting(new Post("Old " + i, "testuser", 0, 0, "12/01/2023 09:00", 1).getDuplicateKey());
+		}
+		List<Post> imported = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			imported.add(new Post("New " + i, "testuser", 0, 0, "12/01/2023 09:00", 1));
+		}
+
+		assertEquals(10000, filter.removeDuplicates(imported).size());
+		assertEquals(lookups, filter.getLookups());
+		assertTrue("Lookups: " + lookups, lookups < 500);
+	}
+
+	/**
+	 * Test that a filter sized too small grows instead of letting every new post need a lookup.
+	 */
+	@Test
+	public void testGrowsBeyondExpectedPosts() throws PostException {
+		System.out.println("Running testGrowsBeyondExpectedPosts...");
+		DuplicateFilter filter = new DuplicateFilter(100, this::exists);
+		List<Post> imported = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			imported.add(new Post("New " + i, "testuser", 0, 0, "12/01/2023 09:00", 1));
+		}
+
+		assertEquals(10000, filter.removeDuplicates(imported).size());
+		assertTrue("Filters: " + filter.getFilterCount(), filter.getFilterCount() > 1);
+		assertTrue("Lookups: " + lookups, lookups < 500);
+	}
+}
@@ -0,0 +1,255 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import exceptions.CsvLoadingException;
+import exceptions.PostException;
+import importer.CsvRowSource;
+import importer.ImportBatch;
+import importer.ImportPipeline;
+import importer.ImportProgress;
+import importer.ImportStats;
+import importer.RejectReport;
+import models.User;
+
+/**
+ * A test suite for the ImportPipeline class, using an in-memory batch writer in place of the database.
+ */
+public class ImportPipelineTest {
+
+	private User testUser;
+	private File csvFile;
+	private List<ImportBatch> batches;
+
+	@Before
+	public void setUp() throws IOException {
+		System.out.println("Setting up ImportPipelineTest test file...");
+		testUser = new User("testuser", "dummyhashedpassword", "dummysalt", "Test", "User", false);
+		testUser.setUserId(1);
+		batches = new ArrayList<>();
+
+		StringBuilder csv = new StringBuilder("ID,content,author,likes,shares,date-time\n");
+		for (int i = 0; i < 250; i++) {
+			String author = i % 5 == 0 ? "otheruser" : "testuser";
+			csv.append(i).append(",\"Post ").append(i).append(", pipelined\",").append(author).append(',')
+				.append(i).append(',').append(i).append(",12/01/2023 09:00\n");
+		}
+		csvFile = File.createTempFile("pipeline-import", ".csv");
+		Files.write(csvFile.toPath(), csv.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@After
+	public void tearDown() {
+		csvFile.delete();
+	}
+
+	/**
+	 * Test that every row reaches the writer once, in file order and in batches of the requested size.
+	 */
+	@Test
+	public void testWritesBatchesInOrder() throws Exception {
+		System.out.println("Running testWritesBatchesInOrder...");
+		ImportStats stats = new ImportPipeline(new CsvRowSource(csvFile), testUser, batches::add, 100, 8).run();
+
+		assertEquals(250, stats.getRowsRead());
+		assertEquals(200, stats.getPostsAccepted());
+		assertEquals(csvFile.length(), stats.getBytesRead());
+		assertEquals(3, batches.size());
+		assertEquals(100, batches.get(0).getRows());
+		assertEquals(50, batches.get(2).getRows());
+		assertEquals(csvFile.length(), batches.get(2).getEndByteOffset());
+
+		int expectedLikes = 1;
+		for (ImportBatch batch : batches) {
+			for (int i = 0; i < batch.getPosts().size(); i++, expectedLikes++) {
+				if (expectedLikes % 5 == 0) {
+					expectedLikes++;
+				}
+				assertEquals(expectedLikes, batch.getPosts().get(i).getLikes());
+			}
+		}
+	}
+
+	/**
+	 * Test that an invalid row stops the pipeline before any batch containing it is written.
+	 */
+	@Test
+	public void testInvalidRowStopsPipeline() throws Exception {
+		System.out.println("Running testInvalidRowStopsPipeline...");
+		String csv = "ID,content,author,likes,shares,date-time\n"
+			+ "1,ok,testuser,1,1,12/01/2023 09:00\n"
+			+ "2,ok,testuser,1,1,12/01/2023 09:00\n"
+			+ "3,bad,testuser,x,1,12/01/2023 09:00\n"
+			+ "4,ok,testuser,1,1,12/01/2023 09:00\n";
+		Files.write(csvFile.toPath(), csv.getBytes(StandardCharsets.UTF_8));
+		try {
+			new ImportPipeline(new CsvRowSource(csvFile), testUser, batches::add, 2, 1).run();
+			fail("The invalid row should stop the import");
+		} catch (CsvLoadingException e) {
+			assertEquals("Invalid integer value for field: likes on line 4", e.getMessage());
+			assertTrue(batches.size() <= 1);
+		}
+	}
+
+	/**
+	 * Test that a lenient import skips invalid rows and lists them in the reject report.
+	 */
+	@Test
+	public void testSkipsAndReportsInvalidRows() throws Exception {
+		System.out.println("Running testSkipsAndReportsInvalidRows...");
+		String csv = "ID,content,author,likes,shares,date-time\n"
+			+ "1,ok,testuser,1,1,12/01/2023 09:00\n"
+			+ "2,\"bad, likes\",testuser,x,1,12/01/2023 09:00\n"
+			+ "3,ok,testuser,1,1,12/01/2023 09:00\n"
+			+ "4,short,testuser\n"
+			+ "5,ok,otheruser,1,1,12/01/2023 09:00\n";
+		Files.write(csvFile.toPath(), csv.getBytes(StandardCharsets.UTF_8));
+		File reportFile = RejectReport.defaultFileFor(csvFile);
+		try (RejectReport rejects = new RejectReport(reportFile)) {
+			ImportStats stats = new ImportPipeline(new CsvRowSource(csvFile), testUser, batches::add, 2, 1, rejects).run();
+
+			assertEquals(5, stats.getRowsRead());
+			assertEquals(2, stats.getPostsAccepted());
+			assertEquals(2, stats.getRowsRejected());
+		}
+		try {
+			List<String> lines = Files.readAllLines(reportFile.toPath(), StandardCharsets.UTF_8);
+			assertEquals(3, lines.size());
+			assertEquals("3,Invalid integer value for field: likes on line 3,2,\"bad, likes\",testuser,x,1,12/01/2023 09:00", lines.get(1));
+			assertTrue(lines.get(2).startsWith("5,"));
+		} finally {
+			reportFile.delete();
+		}
+	}
+
+	/**
+	 * Test that an import stopped by a failed batch can resume from the checkpoint of the last written batch.
+	 */
+	@Test
+	public void testResumesFromLastBatch() throws Exception {
+		System.out.println("Running testResumesFromLastBatch...");
+		try {
+			new ImportPipeline(new CsvRowSource(csvFile), testUser, batch -> {
+				if (!batches.isEmpty()) {
+					throw new PostException("Disk full", null);
+				}
+				batches.add(batch);
+			}, 60, 4).run();
+			fail("The second batch should fail");
+		} catch (PostException e) {
+			assertEquals(1, batches.size());
+		}
+
+		ImportBatch checkpoint = batches.get(0);
+		assertEquals(62, checkpoint.getNextLineNumber());
+		ImportStats stats = new ImportPipeline(new CsvRowSource(csvFile, checkpoint.getEndByteOffset(), checkpoint.getNextLineNumber()),
+			testUser, batches::add, 60, 4).run();
+
+		assertEquals(190, stats.getRowsRead());
+		assertEquals(csvFile.length(), stats.getBytesRead());
+		assertEquals(61, batches.get(1).getPosts().get(0).getLikes());
+	}
+
+	/**
+	 * Test that resuming from a checkpoint drops the rows reported after it, so every rejected row is listed once.
+	 */
+	@Test
+	public void testResumeReportsRejectedRowsOnce() throws Exception {
+		System.out.println("Running testResumeReportsRejectedRowsOnce...");
+		String csv = "ID,content,author,likes,shares,date-time\n"
+			+ "1,bad,testuser,x,1,12/01/2023 09:00\n"
+			+ "2,ok,testuser,1,1,12/01/2023 09:00\n"
+			+ "3,bad,testuser,y,1,12/01/2023 09:00\n"
+			+ "4,ok,testuser,1,1,12/01/2023 09:00\n";
+		Files.write(csvFile.toPath(), csv.getBytes(StandardCharsets.UTF_8));
+		File reportFile = RejectReport.defaultFileFor(csvFile);
+		List<Long> reportLengths = new ArrayList<>();
+		try {
+			try (RejectReport rejects = new RejectReport(reportFile)) {
+				new ImportPipeline(new CsvRowSource(csvFile), testUser, batch -> {
+					try {
+						reportLengths.add(rejects.flush());
+					} catch (IOException e) {
+						throw new PostException("Report failed", e);
+					}
+					if (!batches.isEmpty()) {
+						throw new PostException("Disk full", null);
+					}
+					batches.add(batch);
+				}, 2, 1, rejects).run();
+				fail("The second batch should fail");
+			} catch (PostException e) {
+				assertEquals(1, batches.size());
+			}
+
+			ImportBatch checkpoint = batches.get(0);
+			try (RejectReport rejects = new RejectReport(reportFile, reportLengths.get(0))) {
+				ImportStats stats = new ImportPipeline(new CsvRowSource(csvFile, checkpoint.getEndByteOffset(), checkpoint.getNextLineNumber()),
+					testUser, batches::add, 2, 1, rejects).run();
+				assertEquals(1, stats.getRowsRejected());
+			}
+
+			List<String> lines = Files.readAllLines(reportFile.toPath(), StandardCharsets.UTF_8);
+			assertEquals(3, lines.size());
+			assertTrue(lines.get(1).startsWith("2,"));
+			assertTrue(lines.get(2).startsWith("4,"));
+		} finally {
+			reportFile.delete();
+		}
+	}
+
+	/**
+	 * Test that a writer failure is reported to the caller.
+	 */
+	@Test(expected = PostException.class)
+	public void testWriterFailureStopsPipeline() throws Exception {
+		System.out.println("Running testWriterFailureStopsPipeline...");
+		new ImportPipeline(new CsvRowSource(csvFile), testUser, batch -> {
+			throw new PostException("Disk full", null);
+		}, 10, 4).run();
+	}
+
+	/**
+	 * Test that the progress counters follow the committed batches and that cancelling stops the import after a batch.
+	 */
+	@Test
+	public void testProgressAndCancel() throws Exception {
+		System.out.println("Running testProgressAndCancel...");
+		List<Long> writtenRows = new ArrayList<>();
+		ImportProgress progress = new ImportProgress(current -> {
+			writtenRows.add(current.getRowsWritten());
+			if (current.getRowsWritten() == 200) {
+				current.cancel();
+			}
+		});
+		progress.start(csvFile.length(), 0);
+		ImportPipeline pipeline = new ImportPipeline(new CsvRowSource(csvFile), testUser, batches::add, 100, 8);
+		pipeline.setProgress(progress);
+		try {
+			pipeline.run();
+			fail("The cancelled import should fail");
+		} catch (CsvLoadingException e) {
+			assertEquals("Import cancelled after 200 rows.", e.getMessage());
+		}
+		assertEquals(List.of(100L, 200L), writtenRows);
+		assertEquals(2, batches.size());
+		assertEquals(160, progress.getPostsWritten());
+		assertEquals(batches.get(1).getEndByteOffset(), progress.getBytesWritten());
+		assertTrue(progress.getRowsParsed() >= 200);
+		assertTrue(progress.getFractionDone() > 0.7 && progress.getFractionDone() < 0.9);
+		assertTrue(progress.getEtaMillis() >= 0);
+	}
+}
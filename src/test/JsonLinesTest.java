@@ -0,0 +1,189 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import exporter.PostExporter;
+import importer.ImportBatch;
+import importer.ImportPipeline;
+import importer.ImportStats;
+import importer.JsonLinesRowSource;
+import importer.RejectReport;
+import models.Post;
+import models.User;
+import utils.CsvRecord;
+import utils.JsonLinesTokenizer;
+
+/**
+ * A test suite for the JSON Lines format, checking the tokenizer, the writer and resuming a file mid-way.
+ */
+public class JsonLinesTest {
+
+	private User testUser;
+	private List<Post> posts;
+	private File jsonLinesFile;
+
+	@Before
+	public void setUp() throws IOException {
+		System.out.println("Setting up JsonLinesTest posts...");
+		testUser = new User("testuser", "dummyhashedpassword", "dummysalt", "Test", "User", false);
+		testUser.setUserId(1);
+		posts = new ArrayList<>();
+		posts.add(new Post(1, "Plain", "testuser", 1, 2, Post.parseDateTime("12/01/2023 09:00"), 1));
+		posts.add(new Post(2, "Hello, \"world\" \\ caf\u00e9 \uD83D\uDE00", "testuser", 3, 4, Post.parseDateTime("12/01/2023 09:05"), 1));
+		posts.add(new Post(3, "Two\r\nlines\tand \u0001", "testuser", 5, 6, Post.parseDateTime("2023-01-13T10:30"), 1));
+		jsonLinesFile = File.createTempFile("export", ".jsonl");
+	}
+
+	@After
+	public void tearDown() {
+		jsonLinesFile.delete();
+	}
+
+	/**
+	 * Test that an export reads back into the same posts, escaped content included.
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		System.out.println("Running testRoundTrip...");
+		long count = PostExporter.export(action -> {
+			posts.forEach(action);
+			return posts.size();
+		}, jsonLinesFile);
+		assertEquals(3, count);
+		assertEquals(3, Files.readAllLines(jsonLinesFile.toPath(), StandardCharsets.UTF_8).size());
+
+		List<Post> readBack = new ArrayList<>();
+		JsonLinesRowSource.readPosts(jsonLinesFile, testUser, readBack::add);
+		assertEquals(posts.size(), readBack.size());
+		for (int i = 0; i < posts.size(); i++) {
+			assertEquals(posts.get(i).getContent(), readBack.get(i).getContent());
+			assertEquals(posts.get(i).getLikes(), readBack.get(i).getLikes());
+			assertEquals(posts.get(i).getDateTime(), readBack.get(i).getDateTime());
+		}
+	}
+
+	/**
+	 * Test that members may come in any order, unknown members are skipped and null gives an empty field.
+	 */
+	@Test
+	public void testMemberOrderAndUnknownMembers() throws Exception {
+		System.out.println("Running testMemberOrderAndUnknownMembers...");
+		String input = "\n{ \"DateTime\" : \"12/01/2023 09:00\", \"tags\": [\"a\", {\"b\": \"}\"}], \"Likes\": 7,"
+				+ " \"Author\": \"testuser\", \"ID\": null, \"Shares\": 0, \"Content\": \"Hi \\u0041\" }\r\n";
+		try (JsonLinesTokenizer tokenizer = new JsonLinesTokenizer(new StringReader(input))) {
+			assertTrue(tokenizer.nextRecord());
+			CsvRecord record = tokenizer.getRecord();
+			assertEquals(2, record.getLineNumber());
+			assertEquals("", record.get(0));
+			assertEquals("Hi A", record.get(1));
+			assertEquals("testuser", record.get(2));
+			assertEquals(7, record.getInt(3));
+			assertEquals(0, record.getInt(4));
+			assertEquals("12/01/2023 09:00", record.get(5));
+			assertEquals(input.length(), record.getEndByteOffset());
+			assertFalse(tokenizer.nextRecord());
+		}
+	}
+
+	/**
+	 * Test that a malformed line is returned with its line number and parse error, and reading carries on after it.
+	 */
+	@Test
+	public void testMalformedLine() throws IOException {
+		System.out.println("Running testMalformedLine...");
+		String input = "{\"ID\": 1}\n{\"ID\": 2,}\r\n{\"ID\": \"3\n{\"ID\": 4}\n";
+		try (JsonLinesTokenizer tokenizer = new JsonLinesTokenizer(new StringReader(input))) {
+			assertTrue(tokenizer.nextRecord());
+			assertNull(tokenizer.getRecord().getParseError());
+
+			assertTrue(tokenizer.nextRecord());
+			CsvRecord record = tokenizer.getRecord();
+			assertEquals("Malformed JSON on line 2: expected a member name.", record.getParseError());
+			assertEquals(1, record.size());
+			assertEquals("{\"ID\": 2,}", record.get(0));
+			assertEquals(3, record.getNextLineNumber());
+
+			// The line break ends the unterminated string
+			assertTrue(tokenizer.nextRecord());
+			assertEquals("Malformed JSON on line 3: unterminated string.", tokenizer.getRecord().getParseError());
+			assertEquals("{\"ID\": \"3", tokenizer.getRecord().get(0));
+
+			assertTrue(tokenizer.nextRecord());
+			assertEquals(4, tokenizer.getRecord().getLineNumber());
+			assertEquals("4", tokenizer.getRecord().get(0));
+			assertEquals(input.length(), tokenizer.getRecord().getEndByteOffset());
+			assertFalse(tokenizer.nextRecord());
+		}
+	}
+
+	/**
+	 * Test that a lenient import reports a malformed line and imports the lines around it.
+	 */
+	@Test
+	public void testLenientImportSkipsMalformedLine() throws Exception {
+		System.out.println("Running testLenientImportSkipsMalformedLine...");
+		String input = "{\"ID\":1,\"Content\":\"ok\",\"Author\":\"testuser\",\"Likes\":1,\"Shares\":1,\"DateTime\":\"12/01/2023 09:00\"}\n"
+				+ "{\"ID\":2,\"Content\":\"bad\" \"Author\":\"testuser\"}\n"
+				+ "{\"ID\":3,\"Content\":\"ok\",\"Author\":\"testuser\",\"Likes\":3,\"Shares\":1,\"DateTime\":\"12/01/2023 09:00\"}\n";
+		Files.write(jsonLinesFile.toPath(), input.getBytes(StandardCharsets.UTF_8));
+		List<ImportBatch> batches = new ArrayList<>();
+		File reportFile = RejectReport.defaultFileFor(jsonLinesFile);
+		try {
+			try (RejectReport rejects = new RejectReport(reportFile)) {
+				ImportStats stats = new ImportPipeline(new JsonLinesRowSource(jsonLinesFile), testUser, batches::add, 10, 4, rejects).run();
+				assertEquals(3, stats.getRowsRead());
+				assertEquals(2, stats.getPostsAccepted());
+				assertEquals(1, stats.getRowsRejected());
+			}
+			assertEquals(3, batches.get(0).getPosts().get(1).getLikes());
+			List<String> lines = Files.readAllLines(reportFile.toPath(), StandardCharsets.UTF_8);
+			assertEquals(2, lines.size());
+			assertEquals("2,\"Malformed JSON on line 2: expected ',' or '}'.\",\"{\"\"ID\"\":2,\"\"Content\"\":\"\"bad\"\" \"\"Author\"\":\"\"testuser\"\"}\"", lines.get(1));
+		} finally {
+			reportFile.delete();
+		}
+	}
+
+	/**
+	 * Test that reading can resume from the end offset of a record, as recorded by an import checkpoint.
+	 */
+	@Test
+	public void testResumeFromOffset() throws Exception {
+		System.out.println("Running testResumeFromOffset...");
+		PostExporter.export(action -> {
+			posts.forEach(action);
+			return posts.size();
+		}, jsonLinesFile);
+
+		long endByteOffset;
+		long nextLineNumber;
+		try (JsonLinesRowSource source = new JsonLinesRowSource(jsonLinesFile)) {
+			source.next();
+			CsvRecord second = source.next();
+			endByteOffset = second.getEndByteOffset();
+			nextLineNumber = second.getNextLineNumber();
+		}
+		try (JsonLinesRowSource source = new JsonLinesRowSource(jsonLinesFile, endByteOffset, nextLineNumber)) {
+			CsvRecord third = source.next();
+			assertEquals("3", third.get(0));
+			assertEquals(3, third.getLineNumber());
+			assertNull(source.next());
+		}
+	}
+}
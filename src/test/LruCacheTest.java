@@ -0,0 +1,102 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import utils.CacheStats;
+import utils.LruCache;
+
+/**
+ * A test suite for the LruCache class, ensuring its size and time based eviction,
+ * invalidation and statistics.
+ */
+public class LruCacheTest {
+
+	private long now;
+
+	/**
+	 * Test that the least recently used entry is evicted once the cache is full.
+	 */
+	@Test
+	public void testEvictsLeastRecentlyUsed() {
+		System.out.println("Running testEvictsLeastRecentlyUsed...");
+		LruCache<Integer, String> cache = new LruCache<>("Test", 2, 0);
+		cache.put(1, "one", cache.getGeneration());
+		cache.put(2, "two", cache.getGeneration());
+		assertEquals("one", cache.get(1));  // 2 is now the least recently used
+		cache.put(3, "three", cache.getGeneration());
+
+		assertNull(cache.get(2));
+		assertEquals("one", cache.get(1));
+		assertEquals("three", cache.get(3));
+		assertEquals(1, cache.getStats().getEvictions());
+	}
+
+	/**
+	 * Test that entries expire after the time to live.
+	 */
+	@Test
+	public void testExpiresAfterTimeToLive() {
+		System.out.println("Running testExpiresAfterTimeToLive...");
+		LruCache<Integer, String> cache = new LruCache<>("Test", 10, 1000, () -> now);
+		now = 0;
+		cache.put(1, "one", cache.getGeneration());
+		now = 999;
+		assertEquals("one", cache.get(1));
+		now = 1000;
+		assertNull(cache.get(1));
+		assertEquals(1, cache.getStats().getExpirations());
+	}
+
+	/**
+	 * Test that invalidation removes the entry and rejects values loaded before it.
+	 */
+	@Test
+	public void testInvalidateRejectsStaleLoads() {
+		System.out.println("Running testInvalidateRejectsStaleLoads...");
+		LruCache<Integer, String> cache = new LruCache<>("Test", 10, 0);
+		cache.put(1, "one", cache.getGeneration());
+		long generation = cache.getGeneration();
+		cache.invalidate(1);
+		assertNull(cache.get(1));
+
+		// A value read before the invalidation must not be cached
+		cache.put(1, "stale", generation);
+		assertNull(cache.get(1));
+		cache.put(1, "fresh", cache.getGeneration());
+		assertEquals("fresh", cache.get(1));
+	}
+
+	/**
+	 * Test the hit ratio statistics.
+	 */
+	@Test
+	public void testHitRatio() {
+		System.out.println("Running testHitRatio...");
+		LruCache<Integer, String> cache = new LruCache<>("Test", 10, 0);
+		cache.get(1);
+		cache.put(1, "one", cache.getGeneration());
+		cache.get(1);
+		cache.get(1);
+		cache.get(1);
+
+		CacheStats stats = cache.getStats();
+		assertEquals(3, stats.getHits());
+		assertEquals(1, stats.getMisses());
+		assertEquals(0.75, stats.getHitRatio(), 0.0001);
+	}
+
+	/**
+	 * Test that a cache of size 0 never stores anything.
+	 */
+	@Test
+	public void testZeroSizeDisablesCaching() {
+		System.out.println("Running testZeroSizeDisablesCaching...");
+		LruCache<Integer, String> cache = new LruCache<>("Test", 0, 0);
+		cache.put(1, "one", cache.getGeneration());
+		assertNull(cache.get(1));
+		assertEquals(0, cache.getStats().getSize());
+	}
+}
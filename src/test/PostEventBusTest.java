@@ -0,0 +1,66 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import enums.PostEventType;
+import events.PostEvent;
+import events.PostEventBus;
+import models.Post;
+
+/**
+ * A test suite for the PostEventBus class, ensuring that events reach the subscribed
+ * listeners only and that a failing listener does not keep events from the others.
+ */
+public class PostEventBusTest {
+
+	private PostEventBus bus;
+	private Post post;
+
+	@Before
+	public void setUp() {
+		bus = new PostEventBus();
+		post = new Post(1, "EventTest", "EventAuthor", 3, 1, "12/01/2023 09:00", 42);
+	}
+
+	@Test
+	public void testPublishReachesSubscribedListeners() {
+		System.out.println("Running testPublishReachesSubscribedListeners...");
+		List<PostEvent> received = new ArrayList<>();
+		PostEventBus.Listener listener = received::add;
+		bus.subscribe(listener);
+		assertEquals(1, bus.getListenerCount());
+
+		PostEvent event = new PostEvent(PostEventType.Added, post, null);
+		bus.publish(event);
+		assertEquals(1, received.size());
+		assertSame(event, received.get(0));
+		assertSame(post, received.get(0).getPost());
+
+		bus.unsubscribe(listener);
+		assertEquals(0, bus.getListenerCount());
+		bus.publish(new PostEvent(PostEventType.Deleted, post, null));
+		assertEquals(1, received.size());
+	}
+
+	@Test
+	public void testFailingListenerDoesNotStopOthers() {
+		System.out.println("Running testFailingListenerDoesNotStopOthers...");
+		List<PostEvent> received = new ArrayList<>();
+		bus.subscribe(event -> {
+			throw new IllegalStateException("Listener failure");
+		});
+		bus.subscribe(received::add);
+
+		bus.publish(new PostEvent(List.of(post, post)));
+		assertEquals(1, received.size());
+		assertEquals(PostEventType.Bulk_added, received.get(0).getType());
+		assertEquals(2, received.get(0).getPosts().size());
+	}
+}
@@ -0,0 +1,93 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import exceptions.PostException;
+import exporter.PostExporter;
+import models.Post;
+import models.User;
+import utils.CSVUtils;
+
+/**
+ * A test suite for the PostExporter class, checking that exported files read back into the same posts.
+ */
+public class PostExporterTest {
+
+	private User testUser;
+	private List<Post> posts;
+	private File exportFile;
+
+	@Before
+	public void setUp() throws IOException {
+		System.out.println("Setting up PostExporterTest posts...");
+		testUser = new User("testuser", "dummyhashedpassword", "dummysalt", "Test", "User", false);
+		testUser.setUserId(1);
+		posts = new ArrayList<>();
+		posts.add(new Post(1, "Plain", "testuser", 1, 2, Post.parseDateTime("12/01/2023 09:00"), 1));
+		posts.add(new Post(2, "Hello, \"world\"", "testuser", 3, 4, Post.parseDateTime("12/01/2023 09:05"), 1));
+		posts.add(new Post(3, "Two\r\nlines", "testuser", 5, 6, Post.parseDateTime("2023-01-13T10:30"), 1));
+		exportFile = File.createTempFile("export", ".csv.gz");
+	}
+
+	@After
+	public void tearDown() {
+		exportFile.delete();
+	}
+
+	/**
+	 * Test that a compressed export reads back into the same posts, quoted content included.
+	 */
+	@Test
+	public void testGzipRoundTrip() throws Exception {
+		System.out.println("Running testGzipRoundTrip...");
+		long count = PostExporter.exportCsv(action -> {
+			posts.forEach(action);
+			return posts.size();
+		}, exportFile, PostExporter.isGzipFile(exportFile));
+		assertEquals(3, count);
+
+		List<Post> readBack = new ArrayList<>();
+		try (Reader reader = new InputStreamReader(new GZIPInputStream(new FileInputStream(exportFile)), StandardCharsets.UTF_8)) {
+			CSVUtils.readPosts(reader, testUser, readBack::add);
+		}
+		assertEquals(posts.size(), readBack.size());
+		for (int i = 0; i < posts.size(); i++) {
+			assertEquals(posts.get(i).getContent(), readBack.get(i).getContent());
+			assertEquals(posts.get(i).getShares(), readBack.get(i).getShares());
+			assertEquals(posts.get(i).getDateTime(), readBack.get(i).getDateTime());
+		}
+	}
+
+	/**
+	 * Test that a failed query does not leave a truncated file behind.
+	 */
+	@Test
+	public void testFailedExportRemovesFile() throws IOException {
+		System.out.println("Running testFailedExportRemovesFile...");
+		try {
+			PostExporter.exportCsv(action -> {
+				action.accept(posts.get(0));
+				throw new PostException("Query failed", null);
+			}, exportFile, true);
+			fail("The query failure should be reported");
+		} catch (PostException e) {
+			assertFalse(exportFile.exists());
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import enums.PostEventType;
+import enums.SortBy;
+import events.PostEvent;
+import models.Post;
+import models.User;
+import utils.PostIndex;
+
+/**
+ * A test suite for the PostIndex class, ensuring that top N and range requests are answered
+ * per user and for all posts, and that the index follows committed changes.
+ */
+public class PostIndexTest {
+
+	private User alice;
+	private User bob;
+	private PostIndex index;
+
+	@Before
+	public void setUp() {
+		alice = new User(1, "alice", "", "", "Alice", "Test", false);
+		bob = new User(2, "bob", "", "", "Bob", "Test", false);
+		index = new PostIndex();
+	}
+
+	private static Post post(int postId, int likes, int shares, String dateTime, User user) {
+		return new Post(postId, "IndexTest" + postId, user.getUsername(), likes, shares, dateTime, user.getUserId());
+	}
+
+	private static List<Integer> ids(List<Post> posts) {
+		List<Integer> ids = new ArrayList<>();
+		for (Post post : posts) {
+			ids.add(post.getPostId());
+		}
+		return ids;
+	}
+
+	/**
+	 * Test that only covered users are answered and that the top N follow each order.
+	 */
+	@Test
+	public void testTopPostsPerUser() {
+		System.out.println("Running testTopPostsPerUser...");
+		assertFalse(index.covers(alice));
+		index.load(alice, List.of(post(1, 5, 10, "01/01/2023 09:00", alice), post(2, 7, 3, "02/01/2023 09:00", alice),
+				post(3, 5, 20, "03/01/2023 09:00", alice)));
+		assertTrue(index.covers(alice));
+		assertFalse(index.covers(bob));
+		assertFalse(index.covers(null));
+
+		assertEquals(List.of(2, 3), ids(index.top(SortBy.By_Likes, alice, 2)));  // Equal likes: higher PostID first
+		assertEquals(List.of(3, 1, 2), ids(index.top(SortBy.By_Shares, alice, 5)));
+		assertEquals(List.of(3), ids(index.top(SortBy.By_Date, alice, 1)));
+
+		// Posts of users that are not covered are not kept
+		index.apply(new PostEvent(PostEventType.Added, post(4, 100, 100, "04/01/2023 09:00", bob), null));
+		assertEquals(3, index.size());
+	}
+
+	/**
+	 * Test key ranges over likes and dates.
+	 */
+	@Test
+	public void testRange() {
+		System.out.println("Running testRange...");
+		index.load(null, List.of(post(1, 5, 0, "01/01/2023 09:00", alice), post(2, 7, 0, "02/01/2023 09:00", bob),
+				post(3, 9, 0, "03/01/2023 09:00", alice), post(4, 5, 0, "04/01/2023 09:00", bob)));
+		assertTrue(index.covers(alice));
+		assertTrue(index.covers(null));
+
+		assertEquals(List.of(2, 4, 1), ids(index.range(SortBy.By_Likes, null, 5, 7)));
+		assertEquals(List.of(4), ids(index.range(SortBy.By_Likes, bob, 0, 5)));
+		long from = Post.toEpochMillis(Post.parseDateTime("02/01/2023 00:00"));
+		long to = Post.toEpochMillis(Post.parseDateTime("03/01/2023 09:00"));
+		assertEquals(List.of(3, 2), ids(index.range(SortBy.By_Date, null, from, to)));
+		assertEquals(List.of(4, 3, 2, 1), ids(index.range(SortBy.By_Date, null, Long.MIN_VALUE, Long.MAX_VALUE)));
+	}
+
+	/**
+	 * Test that added, updated and deleted posts move within every order.
+	 */
+	@Test
+	public void testAppliesChanges() {
+		System.out.println("Running testAppliesChanges...");
+		Post first = post(1, 5, 5, "01/01/2023 09:00", alice);
+		index.load(alice, List.of(first, post(2, 7, 7, "02/01/2023 09:00", alice)));
+
+		index.apply(new PostEvent(List.of(post(3, 6, 6, "03/01/2023 09:00", alice))));
+		assertEquals(List.of(2, 3, 1), ids(index.top(SortBy.By_Likes, alice, 10)));
+
+		index.apply(new PostEvent(PostEventType.Updated, post(1, 50, 0, "01/01/2023 09:00", alice), first));
+		assertEquals(List.of(1, 2, 3), ids(index.top(SortBy.By_Likes, alice, 10)));
+		assertEquals(List.of(2, 3, 1), ids(index.top(SortBy.By_Shares, alice, 10)));
+
+		index.apply(new PostEvent(PostEventType.Deleted, post(2, 7, 7, "02/01/2023 09:00", alice), null));
+		assertEquals(List.of(1, 3), ids(index.top(SortBy.By_Likes, alice, 10)));
+		assertEquals(List.of(3, 1), ids(index.top(SortBy.By_Date, alice, 10)));
+		assertEquals(2, index.size());
+	}
+}
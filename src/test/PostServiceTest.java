@@ -1,9 +1,13 @@
 package test;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,9 +16,16 @@ import org.junit.Test;
 
 import database.DBManager;
 import database.PostDAO;
+import enums.CommitMode;
+import enums.PostEventType;
+import enums.SortBy;
+import events.PostEvent;
+import events.PostEventBus;
 import exceptions.DatabaseException;
 import exceptions.PostException;
 import models.Post;
+import models.PostPage;
+import models.User;
 import services.PostService;
 import services.PostServiceImpl;
 
@@ -103,4 +114,100 @@ public class PostServiceTest {
             assertTrue(postDAO.deletePostByAuthor(p.getAuthor()));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAddBulkPostsReturnsGeneratedIds() throws PostException, SQLException {
+        System.out.println("Running testAddBulkPostsReturnsGeneratedIds...");
+        List<Post> bulkPosts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bulkPosts.add(new Post("BatchTest" + i, "BatchAuthor", i, i, "12/01/2023 09:00", 1));
+        }
+        List<Integer> postIds = postService.addBulkPosts(bulkPosts, 2, CommitMode.Per_chunk);
+        assertEquals(5, postIds.size());
+        for (int i = 0; i < bulkPosts.size(); i++) {
+            assertEquals("BatchTest" + i, postService.getPostByID(postIds.get(i)).getContent());
+        }
+        
+        // Clean up: Remove the test posts from the database
+        assertTrue(postDAO.deletePostByAuthor("BatchAuthor"));
+    }
+
+    @Test
+    public void testFailedChunkPublishesCommittedPosts() throws PostException, SQLException {
+        System.out.println("Running testFailedChunkPublishesCommittedPosts...");
+        PostEventBus eventBus = new PostEventBus();
+        List<PostEvent> events = new ArrayList<>();
+        eventBus.subscribe(events::add);
+        PostService eventPostService = new PostServiceImpl(dbManager, eventBus);
+        List<Post> bulkPosts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            bulkPosts.add(new Post("ChunkTest" + i, "ChunkAuthor", i, i, "12/01/2023 09:00", 1));
+        }
+        // A post without a date can not be bound, so the third chunk fails
+        bulkPosts.add(new Post(0, "ChunkTest4", "ChunkAuthor", 4, 4, (LocalDateTime) null, 1));
+        try {
+            eventPostService.addBulkPosts(bulkPosts, 2, CommitMode.Per_chunk);
+            fail("The post without a date should fail its chunk");
+        } catch (PostException e) {
+            assertEquals(1, events.size());
+            assertEquals(PostEventType.Bulk_added, events.get(0).getType());
+            assertEquals(bulkPosts.subList(0, 4), events.get(0).getPosts());
+            assertEquals(0, bulkPosts.get(4).getPostId());
+        } finally {
+            // Clean up: Remove the committed chunks from the database
+            postDAO.deletePostByAuthor("ChunkAuthor");
+        }
+    }
+
+    @Test
+    public void testGetPostsPageWalksPostsInOrder() throws PostException, SQLException {
+        System.out.println("Running testGetPostsPageWalksPostsInOrder...");
+        // A user ID no real account has, so only the test posts are paged
+        User pageUser = new User(987654, "PageTestUser", "", "", "Page", "Test", false);
+        List<Post> pagePosts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            pagePosts.add(new Post("PageTest" + i, "PageAuthor", i % 3, i, "12/01/2023 09:0" + i, pageUser.getUserId()));
+        }
+        postService.addBulkPosts(pagePosts);
+
+        List<Integer> likes = new ArrayList<>();
+        Post after = null;
+        PostPage page;
+        do {
+            page = postService.getPostsPage(SortBy.By_Likes, pageUser, after, 2);
+            for (Post post : page.getPosts()) {
+                likes.add(post.getLikes());
+            }
+            after = page.getLastPost();
+        } while (page.hasMore());
+        assertEquals(List.of(2, 1, 1, 0, 0), likes);
+
+        page = postService.getPostsPage(SortBy.By_Date, pageUser, null, 2);
+        assertEquals("PageTest4", page.getPosts().get(0).getContent());
+        assertTrue(page.hasMore());
+
+        // Clean up: Remove the test posts from the database
+        assertTrue(postDAO.deletePostByAuthor("PageAuthor"));
+    }
+
+    @Test
+    public void testGetSharesHistogram() throws PostException, SQLException {
+        System.out.println("Running testGetSharesHistogram...");
+        User histogramUser = new User(987655, "HistogramTestUser", "", "", "Histogram", "Test", false);
+        int[] shares = {0, 99, 100, 999, 1000, 5000};
+        List<Post> histogramPosts = new ArrayList<>();
+        for (int share : shares) {
+            histogramPosts.add(new Post("HistogramTest", "HistogramAuthor", 1, share, "12/01/2023 09:00", histogramUser.getUserId()));
+        }
+        try {
+            postService.addBulkPosts(histogramPosts);
+
+            assertArrayEquals(new long[] {2, 2, 2}, postService.getSharesHistogram(histogramUser, 0, 100, 1000));
+            // 999 and 1000 both fall in [999, 5000), 5000 in the open last bucket
+            assertArrayEquals(new long[] {2, 1}, postService.getSharesHistogram(histogramUser, 999, 5000));
+        } finally {
+            // Clean up: Remove the test posts from the database, even if an assertion failed
+            postDAO.deletePostByAuthor("HistogramAuthor");
+        }
+    }
+}
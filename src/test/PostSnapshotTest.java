@@ -0,0 +1,120 @@
+package test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import models.Post;
+import snapshot.PostSnapshot;
+import snapshot.PostSnapshotWriter;
+
+/**
+ * A test suite for the PostSnapshot format, checking that snapshots read back into the same posts.
+ */
+public class PostSnapshotTest {
+
+	private List<Post> posts;
+	private File snapshotFile;
+
+	@Before
+	public void setUp() throws IOException {
+		System.out.println("Setting up PostSnapshotTest posts...");
+		posts = new ArrayList<>();
+		for (int i = 1; i <= 2500; i++) {
+			String author = i % 3 == 0 ? "alice" : "b\u00f6b";
+			String content = i % 7 == 0 ? "" : "Post \u00e9 #" + i + ", with \"quotes\"\nand lines";
+			posts.add(new Post(i, content, author, i * 2, i % 11, Post.fromEpochMillis(1_672_531_200_000L + i * 60_000L), i % 4));
+		}
+		snapshotFile = File.createTempFile("posts", ".snapshot");
+	}
+
+	@After
+	public void tearDown() {
+		snapshotFile.delete();
+	}
+
+	/**
+	 * Test that every column of every post reads back unchanged, and that no temporary file is left behind.
+	 */
+	@Test
+	public void testRoundTrip() throws IOException {
+		System.out.println("Running testRoundTrip...");
+		File directory = snapshotFile.getParentFile();
+		int spoolFilesBefore = directory.list((dir, name) -> name.startsWith("snapshot-content")).length;
+		try (PostSnapshotWriter writer = new PostSnapshotWriter(snapshotFile)) {
+			for (Post post : posts) {
+				writer.write(post);
+			}
+			writer.finish();
+		}
+		assertEquals(spoolFilesBefore, directory.list((dir, name) -> name.startsWith("snapshot-content")).length);
+
+		PostSnapshot snapshot = PostSnapshot.open(snapshotFile);
+		assertEquals(posts.size(), snapshot.size());
+		long totalLikes = 0;
+		for (int i = 0; i < posts.size(); i++) {
+			Post expected = posts.get(i);
+			Post actual = snapshot.getPost(i);
+			assertEquals(expected.getPostId(), actual.getPostId());
+			assertEquals(expected.getContent(), actual.getContent());
+			assertEquals(expected.getAuthor(), actual.getAuthor());
+			assertEquals(expected.getLikes(), actual.getLikes());
+			assertEquals(expected.getShares(), actual.getShares());
+			assertEquals(expected.getDateTime(), actual.getDateTime());
+			assertEquals(expected.getUserId(), actual.getUserId());
+			totalLikes += expected.getLikes();
+		}
+		assertEquals(totalLikes, snapshot.getTotalLikes());
+	}
+
+	/**
+	 * Test that closing a writer without finishing it, as after a failed scan, keeps the existing snapshot
+	 * and leaves no temporary file behind.
+	 */
+	@Test
+	public void testCloseWithoutFinishKeepsExistingSnapshot() throws IOException {
+		System.out.println("Running testCloseWithoutFinishKeepsExistingSnapshot...");
+		try (PostSnapshotWriter writer = new PostSnapshotWriter(snapshotFile)) {
+			writer.write(posts.get(0));
+			writer.finish();
+		}
+		byte[] existing = Files.readAllBytes(snapshotFile.toPath());
+		File directory = snapshotFile.getParentFile();
+		int tempFilesBefore = directory.list((dir, name) -> name.startsWith("snapshot")).length;
+
+		try (PostSnapshotWriter writer = new PostSnapshotWriter(snapshotFile)) {
+			for (Post post : posts) {
+				writer.write(post);
+			}
+		}
+
+		assertArrayEquals(existing, Files.readAllBytes(snapshotFile.toPath()));
+		assertEquals(1, PostSnapshot.open(snapshotFile).size());
+		assertEquals(tempFilesBefore, directory.list((dir, name) -> name.startsWith("snapshot")).length);
+	}
+
+	/**
+	 * Test that a file which is not a snapshot is refused.
+	 */
+	@Test
+	public void testRejectsOtherFiles() throws IOException {
+		System.out.println("Running testRejectsOtherFiles...");
+		Files.writeString(snapshotFile.toPath(), "ID,Content,Author,Likes,Shares,DateTime\n");
+		try {
+			PostSnapshot.open(snapshotFile);
+			fail("A CSV file should not open as a snapshot");
+		} catch (IOException e) {
+			assertEquals(snapshotFile.getName() + " is not a post snapshot.", e.getMessage());
+		}
+	}
+}
@@ -2,6 +2,7 @@ package test;
 
 import static org.junit.Assert.assertEquals;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 
 import org.junit.Test;
@@ -61,4 +62,17 @@ public class PostTest {
 		assertEquals(Integer.MAX_VALUE, post.getLikes());
 		assertEquals(Integer.MIN_VALUE, post.getShares());
 	}
+
+	/**
+	 * Test that both date formats map to the same epoch value and that it round-trips.
+	 */
+	@Test
+	public void testEpochMillisRoundTrip() {
+		System.out.println("Running testEpochMillisRoundTrip...");
+		Post post = new Post(1, "Content", "Author", 10, 5, "1/01/2021 10:00", 1);
+		Post isoPost = new Post(1, "Content", "Author", 10, 5, "2021-01-01T10:00", 1);
+		assertEquals(1609495200000L, post.getEpochMillis());
+		assertEquals(post.getEpochMillis(), isoPost.getEpochMillis());
+		assertEquals(LocalDateTime.of(2021, 1, 1, 10, 0), Post.fromEpochMillis(post.getEpochMillis()));
+	}
 }
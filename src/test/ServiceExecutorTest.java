@@ -0,0 +1,90 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import enums.ServiceResource;
+import exceptions.PostException;
+import services.ServiceExecutor;
+
+/**
+ * A test suite for the ServiceExecutor class, ensuring that the calls per resource are
+ * limited and that results and service exceptions reach the futures.
+ */
+public class ServiceExecutorTest {
+
+	private ServiceExecutor executor;
+
+	@Before
+	public void setUp() {
+		executor = new ServiceExecutor(2, 3, 1);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		executor.shutdown(5, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Test that no more calls than the limit use a resource at the same time, while other resources stay available.
+	 */
+	@Test
+	public void testLimitsCallsPerResource() throws Exception {
+		System.out.println("Running testLimitsCallsPerResource...");
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		List<CompletableFuture<Integer>> writes = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			int value = i;
+			writes.add(executor.submit(ServiceResource.Db_writer, () -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				release.await();
+				running.decrementAndGet();
+				return value;
+			}));
+		}
+
+		// A read is not held up by the writes waiting for their resource
+		assertEquals("read", executor.submit(ServiceResource.Db_reader, () -> "read").get(5, TimeUnit.SECONDS));
+		release.countDown();
+		for (int i = 0; i < writes.size(); i++) {
+			assertEquals(Integer.valueOf(i), writes.get(i).get(5, TimeUnit.SECONDS));
+		}
+		assertTrue(maxRunning.get() <= 2);
+		assertEquals(2, executor.getAvailablePermits(ServiceResource.Db_writer));
+	}
+
+	/**
+	 * Test that a service exception completes the future exceptionally and frees the resource.
+	 */
+	@Test
+	public void testServiceExceptionIsCause() throws Exception {
+		System.out.println("Running testServiceExceptionIsCause...");
+		CompletableFuture<Object> future = executor.submit(ServiceResource.Cpu_hashing, () -> {
+			throw new PostException("Failed to add post.", null);
+		});
+		try {
+			future.join();
+			fail("Expected the call to fail.");
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof PostException);
+			assertEquals("Failed to add post.", e.getCause().getMessage());
+		}
+		assertEquals(1, executor.getAvailablePermits(ServiceResource.Cpu_hashing));
+		assertEquals(Integer.valueOf(42), executor.submit(ServiceResource.Cpu_hashing, () -> 42).get(5, TimeUnit.SECONDS));
+	}
+}
@@ -0,0 +1,75 @@
+package utils;
+
+/**
+ * BloomFilter is a compact probabilistic set of 64-bit keys.
+ * <p>
+ * {@link #mightContain(long)} never returns false for a key that was added, and returns true
+ * for a key that was not added with roughly the configured false positive rate. It is used to
+ * skip exact lookups for keys that are certainly absent. Not thread-safe.
+ * </p>
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Constructs a filter sized for the expected number of keys.
+     *
+     * @param expectedKeys      The number of keys expected to be added.
+     * @param falsePositiveRate The acceptable false positive rate once that many keys were added, e.g. 0.01.
+     */
+    public BloomFilter(long expectedKeys, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1.");
+        }
+        long keys = Math.max(expectedKeys, 1);
+        // Optimal sizes: m = -n ln p / (ln 2)^2 bits and k = m / n ln 2 hash functions
+        long optimalBits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, Math.min(optimalBits, (long) Integer.MAX_VALUE * Long.SIZE));
+        this.bits = new long[(int) ((bitCount + Long.SIZE - 1) / Long.SIZE)];
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / keys * Math.log(2)));
+    }
+
+    /**
+     * @param key The key to add.
+     */
+    public void put(long key) {
+        long hash = mix(key);
+        long hash1 = hash & 0xffffffffL;
+        long hash2 = hash >>> 32;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (hash1 + i * hash2) % bitCount;
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return false if the key was certainly never added, true if it may have been
+     */
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        long hash1 = hash & 0xffffffffL;
+        long hash2 = hash >>> 32;
+        for (int i = 0; i < hashCount; i++) {
+            long index = (hash1 + i * hash2) % bitCount;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() { return bitCount; }
+    public int getHashCount() { return hashCount; }
+
+    // SplitMix64 finalizer, so that similar keys set unrelated bits
+    private static long mix(long key) {
+        long z = key + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,14 +1,19 @@
 package utils;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import exceptions.CsvLoadingException;
+import exceptions.PostException;
+import exporter.PostExporter;
 import models.Post;
 import models.User;
 
@@ -25,85 +30,157 @@ public class CSVUtils {
 	    * Reads posts from a given CSV file and returns a list of Post objects.
 	    *
 	    * @param csvFile The path to the CSV file containing posts.
-	    * @param user
+	    * @param currentUser The user importing the file; only posts authored by this user are read.
 	    * @return A list of Post objects extracted from the CSV file.
 	    * @throws CsvLoadingException if there's an issue with the CSV file format or content.
 	    */
 	    public static List<Post> readPosts(String csvFile, User currentUser) throws CsvLoadingException {
 	        List<Post> posts = new ArrayList<>();
-	        
-	        // The try-with-resources statement ensures that the reader is automatically closed after use
-	        // Reference : https://stackoverflow.com/questions/65033185/how-to-capture-the-field-values-in-the-csv-file-using-bufferedreader
-	        try (BufferedReader reader = new BufferedReader(new FileReader(csvFile))) {
-	            String line;
-	            
-	            // Skip the header row of the CSV file
-	            reader.readLine();
-	            while ((line = reader.readLine()) != null) {
-	                String[] data = line.split(",");
-	                
-	                // Verify if the CSV row has the expected number of columns
-	                if (data.length < 6) {
-	                    throw new CsvLoadingException("Missing data in CSV file" + line, null);
-	                }
-	                
-	                if (data.length > 6) {
-	                    throw new CsvLoadingException("Too many columns in CSV data.", null);
-	                }
-	                
-	                // Extract and validate data from the CSV row
-	                //int id = checkInt(data[0], "ID");
-	                String content = checkString(data[1], "content");
-	                String author = checkString(data[2], "author");
-	                int likes = checkInt(data[3], "likes");
-	                int shares = checkInt(data[4], "shares");
-	                String dateTime = checkString(data[5], "date-time");
-	                
-	                // If the author matches the current user's username, then add the post
-	                if (author.equals(currentUser.getUsername())) {
-	                    posts.add(new Post(content, author, likes, shares, dateTime, currentUser.getUserId()));
-	                }
-	                
-	            }
+	        readPosts(csvFile, currentUser, posts::add);
+	        return posts;
+	    }
+	    
+	    /**
+	    * Streams the posts of a CSV file to a consumer instead of collecting them, so that
+	    * files of any size are read with flat memory.
+	    *
+	    * @param csvFile The path to the CSV file containing posts.
+	    * @param currentUser The user importing the file; only posts authored by this user are passed on.
+	    * @param consumer Receives the posts in file order.
+	    * @return The number of posts passed to the consumer.
+	    * @throws CsvLoadingException if there's an issue with the CSV file format or content.
+	    */
+	    public static long readPosts(String csvFile, User currentUser, Consumer<Post> consumer) throws CsvLoadingException {
+	        try (Reader reader = new InputStreamReader(new FileInputStream(csvFile), StandardCharsets.UTF_8)) {
+	            return readPosts(reader, currentUser, consumer);
 	        } catch (IOException e) {
 	            System.out.println("Error reading CSV file: " + e.getMessage());
 	            // Propagate the exception to notify caller about the CSV reading error
 	            throw new CsvLoadingException("Error reading CSV file", e);
 	        }
+	    }
+	    
+	    /**
+	    * Streams the posts of CSV input to a consumer. The first record is the header and is skipped.
+	    * Fields follow RFC 4180, so quoted content may contain commas, quotes and line breaks.
+	    *
+	    * @param reader The CSV input; it is not closed.
+	    * @param currentUser The user importing the input; only posts authored by this user are passed on.
+	    * @param consumer Receives the posts in input order.
+	    * @return The number of posts passed to the consumer.
+	    * @throws CsvLoadingException if there's an issue with the CSV format or content.
+	    * @throws IOException if the input can not be read.
+	    */
+	    public static long readPosts(Reader reader, User currentUser, Consumer<Post> consumer) throws CsvLoadingException, IOException {
+	        CsvTokenizer tokenizer = new CsvTokenizer(reader);
 	        
-	        return posts;
+	        // Skip the header row of the CSV file
+	        if (!tokenizer.nextRecord()) {
+	            return 0;
+	        }
+	        
+	        long count = 0;
+	        while (tokenizer.nextRecord()) {
+	            Post post = toPost(tokenizer.getRecord(), currentUser);
+	            if (post != null) {
+	                consumer.accept(post);
+	                count++;
+	            }
+	        }
+	        return count;
 	    }
 	    
 	    /**
-	     * Checks if a given string value represents a valid integer. If not, throws an exception.
+	     * Validates a CSV record and converts it to a Post.
 	     *
-	     * @param value The string to check.
+	     * @param record The record with the columns ID, content, author, likes, shares and date-time.
+	     * @param currentUser The user importing the record.
+	     * @return The post, or null if it was authored by another user.
+	     * @throws CsvLoadingException if the record is malformed, has the wrong number of columns or invalid values.
+	     */
+	    public static Post toPost(CsvRecord record, User currentUser) throws CsvLoadingException {
+	        // A line the tokenizer could not split into fields
+	        if (record.getParseError() != null) {
+	            throw new CsvLoadingException(record.getParseError(), null);
+	        }
+	        
+	        // Verify if the CSV row has the expected number of columns
+	        if (record.size() < 6) {
+	            throw new CsvLoadingException("Missing data in CSV file on line " + record.getLineNumber() + ": " + record, null);
+	        }
+	        
+	        if (record.size() > 6) {
+	            throw new CsvLoadingException("Too many columns in CSV data on line " + record.getLineNumber() + ".", null);
+	        }
+	        
+	        // Extract and validate data from the CSV row
+	        //int id = checkInt(record, 0, "ID");
+	        String content = checkString(record, 1, "content");
+	        String author = checkString(record, 2, "author");
+	        int likes = checkInt(record, 3, "likes");
+	        int shares = checkInt(record, 4, "shares");
+	        String dateTime = checkString(record, 5, "date-time");
+	        
+	        // Only posts authored by the current user are imported
+	        if (!author.equals(currentUser.getUsername())) {
+	            return null;
+	        }
+	        
+	        try {
+	            return new Post(content, author, likes, shares, dateTime, currentUser.getUserId());
+	        } catch (DateTimeParseException e) {
+	            throw new CsvLoadingException("Invalid date-time value on line " + record.getLineNumber() + ": " + dateTime, e);
+	        }
+	    }
+	    
+	    /**
+	     * Checks if a given CSV field represents a valid integer. If not, throws an exception.
+	     *
+	     * @param record The CSV record.
+	     * @param index The index of the field in the record.
 	     * @param fieldName The name of the CSV column (used for error messages).
-	     * @return The integer representation of the given string.
+	     * @return The integer value of the field.
 	     * @throws CsvLoadingException if the value is empty or cannot be parsed as an integer.
 	     */
-	    private static int checkInt(String value, String fieldName) throws CsvLoadingException {
-	        if (value.trim().isEmpty()) {
-	            throw new CsvLoadingException("Missing integer value for field: " + fieldName, null);
+	    private static int checkInt(CsvRecord record, int index, String fieldName) throws CsvLoadingException {
+	        if (record.isBlank(index)) {
+	            throw new CsvLoadingException("Missing integer value for field: " + fieldName + " on line " + record.getLineNumber(), null);
 	        }
 	        try {
-	            return Integer.parseInt(value);
+	            return record.getInt(index);
 	        } catch (NumberFormatException e) {
-	            throw new CsvLoadingException("Invalid integer value for field: " + fieldName, e);
+	            throw new CsvLoadingException("Invalid integer value for field: " + fieldName + " on line " + record.getLineNumber(), e);
 	        }
 	    }
 	    
 	    /**
-	     * Checks if a given string value is valid and non-empty.
+	     * Checks if a given CSV field is valid and non-empty.
 	     *
-	     * @param value The string to check.
+	     * @param record The CSV record.
+	     * @param index The index of the field in the record.
 	     * @param fieldName The name of the CSV column (used for error messages).
 	     * @return The validated string value.
 	     * @throws CsvLoadingException if the value is empty.
 	     */
-	    private static String checkString(String value, String fieldName) throws CsvLoadingException {
-	        if (value.trim().isEmpty()) {
-	            throw new CsvLoadingException("Missing string value for field: " + fieldName, null);
+	    private static String checkString(CsvRecord record, int index, String fieldName) throws CsvLoadingException {
+	        if (record.isBlank(index)) {
+	            throw new CsvLoadingException("Missing string value for field: " + fieldName + " on line " + record.getLineNumber(), null);
+	        }
+	        return record.get(index);
+	    }
+	    
+	    /**
+	     * Encodes a value as one CSV field, quoting it when it contains a comma, a quote or a line break.
+	     *
+	     * @param value The raw field value.
+	     * @return the value as it should appear in a CSV file.
+	     */
+	    public static String escapeField(String value) {
+	        for (int i = 0; i < value.length(); i++) {
+	            char c = value.charAt(i);
+	            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+	                return '"' + value.replace("\"", "\"\"") + '"';
+	            }
 	        }
 	        return value;
 	    }
@@ -116,26 +193,13 @@ public class CSVUtils {
 	     * @return true if the data was successfully saved, false otherwise.
 	     */
 	    public static boolean savePostToFile(Post post, File file) {
-	        try (FileWriter fileWriter = new FileWriter(file)) {
-	            fileWriter.append("ID,Content,Author,Likes,Shares,DateTime\n");
-	            fileWriter.append(String.valueOf(post.getPostId()));
-	            fileWriter.append(",");
-	            fileWriter.append(post.getContent());
-	            fileWriter.append(",");
-	            fileWriter.append(post.getAuthor());
-	            fileWriter.append(",");
-	            fileWriter.append(String.valueOf(post.getLikes()));
-	            fileWriter.append(",");
-	            fileWriter.append(String.valueOf(post.getShares()));
-	            fileWriter.append(",");
-	            fileWriter.append(post.getDateTime().toString());
-	            fileWriter.append("\n");
-	            
-	            fileWriter.flush();
-	            fileWriter.close();
-	            
+	        try {
+	            PostExporter.export(action -> {
+	                action.accept(post);
+	                return 1;
+	            }, file);
 	            return true;
-	        } catch (IOException e) {
+	        } catch (IOException | PostException e) {
 	            System.out.println("Error writing to file: " + e.getMessage());
 	            return false;
 	        }
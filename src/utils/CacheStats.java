@@ -0,0 +1,55 @@
+package utils;
+
+/**
+ * CacheStats is an immutable snapshot of the counters of an {@link LruCache}.
+ * It is intended for logging and diagnostics.
+ */
+public class CacheStats {
+
+    private final String name;
+    private final int size;
+    private final int maxSize;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final long invalidations;
+
+    /**
+     * Constructs a CacheStats snapshot with all counters.
+     */
+    public CacheStats(String name, int size, int maxSize, long hits, long misses, long evictions, long expirations,
+            long invalidations) {
+        this.name = name;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.invalidations = invalidations;
+    }
+
+    public String getName() { return name; }
+    public int getSize() { return size; }
+    public int getMaxSize() { return maxSize; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getExpirations() { return expirations; }
+    public long getInvalidations() { return invalidations; }
+
+    /**
+     * @return the share of lookups served from the cache, between 0 and 1
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s cache [size=%d/%d, hits=%d, misses=%d, hitRatio=%.2f, evictions=%d, expirations=%d, invalidations=%d]",
+                name, size, maxSize, hits, misses, getHitRatio(), evictions, expirations, invalidations);
+    }
+}
@@ -0,0 +1,240 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * CsvRecord is one record read by a {@link CsvTokenizer}.
+ * <p>
+ * The tokenizer reuses a single CsvRecord for the whole file: the unescaped characters of
+ * all fields are kept in one shared char buffer and each field is a range of it. Reading a
+ * field with {@link #getInt(int)} or {@link #isBlank(int)} therefore allocates nothing, and
+ * {@link #get(int)} allocates only the returned String. A record must not be kept after the
+ * tokenizer moved on to the next one; take a {@link #copy()} or copy the values out instead.
+ * </p>
+ */
+public class CsvRecord {
+
+    private char[] data;
+    private int length;
+    private int[] starts;
+    private int[] ends;
+    private int fieldCount;
+    private long lineNumber;
+    private long byteOffset;
+    private long endByteOffset;
+    private long nextLineNumber;
+    private String parseError;
+
+    CsvRecord() {
+        this(new char[256], new int[16], new int[16]);
+    }
+
+    private CsvRecord(char[] data, int[] starts, int[] ends) {
+        this.data = data;
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * @return the number of fields in the record
+     */
+    public int size() {
+        return fieldCount;
+    }
+
+    /**
+     * @return the 1-based line on which the record starts
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return the offset in bytes, as UTF-8, at which the record starts in the input
+     */
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    /**
+     * @return the offset in bytes, as UTF-8, just past the end of the record including its line break
+     */
+    public long getEndByteOffset() {
+        return endByteOffset;
+    }
+
+    /**
+     * @return the line just past the end of the record, on which the input following it starts
+     */
+    public long getNextLineNumber() {
+        return nextLineNumber;
+    }
+
+    /**
+     * @return why the line could not be split into fields, or null; such a record holds the raw line as its only field
+     */
+    public String getParseError() {
+        return parseError;
+    }
+
+    /**
+     * @param index The 0-based field index.
+     * @return the field value
+     */
+    public String get(int index) {
+        checkIndex(index);
+        return new String(data, starts[index], ends[index] - starts[index]);
+    }
+
+    /**
+     * @param index The 0-based field index.
+     * @return the number of characters in the field
+     */
+    public int length(int index) {
+        checkIndex(index);
+        return ends[index] - starts[index];
+    }
+
+    /**
+     * Checks whether a field is empty or only contains whitespace, like {@code String.trim().isEmpty()}.
+     *
+     * @param index The 0-based field index.
+     * @return true if the field is blank
+     */
+    public boolean isBlank(int index) {
+        checkIndex(index);
+        for (int i = starts[index]; i < ends[index]; i++) {
+            if (data[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a field as an int without creating a String, with the same rules as {@link Integer#parseInt(String)}.
+     *
+     * @param index The 0-based field index.
+     * @return the parsed value
+     * @throws NumberFormatException if the field is not a valid int.
+     */
+    public int getInt(int index) {
+        checkIndex(index);
+        int position = starts[index];
+        int end = ends[index];
+        if (position == end) {
+            throw new NumberFormatException("Empty field " + index);
+        }
+
+        boolean negative = false;
+        char first = data[position];
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++position == end) {
+                throw new NumberFormatException("Invalid number in field " + index + ": " + get(index));
+            }
+        }
+
+        // Accumulate negatively so that Integer.MIN_VALUE can be represented
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int result = 0;
+        while (position < end) {
+            int digit = Character.digit(data[position++], 10);
+            if (digit < 0 || result < limit / 10) {
+                throw new NumberFormatException("Invalid number in field " + index + ": " + get(index));
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw new NumberFormatException("Invalid number in field " + index + ": " + get(index));
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Copies the record so it can be kept after the tokenizer moves on, e.g. to hand it to another thread.
+     *
+     * @return a detached copy of the record
+     */
+    public CsvRecord copy() {
+        CsvRecord copy = new CsvRecord(Arrays.copyOf(data, Math.max(length, 1)),
+            Arrays.copyOf(starts, Math.max(fieldCount, 1)), Arrays.copyOf(ends, Math.max(fieldCount, 1)));
+        copy.length = length;
+        copy.fieldCount = fieldCount;
+        copy.lineNumber = lineNumber;
+        copy.byteOffset = byteOffset;
+        copy.endByteOffset = endByteOffset;
+        copy.nextLineNumber = nextLineNumber;
+        copy.parseError = parseError;
+        return copy;
+    }
+
+    /**
+     * @return the fields of the record as an array of Strings
+     */
+    public String[] toArray() {
+        String[] values = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            values[i] = get(i);
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of a record with " + fieldCount + " fields");
+        }
+    }
+
+    // Tokenizer side: records are filled in place and reset between rows.
+
+    void reset(long lineNumber, long byteOffset) {
+        this.length = 0;
+        this.fieldCount = 0;
+        this.lineNumber = lineNumber;
+        this.byteOffset = byteOffset;
+        this.parseError = null;
+        startField();
+    }
+
+    void append(char c) {
+        if (length == data.length) {
+            data = Arrays.copyOf(data, length * 2);
+        }
+        data[length++] = c;
+    }
+
+    void endField() {
+        ends[fieldCount] = length;
+        fieldCount++;
+        startField();
+    }
+
+    void setEnd(long endByteOffset, long nextLineNumber) {
+        this.endByteOffset = endByteOffset;
+        this.nextLineNumber = nextLineNumber;
+    }
+
+    void setParseError(String parseError) {
+        this.parseError = parseError;
+    }
+
+    // A record holding a single empty field comes from a blank line
+    boolean isBlankLine() {
+        return fieldCount == 1 && ends[0] == starts[0];
+    }
+
+    private void startField() {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        starts[fieldCount] = length;
+    }
+}
@@ -0,0 +1,270 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+import exceptions.CsvLoadingException;
+
+/**
+ * CsvTokenizer is a streaming RFC 4180 CSV reader.
+ * <p>
+ * It scans a fixed-size char buffer with a small state machine instead of splitting lines,
+ * so quoted fields may contain commas, line breaks and doubled quotes, and no regex or
+ * per-row arrays are allocated. Records are read into one reused {@link CsvRecord} and can
+ * be pulled with {@link #nextRecord()} or pushed to a handler with {@link #forEach(RecordHandler)};
+ * either way memory stays flat regardless of the file size.
+ * </p>
+ * <p>
+ * Both LF and CRLF line breaks are accepted, a leading UTF-8 byte order mark is skipped and
+ * blank lines are ignored. Every record carries the line it starts on and its UTF-8 byte
+ * offsets, which lets callers report errors precisely and resume reading a file mid-way.
+ * </p>
+ */
+public class CsvTokenizer implements Closeable {
+
+    /**
+     * Receives the records of a CSV input one at a time.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        /**
+         * @param record The current record, only valid for the duration of the call.
+         * @throws CsvLoadingException to stop reading with an error.
+         */
+        void onRecord(CsvRecord record) throws CsvLoadingException;
+    }
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final char[] buffer;
+    private final CsvRecord record = new CsvRecord();
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean atStart = true;
+
+    private long lineNumber = 1;
+    private long byteOffset;
+
+    /**
+     * Constructs a tokenizer with the default buffer size.
+     *
+     * @param reader The character input, closed by {@link #close()}.
+     */
+    public CsvTokenizer(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a tokenizer.
+     *
+     * @param reader     The character input, closed by {@link #close()}.
+     * @param bufferSize The number of chars read from the input at a time.
+     */
+    public CsvTokenizer(Reader reader, int bufferSize) {
+        this(reader, bufferSize, 0, 1);
+    }
+
+    /**
+     * Constructs a tokenizer for input that starts part-way into a file, so that the line
+     * numbers and byte offsets of the records are relative to the whole file.
+     *
+     * @param reader          The character input, positioned at the start of a record.
+     * @param bufferSize      The number of chars read from the input at a time.
+     * @param startByteOffset The byte offset in the file at which the input starts.
+     * @param startLineNumber The line number in the file at which the input starts.
+     */
+    public CsvTokenizer(Reader reader, int bufferSize, long startByteOffset, long startLineNumber) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive.");
+        }
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        this.byteOffset = startByteOffset;
+        this.lineNumber = startLineNumber;
+        this.atStart = startByteOffset == 0;
+    }
+
+    /**
+     * Reads the next non-blank record.
+     *
+     * @return true if a record was read, false at the end of the input
+     * @throws IOException if the input can not be read.
+     * @throws CsvLoadingException if the input ends inside a quoted field.
+     */
+    public boolean nextRecord() throws IOException, CsvLoadingException {
+        while (readRecord()) {
+            if (!record.isBlankLine()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the record read by the last successful {@link #nextRecord()}
+     */
+    public CsvRecord getRecord() {
+        return record;
+    }
+
+    /**
+     * @return the offset in bytes, as UTF-8, up to which the input has been consumed
+     */
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    /**
+     * Pushes every remaining record to the handler.
+     *
+     * @param handler Receives the records.
+     * @return the number of records handled
+     * @throws IOException if the input can not be read.
+     * @throws CsvLoadingException if the input is malformed or the handler fails.
+     */
+    public long forEach(RecordHandler handler) throws IOException, CsvLoadingException {
+        long count = 0;
+        while (nextRecord()) {
+            handler.onRecord(record);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Reads one record, possibly a blank line. Returns false at the end of the input.
+    private boolean readRecord() throws IOException, CsvLoadingException {
+        int c = read();
+        if (c == -1) {
+            return false;
+        }
+        record.reset(lineNumber, byteOffset - utf8Length((char) c));
+
+        boolean quoted = false;
+        boolean afterQuote = false;
+        boolean fieldStart = true;
+        long quoteLine = 0;
+        while (true) {
+            if (c == -1) {
+                if (quoted && !afterQuote) {
+                    throw new CsvLoadingException("Unterminated quoted field starting on line " + quoteLine + ".", null);
+                }
+                record.endField();
+                break;
+            }
+            char ch = (char) c;
+
+            if (quoted && !afterQuote) {
+                if (ch == '"') {
+                    afterQuote = true;
+                } else {
+                    record.append(ch);
+                    if (ch == '\r' && consumeLineFeed()) {
+                        record.append('\n');
+                    }
+                    if (ch == '\n' || ch == '\r') {
+                        lineNumber++;
+                    }
+                }
+            } else if (ch == ',') {
+                record.endField();
+                quoted = false;
+                afterQuote = false;
+                fieldStart = true;
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r') {
+                    consumeLineFeed();
+                }
+                lineNumber++;
+                record.endField();
+                break;
+            } else if (afterQuote) {
+                afterQuote = false;
+                if (ch == '"') {
+                    record.append('"');  // Escaped quote inside a quoted field
+                } else {
+                    quoted = false;  // Stray text after the closing quote is kept as is
+                    record.append(ch);
+                }
+            } else if (ch == '"' && fieldStart) {
+                quoted = true;
+                quoteLine = lineNumber;
+                fieldStart = false;
+            } else {
+                record.append(ch);
+                fieldStart = false;
+            }
+            c = read();
+        }
+        record.setEnd(byteOffset, lineNumber);
+        return true;
+    }
+
+    // Consumes the LF of a CRLF line break, so that CRLF counts as a single line break.
+    private boolean consumeLineFeed() throws IOException {
+        if (position == limit && (endOfInput || !fill())) {
+            return false;
+        }
+        if (buffer[position] == '\n') {
+            position++;
+            byteOffset++;
+            return true;
+        }
+        return false;
+    }
+
+    // Returns the next char, or -1 at the end of the input, keeping the byte offset up to date.
+    private int read() throws IOException {
+        while (true) {
+            if (position == limit) {
+                if (endOfInput || !fill()) {
+                    return -1;
+                }
+            }
+            char ch = buffer[position++];
+            byteOffset += utf8Length(ch);
+            if (atStart) {
+                atStart = false;
+                if (ch == BYTE_ORDER_MARK) {
+                    continue;
+                }
+            }
+            return ch;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    // Number of bytes the char takes in UTF-8; each half of a surrogate pair counts for 2 of its 4 bytes.
+    private static int utf8Length(char ch) {
+        if (ch < 0x80) {
+            return 1;
+        } else if (ch < 0x800) {
+            return 2;
+        } else if (Character.isSurrogate(ch)) {
+            return 2;
+        }
+        return 3;
+    }
+}
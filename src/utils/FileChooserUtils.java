@@ -8,13 +8,14 @@ import javafx.stage.Stage;
 /**
  * Utility class for handling file operations in the JavaFX application.
  * <p>
- * This class provides static methods to show save and open dialogs specifically for CSV files.
+ * This class provides static methods to show save and open dialogs for post files, in CSV or JSON Lines format.
  * </p>
  */
 public class FileChooserUtils {
 	
 	/**
      * Shows a "Save File" dialog for the user to choose where to save a CSV file.
+     * The selected filter picks the format, which is written according to the file name.
      *
      * @param stage The parent stage for the dialog.
      * @return The selected file or null if the user cancels the operation.
@@ -23,9 +24,12 @@ public class FileChooserUtils {
 		System.out.println("Opening 'Save CSV File' dialog...");
         FileChooser fileChooser = new FileChooser();
         
-        // Set extension filter
+        // Set extension filters; a .jsonl file is written as JSON Lines and a .gz file GZIP compressed
         FileChooser.ExtensionFilter extFilter = new FileChooser.ExtensionFilter("CSV files (*.csv)", "*.csv");
-        fileChooser.getExtensionFilters().add(extFilter);
+        FileChooser.ExtensionFilter gzipFilter = new FileChooser.ExtensionFilter("Gzipped CSV files (*.csv.gz)", "*.csv.gz");
+        FileChooser.ExtensionFilter jsonLinesFilter = new FileChooser.ExtensionFilter("JSON Lines files (*.jsonl)", "*.jsonl");
+        FileChooser.ExtensionFilter gzipJsonLinesFilter = new FileChooser.ExtensionFilter("Gzipped JSON Lines files (*.jsonl.gz)", "*.jsonl.gz");
+        fileChooser.getExtensionFilters().addAll(extFilter, gzipFilter, jsonLinesFilter, gzipJsonLinesFilter);
         
         File selectedFile = fileChooser.showSaveDialog(stage);
         
@@ -39,7 +43,7 @@ public class FileChooserUtils {
     }
 	
 	/**
-     * Shows an "Open File" dialog for the user to choose a CSV file to open.
+     * Shows an "Open File" dialog for the user to choose a CSV or JSON Lines file to open.
      *
      * @param stage The parent stage for the dialog.
      * @return The selected file or null if the user cancels the operation.
@@ -48,9 +52,11 @@ public class FileChooserUtils {
 		System.out.println("Opening 'Open CSV File' dialog...");
         FileChooser fileChooser = new FileChooser();
         
-        // Set extension filter
+        // Set extension filters; the first one accepts every supported format
+        FileChooser.ExtensionFilter allFilter = new FileChooser.ExtensionFilter("Post files (*.csv, *.jsonl, *.ndjson)", "*.csv", "*.jsonl", "*.ndjson");
         FileChooser.ExtensionFilter extFilter = new FileChooser.ExtensionFilter("CSV files (*.csv)", "*.csv");
-        fileChooser.getExtensionFilters().add(extFilter);
+        FileChooser.ExtensionFilter jsonLinesFilter = new FileChooser.ExtensionFilter("JSON Lines files (*.jsonl, *.ndjson)", "*.jsonl", "*.ndjson");
+        fileChooser.getExtensionFilters().addAll(allFilter, extFilter, jsonLinesFilter);
         
         File selectedFile = fileChooser.showOpenDialog(stage);
         
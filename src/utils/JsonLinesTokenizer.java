@@ -0,0 +1,412 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+
+import exceptions.CsvLoadingException;
+
+/**
+ * JsonLinesTokenizer is a streaming reader for posts in JSON Lines (NDJSON) format: one flat
+ * JSON object per line, e.g.
+ * <pre>
+ * {"ID":1,"Content":"Hello","Author":"alice","Likes":3,"Shares":1,"DateTime":"2023-01-12T09:00"}
+ * </pre>
+ * <p>
+ * No tree model is built. Each line is scanned once with a small hand-written parser and the
+ * known members are copied into one reused {@link CsvRecord}, in the column order of a posts CSV
+ * file: ID, Content, Author, Likes, Shares, DateTime. A record read from either format can
+ * therefore be validated with {@link CSVUtils#toPost(CsvRecord, models.User)} and fed to the same
+ * import machinery. Members may come in any order; a missing member or a {@code null} gives an
+ * empty field and unknown members are skipped, whatever their value.
+ * </p>
+ * <p>
+ * Both LF and CRLF line breaks are accepted, a leading UTF-8 byte order mark is skipped and
+ * blank lines are ignored. Like {@link CsvTokenizer}, every record carries its line number and
+ * UTF-8 byte offsets, so imports can report errors precisely and resume mid-way.
+ * </p>
+ * <p>
+ * A line that is not a flat JSON object does not stop the reader: it is returned as a record
+ * holding the raw line as its only field, with {@link CsvRecord#getParseError()} set, and reading
+ * carries on with the next line. Validation then rejects it like any other invalid row, so a
+ * lenient import reports it and a strict one fails on it.
+ * </p>
+ */
+public class JsonLinesTokenizer implements Closeable {
+
+    // Member names, in the column order of a posts CSV file
+    public static final String[] FIELD_NAMES = { "ID", "Content", "Author", "Likes", "Shares", "DateTime" };
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final char[] buffer;
+    private final CsvRecord record = new CsvRecord();
+    private final StringBuilder[] values = new StringBuilder[FIELD_NAMES.length];
+    private final StringBuilder name = new StringBuilder();
+    // The characters of the current line read so far, kept to report a malformed line
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean atStart;
+    private int pushedBack = -1;
+
+    private long lineNumber;
+    private long byteOffset;
+
+    /**
+     * Constructs a tokenizer with the default buffer size.
+     *
+     * @param reader The character input, closed by {@link #close()}.
+     */
+    public JsonLinesTokenizer(Reader reader) {
+        this(reader, CsvTokenizer.DEFAULT_BUFFER_SIZE, 0, 1);
+    }
+
+    /**
+     * Constructs a tokenizer for input that starts part-way into a file, so that the line
+     * numbers and byte offsets of the records are relative to the whole file.
+     *
+     * @param reader          The character input, positioned at the start of a line.
+     * @param bufferSize      The number of chars read from the input at a time.
+     * @param startByteOffset The byte offset in the file at which the input starts.
+     * @param startLineNumber The line number in the file at which the input starts.
+     */
+    public JsonLinesTokenizer(Reader reader, int bufferSize, long startByteOffset, long startLineNumber) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive.");
+        }
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        this.byteOffset = startByteOffset;
+        this.lineNumber = startLineNumber;
+        this.atStart = startByteOffset == 0;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new StringBuilder();
+        }
+    }
+
+    /**
+     * @param file An import or export file.
+     * @return whether the file name marks it as JSON Lines, i.e. ends with .jsonl or .ndjson, optionally followed by .gz
+     */
+    public static boolean isJsonLinesFile(File file) {
+        String name = file.getName().toLowerCase();
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson");
+    }
+
+    /**
+     * Reads the next non-blank line. A line that is not a flat JSON object gives a record with a parse error.
+     *
+     * @return true if a record was read, false at the end of the input
+     * @throws IOException if the input can not be read.
+     */
+    public boolean nextRecord() throws IOException {
+        int c = skipWhitespace(true);
+        if (c == -1) {
+            return false;
+        }
+        long startLine = lineNumber;
+        long startOffset = byteOffset - utf8Length((char) c);
+        line.setLength(0);
+        line.append((char) c);
+        try {
+            readObject(c);
+        } catch (CsvLoadingException e) {
+            skipRestOfLine();
+            record.reset(startLine, startOffset);
+            for (int i = 0; i < line.length(); i++) {
+                record.append(line.charAt(i));
+            }
+            record.endField();
+            record.setParseError(e.getMessage());
+            record.setEnd(byteOffset, lineNumber);
+            return true;
+        }
+
+        record.reset(startLine, startOffset);
+        for (StringBuilder value : values) {
+            for (int i = 0; i < value.length(); i++) {
+                record.append(value.charAt(i));
+            }
+            record.endField();
+        }
+        record.setEnd(byteOffset, lineNumber);
+        return true;
+    }
+
+    // Reads one object and the line break after it into the values, starting from its first char.
+    private void readObject(int c) throws IOException, CsvLoadingException {
+        for (StringBuilder value : values) {
+            value.setLength(0);
+        }
+
+        if (c != '{') {
+            throw malformed("expected '{'");
+        }
+        c = skipWhitespace(false);
+        if (c != '}') {
+            while (true) {
+                if (c != '"') {
+                    throw malformed("expected a member name");
+                }
+                name.setLength(0);
+                readString(name);
+                if (skipWhitespace(false) != ':') {
+                    throw malformed("expected ':' after \"" + name + "\"");
+                }
+                int field = fieldIndex(name);
+                if (field < 0) {
+                    skipValue(skipWhitespace(false));
+                } else {
+                    readScalar(skipWhitespace(false), values[field]);
+                }
+                c = skipWhitespace(false);
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw malformed("expected ',' or '}'");
+                }
+                c = skipWhitespace(false);
+            }
+        }
+
+        // Only whitespace may follow the object on its line
+        c = skipWhitespace(false);
+        if (c == '\r') {
+            c = read();
+        }
+        if (c != '\n' && c != -1) {
+            throw malformed("unexpected text after the object");
+        }
+        if (c == '\n') {
+            lineNumber++;
+        }
+    }
+
+    // Moves past the line break ending a malformed line, which may already have been read; the line is left without it.
+    private void skipRestOfLine() throws IOException {
+        int c;
+        if (pushedBack != -1) {
+            c = pushedBack;
+            pushedBack = -1;
+        } else if (line.charAt(line.length() - 1) == '\n') {
+            c = '\n';
+        } else {
+            c = read();
+        }
+        while (c != '\n' && c != -1) {
+            c = read();
+        }
+        if (c == '\n') {
+            lineNumber++;
+        }
+        int end = line.length();
+        while (end > 0 && (line.charAt(end - 1) == '\n' || line.charAt(end - 1) == '\r')) {
+            end--;
+        }
+        line.setLength(end);
+    }
+
+    /**
+     * @return the record read by the last successful {@link #nextRecord()}
+     */
+    public CsvRecord getRecord() {
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int fieldIndex(CharSequence memberName) {
+        for (int i = 0; i < FIELD_NAMES.length; i++) {
+            if (FIELD_NAMES[i].contentEquals(memberName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Reads a string, number, true, false or null; null leaves the value empty.
+    private void readScalar(int c, StringBuilder value) throws IOException, CsvLoadingException {
+        value.setLength(0);  // A repeated member replaces the earlier value
+        if (c == '"') {
+            readString(value);
+        } else if (c == '{' || c == '[') {
+            throw malformed("nested values are not supported for \"" + name + "\"");
+        } else {
+            readLiteral(c, value);
+            if ("null".contentEquals(value)) {
+                value.setLength(0);
+            }
+        }
+    }
+
+    // Skips a value of any kind, including nested objects and arrays.
+    private void skipValue(int c) throws IOException, CsvLoadingException {
+        if (c == '"') {
+            readString(null);
+        } else if (c == '{' || c == '[') {
+            int depth = 1;
+            while (depth > 0) {
+                c = read();
+                if (c == -1 || c == '\n') {
+                    throw malformed("unterminated value of \"" + name + "\"");
+                } else if (c == '"') {
+                    readString(null);
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            }
+        } else {
+            readLiteral(c, null);
+        }
+    }
+
+    // Reads a bare number or keyword up to the next delimiter, which is pushed back.
+    private void readLiteral(int c, StringBuilder value) throws IOException, CsvLoadingException {
+        if (c == -1 || c == ',' || c == '}' || c == '\n') {
+            throw malformed("missing value of \"" + name + "\"");
+        }
+        while (c != -1 && c != ',' && c != '}' && c != ']' && c > ' ') {
+            if (value != null) {
+                value.append((char) c);
+            }
+            c = read();
+        }
+        pushedBack = c;
+    }
+
+    // Reads the rest of a string after its opening quote, unescaping it into value unless that is null.
+    private void readString(StringBuilder value) throws IOException, CsvLoadingException {
+        while (true) {
+            int c = read();
+            if (c == -1 || c == '\n' || c == '\r') {
+                throw malformed("unterminated string");
+            }
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                c = unescape(read());
+            }
+            if (value != null) {
+                value.append((char) c);
+            }
+        }
+    }
+
+    private int unescape(int c) throws IOException, CsvLoadingException {
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw malformed("invalid \\u escape");
+                    }
+                    code = code * 16 + digit;
+                }
+                return code;
+            default:
+                throw malformed("invalid escape");
+        }
+    }
+
+    // Returns the next char that is not a space or tab; line breaks are skipped too when between records.
+    private int skipWhitespace(boolean betweenRecords) throws IOException {
+        while (true) {
+            int c = read();
+            if (c == ' ' || c == '\t') {
+                continue;
+            }
+            if (betweenRecords && (c == '\r' || c == '\n')) {
+                if (c == '\n') {
+                    lineNumber++;
+                }
+                continue;
+            }
+            return c;
+        }
+    }
+
+    private CsvLoadingException malformed(String problem) {
+        return new CsvLoadingException("Malformed JSON on line " + lineNumber + ": " + problem + ".", null);
+    }
+
+    // Returns the next char, or -1 at the end of the input, keeping the byte offset up to date.
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        while (true) {
+            if (position == limit) {
+                if (endOfInput || !fill()) {
+                    return -1;
+                }
+            }
+            char ch = buffer[position++];
+            byteOffset += utf8Length(ch);
+            if (atStart) {
+                atStart = false;
+                if (ch == BYTE_ORDER_MARK) {
+                    continue;
+                }
+            }
+            line.append(ch);
+            return ch;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    // Number of bytes the char takes in UTF-8; each half of a surrogate pair counts for 2 of its 4 bytes.
+    private static int utf8Length(char ch) {
+        if (ch < 0x80) {
+            return 1;
+        } else if (ch < 0x800) {
+            return 2;
+        } else if (Character.isSurrogate(ch)) {
+            return 2;
+        }
+        return 3;
+    }
+}
@@ -0,0 +1,158 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * LruCache is a bounded, thread safe in-memory cache with size and time based eviction.
+ * <p>
+ * Entries are kept in an access-ordered {@link LinkedHashMap}: once the maximum size is
+ * reached the least recently used entry is evicted, and entries older than the time to live
+ * are dropped when they are next looked up. Writers call {@link #invalidate(Object)} after
+ * changing the underlying data; a value loaded before such an invalidation is not cached by
+ * {@link #put(Object, Object, long)}, so a slow read can not re-insert stale data.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class LruCache<K, V> {
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // Incremented on every invalidation, see put(key, value, generation)
+    private long generation;
+
+    // Statistics
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    /**
+     * Constructs a cache using the system clock.
+     *
+     * @param name      Name of the cache, used in statistics.
+     * @param maxSize   Maximum number of entries, 0 disables caching.
+     * @param ttlMillis How long an entry stays valid, 0 for no expiry.
+     */
+    public LruCache(String name, int maxSize, long ttlMillis) {
+        this(name, maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs a cache using the given clock.
+     *
+     * @param name      Name of the cache, used in statistics.
+     * @param maxSize   Maximum number of entries, 0 disables caching.
+     * @param ttlMillis How long an entry stays valid, 0 for no expiry.
+     * @param clock     Supplies the current time in milliseconds.
+     */
+    public LruCache(String name, int maxSize, long ttlMillis, LongSupplier clock) {
+        if (maxSize < 0 || ttlMillis < 0) {
+            throw new IllegalArgumentException("Cache size and time to live must not be negative.");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Looks up a value, counting a hit or a miss.
+     *
+     * @param key The key to look up.
+     * @return the cached value, or null if it is absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && ttlMillis > 0 && clock.getAsLong() >= entry.expiresAt) {
+            entries.remove(key);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * @return the current generation, to be taken before loading a value for {@link #put(Object, Object, long)}
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches a value unless an invalidation happened since the given generation was taken.
+     *
+     * @param key        The key.
+     * @param value      The value, null values are not cached.
+     * @param generation The generation taken before the value was loaded.
+     */
+    public synchronized void put(K key, V value, long generation) {
+        if (maxSize == 0 || value == null || generation != this.generation) {
+            return;
+        }
+        long expiresAt = ttlMillis > 0 ? clock.getAsLong() + ttlMillis : Long.MAX_VALUE;
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    /**
+     * Removes a key because the underlying data changed.
+     *
+     * @param key The key to remove.
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        invalidations++;
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations++;
+        entries.clear();
+    }
+
+    /**
+     * @return a snapshot of the cache counters
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(name, entries.size(), maxSize, hits, misses, evictions, expirations, invalidations);
+    }
+}
@@ -0,0 +1,210 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import enums.SortBy;
+import events.PostEvent;
+import models.Post;
+import models.PostPage;
+import models.User;
+
+/**
+ * PostIndex answers top N, key range and per-user requests over posts that are already in
+ * memory, so a view that has loaded a complete listing does not query the database again for
+ * another order or filter.
+ * <p>
+ * Each set of posts is kept in one sorted tree per {@link SortBy}, in the order of
+ * {@link PostPage#listingOrder(SortBy)}, so the top N are the first N of a tree and a range of
+ * likes, shares or dates is a sub-tree. Posts are also hashed by UserID, with trees of their own,
+ * so a user's posts are found without scanning everybody's. Comparing on UserID rather than on
+ * the author name keeps a post with its user when the username changes.
+ * </p>
+ * <p>
+ * The index only answers for what it {@link #covers(User)}: every post of a user, or every post,
+ * as handed over by {@link #load(User, Collection)} once a listing has been read to its end.
+ * Committed changes are applied with {@link #apply(PostEvent)}. Indexed posts must not be changed
+ * in place, since their keys place them in the trees; an edit replaces the post. Not thread-safe;
+ * views use it on the application thread.
+ * </p>
+ */
+public class PostIndex {
+
+    private final Map<Integer, Post> byId = new HashMap<>();
+    private final Map<SortBy, NavigableSet<Post>> all = newTrees();
+    private final Map<Integer, Map<SortBy, NavigableSet<Post>>> byUser = new HashMap<>();
+    private final Set<Integer> coveredUsers = new HashSet<>();
+    private boolean coversAll;
+
+    /**
+     * @param user A user, or null for all posts.
+     * @return whether every post of the user, or every post, is indexed
+     */
+    public boolean covers(User user) {
+        return coversAll || user != null && coveredUsers.contains(user.getUserId());
+    }
+
+    /**
+     * Indexes a complete set of posts, replacing what was indexed for the same scope.
+     *
+     * @param user  The user whose posts these are, or null if they are all posts.
+     * @param posts Every post of the user, or every post.
+     */
+    public void load(User user, Collection<Post> posts) {
+        if (user == null) {
+            clear();
+            coversAll = true;
+        } else {
+            Map<SortBy, NavigableSet<Post>> trees = byUser.get(user.getUserId());
+            if (trees != null) {
+                for (Post post : new ArrayList<>(trees.get(SortBy.By_Date))) {
+                    remove(post.getPostId());
+                }
+            }
+            coveredUsers.add(user.getUserId());
+        }
+        for (Post post : posts) {
+            add(post);
+        }
+        System.out.println("Indexed " + posts.size() + " posts of " + (user == null ? "all users" : user.getUsername()) + ".");
+    }
+
+    /**
+     * Drops all posts; nothing is covered afterwards.
+     */
+    public void clear() {
+        byId.clear();
+        all.values().forEach(Set::clear);
+        byUser.clear();
+        coveredUsers.clear();
+        coversAll = false;
+    }
+
+    /**
+     * @return the number of indexed posts
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Applies a committed change. Posts outside what the index covers are ignored.
+     *
+     * @param event The change.
+     */
+    public void apply(PostEvent event) {
+        switch (event.getType()) {
+            case Added:
+            case Bulk_added:
+                event.getPosts().forEach(this::add);
+                break;
+            case Updated:
+                remove(event.getPost().getPostId());
+                add(event.getPost());
+                break;
+            case Deleted:
+                remove(event.getPost().getPostId());
+                break;
+        }
+    }
+
+    /**
+     * @param sortBy The order.
+     * @param user   The user whose posts are wanted, or null for all posts; must be covered.
+     * @param n      The maximum number of posts.
+     * @return the first N posts in listing order
+     */
+    public List<Post> top(SortBy sortBy, User user, int n) {
+        List<Post> result = new ArrayList<>(Math.max(0, Math.min(n, size())));
+        Iterator<Post> posts = trees(user).get(sortBy).iterator();
+        while (result.size() < n && posts.hasNext()) {
+            result.add(posts.next());
+        }
+        return result;
+    }
+
+    /**
+     * @param sortBy The key: likes, shares or the date as epoch milliseconds.
+     * @param user   The user whose posts are wanted, or null for all posts; must be covered.
+     * @param min    The lowest key, inclusive.
+     * @param max    The highest key, inclusive.
+     * @return the posts whose key lies in the range, in listing order
+     */
+    public List<Post> range(SortBy sortBy, User user, long min, long max) {
+        if (min > max) {
+            return new ArrayList<>();
+        }
+        // Listing order is descending, so the range runs from the highest key to the lowest
+        Post from = probe(sortBy, max, Integer.MAX_VALUE);
+        Post to = probe(sortBy, min, Integer.MIN_VALUE);
+        return new ArrayList<>(trees(user).get(sortBy).subSet(from, true, to, true));
+    }
+
+    private void add(Post post) {
+        if (!coversAll && !coveredUsers.contains(post.getUserId())) {
+            return;
+        }
+        remove(post.getPostId());
+        byId.put(post.getPostId(), post);
+        Map<SortBy, NavigableSet<Post>> userTrees = byUser.computeIfAbsent(post.getUserId(), userId -> newTrees());
+        for (SortBy sortBy : SortBy.values()) {
+            all.get(sortBy).add(post);
+            userTrees.get(sortBy).add(post);
+        }
+    }
+
+    private void remove(int postId) {
+        Post post = byId.remove(postId);
+        if (post == null) {
+            return;
+        }
+        Map<SortBy, NavigableSet<Post>> userTrees = byUser.get(post.getUserId());
+        for (SortBy sortBy : SortBy.values()) {
+            all.get(sortBy).remove(post);
+            userTrees.get(sortBy).remove(post);
+        }
+        if (userTrees.get(SortBy.By_Date).isEmpty() && !coveredUsers.contains(post.getUserId())) {
+            byUser.remove(post.getUserId());
+        }
+    }
+
+    private Map<SortBy, NavigableSet<Post>> trees(User user) {
+        if (!covers(user)) {
+            throw new IllegalStateException("The index does not hold all posts of " + (user == null ? "all users" : user.getUsername()) + ".");
+        }
+        if (user == null) {
+            return all;
+        }
+        return byUser.computeIfAbsent(user.getUserId(), userId -> newTrees());
+    }
+
+    // A post that sorts next to the posts with the given key, before or after them depending on the PostID
+    private static Post probe(SortBy sortBy, long key, int postId) {
+        int intKey = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, key));
+        switch (sortBy) {
+            case By_Likes:
+                return new Post(postId, null, null, intKey, 0, Post.fromEpochMillis(0), 0);
+            case By_Shares:
+                return new Post(postId, null, null, 0, intKey, Post.fromEpochMillis(0), 0);
+            default:
+                return new Post(postId, null, null, 0, 0, Post.fromEpochMillis(key), 0);
+        }
+    }
+
+    private static Map<SortBy, NavigableSet<Post>> newTrees() {
+        Map<SortBy, NavigableSet<Post>> trees = new EnumMap<>(SortBy.class);
+        for (SortBy sortBy : SortBy.values()) {
+            trees.put(sortBy, new TreeSet<>(PostPage.listingOrder(sortBy)));
+        }
+        return trees;
+    }
+}
@@ -1,5 +1,10 @@
 package views;
 
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import models.User;
+
 /**
 * An abstract base class that provides a foundation for all views in the application.
 * Any view that inherits from this class must provide implementations for initializing 
@@ -10,6 +15,8 @@ package views;
 */
 public abstract class BaseView {
 	
+   private Scene scene;
+	
    /**
     * Initializes UI components, layouts, and other necessary elements for the view.
     * Derived classes must provide a concrete implementation of this method to set up their UI components.
@@ -27,4 +34,41 @@ public abstract class BaseView {
     * logged and/or handled in the derived classes' implementations.
     */
    protected abstract void show();
+   
+   /**
+    * Brings a view kept by the {@link ViewRouter} up to date before it is shown again.
+    * Derived classes reload only what may have changed since they were last shown;
+    * by default the view is shown as it was left.
+    * 
+    * @param user The logged-in user, or null on the screens shown before login.
+    */
+   protected void refresh(User user) {
+   }
+   
+   /**
+    * Releases what the view holds outside of its scene graph, such as event subscriptions,
+    * when the {@link ViewRouter} drops it. By default there is nothing to release.
+    */
+   protected void dispose() {
+   }
+   
+   /**
+    * Puts the root of the view on the stage. The scene is created the first time the view is
+    * shown and reused afterwards, so a cached view keeps its scene graph.
+    * 
+    * @param stage The primary stage.
+    * @param root The root node of the view.
+    * @param width The width of the scene when it is created.
+    * @param height The height of the scene when it is created.
+    * @return the scene of the view
+    */
+   protected Scene setScene(Stage stage, Parent root, double width, double height) {
+	   if (scene == null) {
+		   scene = new Scene(root, width, height);
+	   } else if (scene.getRoot() != root) {
+		   scene.setRoot(root);
+	   }
+	   stage.setScene(scene);
+	   return scene;
+   }
 }
@@ -3,35 +3,45 @@ package views;
 import java.io.File;
 import java.util.List;
 
-import controllers.PostController;
-import controllers.UserController;
+import enums.ErrorMode;
 import exceptions.CsvLoadingException;
 import exceptions.PostException;
+import importer.ImportStats;
+import importer.RejectReport;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import models.Post;
 import models.User;
-import views.facade.GUIViewFacade;
 import views.facade.GUIViewFacadeInterface;
 import views.interfaces.BulkImportViewInterface;
 
 /**
  * The BulkImportView provides a graphical interface allowing the user to bulk import posts from a CSV file.
  * It provides functionalities to select a CSV, preview the posts and save them to the system.
+ * Reading, saving and importing run in the background with their progress shown below the list.
  */
 public class BulkImportView extends BaseView implements BulkImportViewInterface {
 
     private Stage stage;
     private User user;
-    private Button importButton, backButton, saveButton;
+    private Button importButton, directImportButton, backButton, saveButton, cancelButton;
+    private CheckBox skipInvalidRowsCheckBox;
+    private ProgressBar progressBar;
+    private Label progressLabel;
+    private HBox progressLayout;
+    private Task<?> runningTask;
     private ListView<String> postListView;
     private List<Post> validPosts;
     private VBox mainLayout;
@@ -43,13 +53,12 @@ public class BulkImportView extends BaseView implements BulkImportViewInterface
      * 
      * @param stage The primary stage for this view.
      * @param user The current user.
-     * @param postController The controller for post-related operations.
-     * @param userController The controller for user-related operations.
+     * @param viewFacade The facade shared by all views.
      */
-    public BulkImportView(Stage stage, User user, PostController postController, UserController userController) {
+    public BulkImportView(Stage stage, User user, GUIViewFacadeInterface viewFacade) {
         this.user = user;
         this.stage = stage;
-        this.viewFacade = new GUIViewFacade(stage, userController, postController);
+        this.viewFacade = viewFacade;
         initializeComponents();
         show();
         System.out.println("BulkImportView initialized for user: " + user.getUsername());
@@ -75,6 +84,18 @@ public class BulkImportView extends BaseView implements BulkImportViewInterface
             }
         });
         
+        directImportButton = new Button("Import Without Preview");
+        directImportButton.setOnAction(e -> {
+        	File selectedFile = viewFacade.handleImportPost();
+        	if (selectedFile != null) {
+        		handleDirectImport(selectedFile);
+        	} else {
+        		viewFacade.showAlert(AlertType.ERROR, "Error", "No file selected!");
+        	}
+        });
+        
+        skipInvalidRowsCheckBox = new CheckBox("Skip invalid rows");
+        
         saveButton = new Button("Save Posts");
         saveButton.setOnAction(e -> {
 			try {
@@ -85,47 +106,102 @@ public class BulkImportView extends BaseView implements BulkImportViewInterface
 		});
         saveButton.setDisable(true);  // Initially disabled until posts are previewed
         
+        progressBar = new ProgressBar(0);
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        progressLabel = new Label();
+        cancelButton = new Button("Cancel");
+        cancelButton.setOnAction(e -> {
+        	if (runningTask instanceof ImportTask) {
+        		// Let the import finish its current batch instead of interrupting a write
+        		runningTask.cancel(false);
+        	}
+        });
+        HBox.setHgrow(progressBar, Priority.ALWAYS);
+        progressLayout = new HBox(10, progressBar, cancelButton);
+        
         backButton = new Button("Back");
         backButton.setOnAction(e -> {
         	viewFacade.navigateToDashboard(user);
         });
         
-        // Add label "Choose a CSV file"
-        Label csvLabel = new Label("Choose a CSV file");
+        // Add label "Choose a CSV or JSON Lines file"
+        Label csvLabel = new Label("Choose a CSV or JSON Lines file");
         
         HBox chooserLayout = new HBox(10);
-        chooserLayout.getChildren().addAll(csvLabel, importButton);
+        chooserLayout.getChildren().addAll(csvLabel, importButton, directImportButton, skipInvalidRowsCheckBox);
         chooserLayout.setAlignment(Pos.TOP_LEFT);
         chooserLayout.setPadding(new Insets(20, 20, 30, 20));
        
 
         mainLayout = new VBox(10);
-        mainLayout.getChildren().addAll(chooserLayout, postListView, saveButton, backButton);
+        mainLayout.getChildren().addAll(chooserLayout, postListView, progressLayout, progressLabel, saveButton, backButton);
         mainLayout.setAlignment(Pos.CENTER);
         mainLayout.setPadding(new Insets(20, 20, 30, 20));
+        showProgress(false);
         System.out.println("BulkImportView components initialized.");
     }
     
+    @Override
+    protected void refresh(User user) {
+        this.user = user;
+        // A preview is not kept once the user has left the view; Back is disabled while a task runs
+        if (runningTask == null) {
+            validPosts = null;
+            postListView.getItems().clear();
+            showProgress(false);
+        }
+    }
+    
     @Override
     protected void show() {
-    	stage.setScene(new Scene(mainLayout, 500, 400));
+    	setScene(stage, mainLayout, 500, 400);
         stage.setTitle("Bulk Import");
         stage.show();
     }
     
     @Override
     public void previewImportedPosts(File selectedFile) {
-        try {
-            validPosts = viewFacade.previewImportedPosts(selectedFile, user);
-            postListView.getItems().clear();
-            for (Post post : validPosts) {
-                postListView.getItems().add(formatPostForDisplay(post));
+        Task<List<Post>> task = new Task<>() {
+            private int duplicates;
+
+            @Override
+            protected List<Post> call() throws Exception {
+                updateMessage("Reading " + selectedFile.getName() + "...");
+                List<Post> parsedPosts = viewFacade.previewImportedPosts(selectedFile, user);
+                updateMessage("Checking " + parsedPosts.size() + " posts for duplicates...");
+                List<Post> newPosts = viewFacade.removeDuplicatePosts(parsedPosts, user);
+                duplicates = parsedPosts.size() - newPosts.size();
+                return newPosts;
             }
-            saveButton.setDisable(false);
-        } catch (CsvLoadingException e) {
-        	viewFacade.showAlert(AlertType.ERROR, "Error", "Error reading CSV file: " + e.getMessage());
-        }
-        System.out.println("Posts previewed from file: " + selectedFile.getName());
+
+            @Override
+            protected void succeeded() {
+                validPosts = getValue();
+                postListView.getItems().clear();
+                for (Post post : validPosts) {
+                    postListView.getItems().add(formatPostForDisplay(post));
+                }
+                saveButton.setDisable(false);
+                if (duplicates > 0) {
+                    viewFacade.showAlert(AlertType.INFORMATION, "Duplicates", duplicates + " posts already exist and will not be imported again.");
+                }
+                System.out.println("Posts previewed from file: " + selectedFile.getName());
+            }
+
+            @Override
+            protected void failed() {
+                Throwable e = getException();
+                if (e instanceof CsvLoadingException) {
+                    viewFacade.showAlert(AlertType.ERROR, "Error", "Error reading file: " + e.getMessage());
+                } else if (e instanceof PostException) {
+                    viewFacade.showAlert(AlertType.ERROR, "Error", "Error checking for duplicate posts: " + e.getMessage());
+                } else {
+                    System.err.println("Error during import action: " + e.getMessage());
+                    viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred: " + e.getMessage());
+                }
+            }
+        };
+        runInBackground(task);
     }
     
     @Override
@@ -135,19 +211,119 @@ public class BulkImportView extends BaseView implements BulkImportViewInterface
     
     @Override
     public void handleSave() throws PostException {
-    	try {
-            boolean success = viewFacade.addBulkPosts(validPosts);
-            if (success) {
-                viewFacade.showAlert(AlertType.INFORMATION, "Success", "Posts imported successfully!");
-                viewFacade.navigateToDashboard(user);
-                System.out.println("Posts successfully saved.");
-            } else {
-                viewFacade.showAlert(AlertType.ERROR, "Error", "There was an error importing posts.");
-                System.err.println("Error while saving bulk imported posts.");
+        List<Post> posts = validPosts;
+        Task<Boolean> task = new Task<>() {
+            @Override
+            protected Boolean call() throws Exception {
+                updateMessage("Saving " + posts.size() + " posts...");
+                return viewFacade.addBulkPosts(posts);
             }
-        } catch (Exception e) {
-            System.err.println("Error while handling save operation: " + e.getMessage());
-            viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred while saving posts: " + e.getMessage());
+
+            @Override
+            protected void succeeded() {
+                if (getValue()) {
+                    viewFacade.showAlert(AlertType.INFORMATION, "Success", "Posts imported successfully!");
+                    viewFacade.navigateToDashboard(user);
+                    System.out.println("Posts successfully saved.");
+                } else {
+                    viewFacade.showAlert(AlertType.ERROR, "Error", "There was an error importing posts.");
+                    System.err.println("Error while saving bulk imported posts.");
+                }
+            }
+
+            @Override
+            protected void failed() {
+                System.err.println("Error while handling save operation: " + getException().getMessage());
+                viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred while saving posts: " + getException().getMessage());
+            }
+        };
+        runInBackground(task);
+    }
+    
+    @Override
+    public void handleDirectImport(File selectedFile) {
+        ErrorMode errorMode = skipInvalidRowsCheckBox.isSelected() ? ErrorMode.Skip_and_report : ErrorMode.Fail_fast;
+        ImportTask task = new ImportTask(viewFacade, selectedFile, user, errorMode);
+        task.setOnSucceeded(e -> {
+            ImportStats stats = task.getValue();
+            String message = stats.getPostsAccepted() + " posts imported from " + stats.getRowsRead() + " rows.";
+            if (stats.getDuplicatesSkipped() > 0) {
+                message += "\n" + stats.getDuplicatesSkipped() + " posts already existed and were skipped.";
+            }
+            if (stats.getRowsRejected() > 0) {
+                message += "\n" + stats.getRowsRejected() + " invalid rows were skipped, see "
+                        + RejectReport.defaultFileFor(selectedFile).getName() + ".";
+            }
+            viewFacade.showAlert(AlertType.INFORMATION, "Success", message);
+            viewFacade.navigateToDashboard(user);
+            System.out.println("Posts imported without preview from file: " + selectedFile.getName());
+        });
+        task.setOnFailed(e -> {
+            System.err.println("Error while importing posts: " + task.getException().getMessage());
+            viewFacade.showAlert(AlertType.ERROR, "Error", task.getException().getMessage());
+        });
+        // Only reported once the batch in progress has committed, when importing again can safely resume
+        task.setOnCancelled(e -> whenImportReturned(task, () -> {
+            System.out.println("Import cancelled: " + task.getImportProgress());
+            viewFacade.showAlert(AlertType.INFORMATION, "Cancelled", "The import was cancelled. Posts saved so far are kept;"
+                    + " importing the same file again resumes where it stopped.");
+        }));
+        runInBackground(task);
+    }
+    
+    /**
+     * Runs a task on the facade's background executor, showing its progress and message and
+     * disabling the other actions until it is done. A cancelled import is only done once its
+     * batch in progress has committed.
+     * 
+     * @param task The task to run.
+     */
+    private void runInBackground(Task<?> task) {
+        runningTask = task;
+        progressBar.progressProperty().bind(task.progressProperty());
+        progressLabel.textProperty().bind(task.messageProperty());
+        showProgress(true);
+        // Only an import can stop between batches; a preview or save always runs to the end
+        cancelButton.setDisable(!(task instanceof ImportTask));
+        task.stateProperty().addListener((observable, oldState, newState) -> {
+            if (newState == Worker.State.SUCCEEDED || newState == Worker.State.FAILED || newState == Worker.State.CANCELLED) {
+                cancelButton.setDisable(true);
+                Runnable done = () -> {
+                    runningTask = null;
+                    progressBar.progressProperty().unbind();
+                    progressLabel.textProperty().unbind();
+                    showProgress(false);
+                };
+                if (task instanceof ImportTask importTask) {
+                    whenImportReturned(importTask, done);
+                } else {
+                    done.run();
+                }
+            }
+        });
+        viewFacade.runInBackground(task);
+    }
+    
+    private void whenImportReturned(ImportTask task, Runnable action) {
+        if (!task.isImporting()) {
+            action.run();
+        } else {
+            task.importingProperty().addListener((observable, wasImporting, importing) -> {
+                if (!importing) {
+                    action.run();
+                }
+            });
         }
     }
+    
+    private void showProgress(boolean running) {
+        progressLayout.setVisible(running);
+        progressLayout.setManaged(running);
+        progressLabel.setVisible(running);
+        progressLabel.setManaged(running);
+        importButton.setDisable(running);
+        directImportButton.setDisable(running);
+        saveButton.setDisable(running || validPosts == null);
+        backButton.setDisable(running);
+    }
 }
\ No newline at end of file
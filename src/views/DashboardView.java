@@ -1,11 +1,8 @@
 package views;
 
-import controllers.PostController;
-import controllers.UserController;
 import exceptions.UserException;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.Hyperlink;
@@ -20,7 +17,6 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontPosture;
 import javafx.stage.Stage;
 import models.User;
-import views.facade.GUIViewFacade;
 import views.facade.GUIViewFacadeInterface;
 import views.interfaces.DashboardViewInterface;
 
@@ -38,6 +34,7 @@ public class DashboardView extends BaseView implements DashboardViewInterface {
     private Hyperlink vipUpgradeLink;
     private Hyperlink cancelVIPSubscriptionLink = null;
     private BorderPane mainLayout;
+    private boolean shownAsVIP;
     
     private GUIViewFacadeInterface viewFacade;
     
@@ -46,14 +43,13 @@ public class DashboardView extends BaseView implements DashboardViewInterface {
      * 
      * @param stage The primary stage for this view.
      * @param user The current logged-in user.
-     * @param postController The controller for post-related operations.
-     * @param userController The controller for user-related operations.
+     * @param viewFacade The facade shared by all views.
      */
-    public DashboardView(Stage stage, User user, PostController postController, UserController userController) {
+    public DashboardView(Stage stage, User user, GUIViewFacadeInterface viewFacade) {
         this.user = user;
         this.stage = stage;
         
-        this.viewFacade = new GUIViewFacade(stage, userController, postController);
+        this.viewFacade = viewFacade;
         
         initializeComponents();
         show();
@@ -63,7 +59,11 @@ public class DashboardView extends BaseView implements DashboardViewInterface {
     @Override
     protected void initializeComponents() {
     	
-        welcomeMessage = new Label("Welcome, " + user.getFirstName() + " " + user.getLastName() + "!");
+        shownAsVIP = user.isVIP();
+        vipUpgradeLink = null;
+        cancelVIPSubscriptionLink = null;
+        
+        welcomeMessage = new Label(welcomeText());
         welcomeMessage.setTextFill(Color.GREEN);
         welcomeMessage.setFont(Font.font("Arial", 20));
         
@@ -153,9 +153,24 @@ public class DashboardView extends BaseView implements DashboardViewInterface {
         System.out.println("DashboardView components initialized.");
     }
     
+    @Override
+    protected void refresh(User user) {
+        this.user = user;
+        if (user.isVIP() != shownAsVIP) {
+            // The features on offer differ, so the layout is built again and swapped into the scene by show()
+            initializeComponents();
+        } else {
+            welcomeMessage.setText(welcomeText());  // The name may have been edited
+        }
+    }
+    
+    private String welcomeText() {
+        return "Welcome, " + user.getFirstName() + " " + user.getLastName() + "!";
+    }
+    
     @Override
     protected void show() {
-        stage.setScene(new Scene(mainLayout, 600, 400));
+        setScene(stage, mainLayout, 600, 400);
         stage.setTitle("Dashboard");
         stage.show();
     }
@@ -199,19 +214,22 @@ public class DashboardView extends BaseView implements DashboardViewInterface {
     
     @Override
     public void handleDegrade() throws UserException {
-		try {
-			if (viewFacade.degradeToStandard(user)) {
+		cancelVIPSubscriptionLink.setDisable(true);
+		viewFacade.runInBackground(() -> viewFacade.degradeToStandard(user), degraded -> {
+			cancelVIPSubscriptionLink.setDisable(false);
+			if (degraded) {
 				viewFacade.showAlert(AlertType.INFORMATION, "Message", "Successfully cancelled VIP subscription.");
 				user.setVIP(false);
 				viewFacade.navigateToDashboard(user);
+				System.out.println("User cancelled VIP subscription: " + user.getUsername());
 			} else {
 				viewFacade.showAlert(AlertType.ERROR, "Error", "An error occurred during subscription cancel. Please try again.");
 			}
-            System.out.println("User cancelled VIP subscription: " + user.getUsername());
-		} catch (Exception e) {
+		}, e -> {
+			cancelVIPSubscriptionLink.setDisable(false);
             System.err.println("Error while handling degrade operation: " + e.getMessage());
             viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred while downgrading: " + e.getMessage());
-        }
+        });
 	}
     
     @Override
@@ -0,0 +1,108 @@
+package views;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import enums.ErrorMode;
+import importer.ImportProgress;
+import importer.ImportStats;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+import models.User;
+import views.facade.GUIViewFacadeInterface;
+
+/**
+ * The ImportTask runs an import without preview off the JavaFX application thread.
+ * After every committed batch it publishes the share of the file done as its progress and a
+ * summary of rows parsed and written, bytes read, rows per second and time left as its message,
+ * so both can be bound to a progress bar and a label. Cancelling the task stops the import
+ * after the batch in progress. The task is cancelled at once while that batch still commits, so
+ * {@link #importingProperty()} tells when the import has actually returned.
+ */
+public class ImportTask extends Task<ImportStats> {
+
+    private final GUIViewFacadeInterface viewFacade;
+    private final File file;
+    private final User user;
+    private final ErrorMode errorMode;
+    private final ImportProgress progress = new ImportProgress(this::publish);
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final ReadOnlyBooleanWrapper importing = new ReadOnlyBooleanWrapper(this, "importing", true);
+
+    /**
+     * Constructs the task; it is started by handing it to a thread or an executor.
+     *
+     * @param viewFacade The facade running the import.
+     * @param file The file to import.
+     * @param user The importing user.
+     * @param errorMode Whether an invalid row aborts the import or is reported and skipped.
+     */
+    public ImportTask(GUIViewFacadeInterface viewFacade, File file, User user, ErrorMode errorMode) {
+        this.viewFacade = viewFacade;
+        this.file = file;
+        this.user = user;
+        this.errorMode = errorMode;
+        updateMessage("Starting import of " + file.getName() + "...");
+    }
+
+    /**
+     * @return the live counters of the import
+     */
+    public ImportProgress getImportProgress() {
+        return progress;
+    }
+
+    /**
+     * @return true until the import has returned or the task was cancelled before it started; changes on the application thread
+     */
+    public ReadOnlyBooleanProperty importingProperty() {
+        return importing.getReadOnlyProperty();
+    }
+
+    public boolean isImporting() {
+        return importing.get();
+    }
+
+    @Override
+    protected ImportStats call() throws Exception {
+        if (!started.compareAndSet(false, true)) {
+            return null;  // Cancelled before it started
+        }
+        try {
+            return viewFacade.importPosts(file, user, errorMode, progress);
+        } finally {
+            Platform.runLater(() -> importing.set(false));
+        }
+    }
+
+    @Override
+    protected void cancelled() {
+        progress.cancel();
+        if (started.compareAndSet(false, true)) {
+            Platform.runLater(() -> importing.set(false));
+        } else {
+            updateMessage("Cancelling after the current batch...");
+        }
+    }
+
+    // Called on the import thread; Task coalesces the updates before they reach the application thread.
+    private void publish(ImportProgress progress) {
+        updateProgress(progress.getBytesWritten(), Math.max(progress.getTotalBytes(), 1));
+        long eta = progress.getEtaMillis();
+        updateMessage(String.format("Parsed %,d rows, written %,d rows (%,d posts), %s of %s read, %,.0f rows/s, %s left",
+                progress.getRowsParsed(), progress.getRowsWritten(), progress.getPostsWritten(),
+                formatBytes(progress.getBytesParsed()), formatBytes(progress.getTotalBytes()),
+                progress.getRowsPerSecond(), eta < 0 ? "unknown time" : formatDuration(eta)));
+    }
+
+    private static String formatBytes(long bytes) {
+        return bytes < 1024 * 1024 ? String.format("%,d KB", bytes / 1024) : String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static String formatDuration(long millis) {
+        long seconds = millis / 1000;
+        return seconds < 60 ? seconds + "s" : seconds / 60 + "m " + seconds % 60 + "s";
+    }
+}
@@ -1,11 +1,8 @@
 package views;
 
-import controllers.PostController;
-import controllers.UserController;
 import exceptions.UserException;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.Hyperlink;
@@ -19,7 +16,6 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.stage.Stage;
 import models.User;
-import views.facade.GUIViewFacade;
 import views.facade.GUIViewFacadeInterface;
 import views.interfaces.LoginViewInterface;
 
@@ -46,12 +42,11 @@ public class LoginView extends BaseView implements LoginViewInterface {
      * Constructs the LoginView.
      * 
      * @param stage The primary stage for this view.
-     * @param userController The controller for user-related operations.
-     * @param postController The controller for post-related operations.
+     * @param viewFacade The facade shared by all views.
      */
-    public LoginView(Stage stage, UserController userController, PostController postController) {
+    public LoginView(Stage stage, GUIViewFacadeInterface viewFacade) {
         this.stage = stage;
-        this.viewFacade = new GUIViewFacade(stage, userController, postController);
+        this.viewFacade = viewFacade;
         
         initializeComponents();
         show();
@@ -147,11 +142,22 @@ public class LoginView extends BaseView implements LoginViewInterface {
     
     @Override
     protected void show() { 
-    	stage.setScene(new Scene(gridPane, 400, 300));
+    	setScene(stage, gridPane, 400, 300);
         stage.setTitle("Login");
         stage.show();
     }
     
+    @Override
+    protected void refresh(User user) {
+        // The password of the previous session is not kept on screen
+        if (!passwordField.isVisible()) {
+            handleTogglePasswordVisibility();
+        }
+        passwordField.clear();
+        visiblePasswordField.clear();
+        resetLoginButton();
+    }
+    
     @Override
     public void handleExit() {
 		viewFacade.showAlert(AlertType.INFORMATION, "Message", "See you soon!");
@@ -161,12 +167,15 @@ public class LoginView extends BaseView implements LoginViewInterface {
     
     @Override
 	public void handleLogin() throws UserException {
-    	try {
-    		// Get username and password from fields
-            String username = usernameField.getText();
-            String password = passwordField.getText();
+		// Get username and password from fields
+        String username = usernameField.getText();
+        String password = passwordField.getText();
 
-            User user = viewFacade.loginUser(username, password);
+        // Verifying the password hash takes a while, so it runs in the background
+        loginButton.setDisable(true);
+        loginButton.setText("Logging in...");
+        viewFacade.runInBackground(() -> viewFacade.loginUser(username, password), user -> {
+            resetLoginButton();
             if (user != null) {
                 // Successful login, switch to DashboardView
                 viewFacade.navigateToDashboard(user);
@@ -174,11 +183,17 @@ public class LoginView extends BaseView implements LoginViewInterface {
                 // Show error message
                 viewFacade.showAlert(AlertType.ERROR, "Error", "Invalid username or password");
             }
-            System.out.println("Attempt to log in with username: " + username);
-        } catch (Exception e) {
+        }, e -> {
+            resetLoginButton();
             System.err.println("Error during login: " + e.getMessage());
             viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred during login: " + e.getMessage());
-        }
+        });
+        System.out.println("Attempt to log in with username: " + username);
+    }
+    
+    private void resetLoginButton() {
+        loginButton.setDisable(false);
+        loginButton.setText("Login");
     }
     
     @Override
@@ -1,15 +1,14 @@
 package views;
 
-import java.util.List;
-
-import controllers.PostController;
-import controllers.UserController;
+import events.PostEvent;
+import events.PostEventBus;
 import exceptions.PostException;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.chart.PieChart;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
@@ -21,7 +20,6 @@ import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import models.Post;
 import models.User;
-import views.facade.GUIViewFacade;
 import views.facade.GUIViewFacadeInterface;
 import views.interfaces.PieChartViewInterface;
 
@@ -38,20 +36,27 @@ public class PieChartView extends BaseView implements PieChartViewInterface {
     private Button backButton, myPostsButton, allPostsButton;
     private VBox layout;
     
+    // Lower bounds of the 0-99, 100-999 and 1000+ shares slices
+    private static final int[] SHARES_BUCKETS = {0, 100, 1000};
+    
     private GUIViewFacadeInterface viewFacade;
+    private Task<long[]> pendingUpdate;
+    private boolean showingOnlyCurrentUser;
+    private long[] shownCounts;
+    private boolean changedWhileCounting;
+    private PostEventBus.Listener postListener;
     
     /**
      * Constructs the PieChartView.
      * 
      * @param stage The primary stage for this view.
      * @param user The logged-in user.
-     * @param userController The controller for user-related operations.
-     * @param postController The controller for post-related operations.
+     * @param viewFacade The facade shared by all views.
      */
-    public PieChartView(Stage stage, User user, UserController userController, PostController postController) {
+    public PieChartView(Stage stage, User user, GUIViewFacadeInterface viewFacade) {
         this.user = user;
         this.stage = stage;
-        this.viewFacade = new GUIViewFacade(stage, userController, postController);
+        this.viewFacade = viewFacade;
         initializeComponents();
         show();
         System.out.println("PieChartView initialized.");
@@ -96,9 +101,13 @@ public class PieChartView extends BaseView implements PieChartViewInterface {
 
         backButton = new Button("Back to Dashboard");
         backButton.setOnAction(e -> {
-            // Return to the DashboardView
+            // Return to the DashboardView; a count still running lands in the cached chart
             viewFacade.navigateToDashboard(user);
         });
+        
+        // Changes to posts are applied to the counts on screen as they are committed
+        postListener = event -> Platform.runLater(() -> apply(event));
+        viewFacade.addPostListener(postListener);
 
         layout = new VBox(10, titleLabel, buttonBox, sharesPieChart, backButton);
         layout.setAlignment(Pos.CENTER);
@@ -106,37 +115,105 @@ public class PieChartView extends BaseView implements PieChartViewInterface {
         System.out.println("PieChartView components initialized.");
     }
     
+    @Override
+    protected void refresh(User user) {
+        this.user = user;
+    }
+    
+    @Override
+    protected void dispose() {
+        if (pendingUpdate != null) {
+            pendingUpdate.cancel(false);
+        }
+        viewFacade.removePostListener(postListener);
+    }
+    
     @Override
     protected void show() {
-    	Scene scene = new Scene(layout, 700, 700);
-        stage.setScene(scene);
+    	setScene(stage, layout, 700, 700);
         stage.setTitle("Posts Shares Distribution");
         stage.show();
     }
     
     @Override
     public void updatePieChartData(boolean onlyCurrentUser) throws PostException {
+    	// A newer request replaces one still running
+    	if (pendingUpdate != null) {
+    		pendingUpdate.cancel(false);
+    	}
+    	showingOnlyCurrentUser = onlyCurrentUser;
+    	changedWhileCounting = false;
+    	// Only the bucket counts are fetched, the ranges are counted by the database
+    	pendingUpdate = viewFacade.runInBackground(() -> viewFacade.getSharesHistogram(onlyCurrentUser ? user : null, SHARES_BUCKETS),
+    			counts -> {
+    				pendingUpdate = null;
+    				shownCounts = counts;
+    				showPieChartData(counts, onlyCurrentUser);
+    				if (changedWhileCounting) {
+    					// The count may or may not include those changes, so it is taken again
+    					recount();
+    				}
+    			}, e -> {
+    				pendingUpdate = null;
+    				System.err.println("Error updating pie chart data: " + e.getMessage());
+    				viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred while updating pie chart data: " + e.getMessage());
+    			});
+    }
+    
+    // Applies a committed change to the counts on screen without querying
+    private void apply(PostEvent event) {
+    	if (pendingUpdate != null) {
+    		changedWhileCounting = true;
+    		return;
+    	}
+    	if (shownCounts == null) {
+    		return;
+    	}
+    	switch (event.getType()) {
+    		case Added:
+    		case Bulk_added:
+    			event.getPosts().forEach(post -> count(post, 1));
+    			break;
+    		case Deleted:
+    			count(event.getPost(), -1);
+    			break;
+    		case Updated:
+    			if (event.getPreviousPost() == null) {
+    				recount();
+    				return;
+    			}
+    			count(event.getPreviousPost(), -1);
+    			count(event.getPost(), 1);
+    			break;
+    	}
+    	showPieChartData(shownCounts, showingOnlyCurrentUser);
+    }
+    
+    // Adds delta to the slice of the post's shares, if the chart counts the post
+    private void count(Post post, int delta) {
+    	if (showingOnlyCurrentUser && post.getUserId() != user.getUserId()) {
+    		return;
+    	}
+    	int bucket = 0;
+    	while (bucket + 1 < SHARES_BUCKETS.length && post.getShares() >= SHARES_BUCKETS[bucket + 1]) {
+    		bucket++;
+    	}
+    	shownCounts[bucket] += delta;
+    }
+    
+    private void recount() {
     	try {
-    		List<Post> posts;
-            if (onlyCurrentUser) {
-                posts = viewFacade.getPostsByUser(user);
-            } else {
-                posts = viewFacade.getAllPosts();
-            }
-
-            int count0to99 = 0;
-            int count100to999 = 0;
-            int count1000Plus = 0;
-
-            for (Post post : posts) {
-                if (post.getShares() >= 0 && post.getShares() <= 99) {
-                    count0to99++;
-                } else if (post.getShares() >= 100 && post.getShares() <= 999) {
-                    count100to999++;
-                } else if (post.getShares() >= 1000) {
-                    count1000Plus++;
-                }
-            }
+    		updatePieChartData(showingOnlyCurrentUser);
+    	} catch (PostException e) {
+    		e.printStackTrace();
+    	}
+    }
+    
+    private void showPieChartData(long[] counts, boolean onlyCurrentUser) {
+    	try {
+            long count0to99 = counts[0];
+            long count100to999 = counts[1];
+            long count1000Plus = counts[2];
             
             ObservableList<PieChart.Data> newData = FXCollections.observableArrayList(
                     new PieChart.Data("0-99 Shares:", count0to99),
@@ -4,11 +4,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
-import controllers.PostController;
-import controllers.UserController;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.DatePicker;
@@ -20,7 +17,6 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import models.Post;
 import models.User;
-import views.facade.GUIViewFacade;
 import views.facade.GUIViewFacadeInterface;
 import views.interfaces.PostFormViewInterface;
 
@@ -47,23 +43,22 @@ public class PostFormView extends BaseView implements PostFormViewInterface {
      * 
      * @param stage The primary stage for this view.
      * @param user The current logged in user.
-     * @param postController The controller for post-related operations.
-     * @param userController The controller for user-related operations.
+     * @param viewFacade The facade shared by all views.
      * @param existingPost The post to be edited.
      */
-    public PostFormView(Stage stage, User user, PostController postController, UserController userController, Post existingPost) {
+    public PostFormView(Stage stage, User user, GUIViewFacadeInterface viewFacade, Post existingPost) {
         this.user = user;
         this.stage = stage;
         this.existingPost = existingPost;
-        viewFacade = new GUIViewFacade(stage, userController, postController);
+        this.viewFacade = viewFacade;
         
         initializeComponents();
         show();
         System.out.println("PostFormView initialized for editing post with ID: " + (existingPost != null ? existingPost.getPostId() : "New post"));
     }
     
-    public PostFormView(Stage stage, User user, PostController postController, UserController userController) {
-        this(stage, user, postController, userController, null);
+    public PostFormView(Stage stage, User user, GUIViewFacadeInterface viewFacade) {
+        this(stage, user, viewFacade, null);
     }
     	
     @Override
@@ -75,18 +70,15 @@ public class PostFormView extends BaseView implements PostFormViewInterface {
         
         contentField = new TextField();
         contentField.setPromptText("Content");
-        if (existingPost != null) contentField.setText(existingPost.getContent());
 
         likesField = new TextField();
         likesField.setPromptText("Likes");
-        if (existingPost != null) likesField.setText(String.valueOf(existingPost.getLikes()));
 
         sharesField = new TextField();
         sharesField.setPromptText("Shares");
-        if (existingPost != null) sharesField.setText(String.valueOf(existingPost.getShares()));
 
         datePicker = new DatePicker();
-        if (existingPost != null) datePicker.setValue(existingPost.getDateTime().toLocalDate());
+        fillFields();
 
         saveButton = new Button("Save");
         saveButton.setOnAction(e -> handleSave(existingPost));
@@ -116,9 +108,40 @@ public class PostFormView extends BaseView implements PostFormViewInterface {
         
     }
     
+    /**
+     * Hands a cached edit form the post to edit before it is shown again.
+     * 
+     * @param existingPost The post to be edited.
+     */
+    public void setExistingPost(Post existingPost) {
+        this.existingPost = existingPost;
+    }
+    
+    @Override
+    protected void refresh(User user) {
+        this.user = user;
+        fillFields();
+        resetSaveButton();
+    }
+    
+    // Shows the post being edited, or an empty form for a new post
+    private void fillFields() {
+        if (existingPost != null) {
+            contentField.setText(existingPost.getContent());
+            likesField.setText(String.valueOf(existingPost.getLikes()));
+            sharesField.setText(String.valueOf(existingPost.getShares()));
+            datePicker.setValue(existingPost.getDateTime().toLocalDate());
+        } else {
+            contentField.clear();
+            likesField.clear();
+            sharesField.clear();
+            datePicker.setValue(null);
+        }
+    }
+    
     @Override
     protected void show() {
-    	stage.setScene(new Scene(mainLayout, 400, 550));
+    	setScene(stage, mainLayout, 400, 550);
         stage.setTitle(existingPost == null ? "Add Post" : "Edit Post");
         stage.show();
         System.out.println("PostFormView displayed.");
@@ -126,6 +149,7 @@ public class PostFormView extends BaseView implements PostFormViewInterface {
     
     @Override
     public void handleSave(Post existingPost) {
+        boolean started = false;
         try {
             System.out.println("Save process started for post with ID: " + (existingPost != null ? existingPost.getPostId() : "New post"));
             
@@ -170,26 +194,43 @@ public class PostFormView extends BaseView implements PostFormViewInterface {
             // Convert LocalDate to the expected date-time string format
             String formattedDateTime = dateTime.format(formatter);
 
-            if (existingPost == null) {
-                // For new posts, we don't need to set the PostID as it will be auto-incremented
-                viewFacade.addPost(content, author, likes, shares, formattedDateTime, user);
-                viewFacade.showAlert(AlertType.INFORMATION, "Success", "Post created successfully!");
-                viewFacade.navigateToDashboard(user); // Return to the Dashboard
-                
-            } else {
-                // For existing posts, we keep the PostID and update other fields
-                int postId = existingPost.getPostId();
-                viewFacade.editPost(postId, content, author, likes, shares, formattedDateTime, user);
-                viewFacade.showAlert(AlertType.INFORMATION, "Success", "Post updated successfully!");
-                viewFacade.navigateToMyPosts(user);
-            }
+            // The post is written in the background; the button is reset once that is done
+            started = true;
+            viewFacade.runInBackground(() -> {
+                if (existingPost == null) {
+                    // For new posts, we don't need to set the PostID as it will be auto-incremented
+                    viewFacade.addPost(content, author, likes, shares, formattedDateTime, user);
+                } else {
+                    // For existing posts, we keep the PostID and update other fields
+                    viewFacade.editPost(existingPost.getPostId(), content, author, likes, shares, formattedDateTime, user);
+                }
+                return existingPost == null;
+            }, created -> {
+                resetSaveButton();
+                if (created) {
+                    viewFacade.showAlert(AlertType.INFORMATION, "Success", "Post created successfully!");
+                    viewFacade.navigateToDashboard(user); // Return to the Dashboard
+                } else {
+                    viewFacade.showAlert(AlertType.INFORMATION, "Success", "Post updated successfully!");
+                    viewFacade.navigateToMyPosts(user);
+                }
+            }, e -> {
+                resetSaveButton();
+                viewFacade.showAlert(AlertType.ERROR, "Error", "Error saving the post. Please ensure all fields are correctly filled.");
+            });
             
         } catch (Exception e) {
             viewFacade.showAlert(AlertType.ERROR, "Error", "Error saving the post. Please ensure all fields are correctly filled.");
         } finally {
-            // Resetting the button state after save
-            saveButton.setDisable(false);
-            saveButton.setText("Save");
+            // Resetting the button state unless the save is still running
+            if (!started) {
+                resetSaveButton();
+            }
         }
     }
+    
+    private void resetSaveButton() {
+        saveButton.setDisable(false);
+        saveButton.setText("Save");
+    }
 }
\ No newline at end of file
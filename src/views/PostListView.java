@@ -1,20 +1,24 @@
 package views;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
-import controllers.PostController;
-import controllers.UserController;
 import enums.FilterBy;
 import enums.SortBy;
+import events.PostEventBus;
 import exceptions.PostException;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
@@ -24,7 +28,7 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import models.Post;
 import models.User;
-import views.facade.GUIViewFacade;
+import utils.PostIndex;
 import views.facade.GUIViewFacadeInterface;
 import views.interfaces.PostListViewInterface;
 
@@ -38,10 +42,14 @@ public class PostListView extends BaseView implements PostListViewInterface {
     private User user;
     private TableView<Post> postsTable;
     private ObservableList<Post> postsData;
-    private Button backButton, editButton, deleteButton, exportButton, retrieveButton, clearTableButton, resetButton, topPostsButton;
+    private Button backButton, editButton, deleteButton, exportButton, retrieveButton, clearTableButton, resetButton, topPostsButton, browseButton, exportListButton, exportAllButton;
     private TextField topNInput, postIdInput;
     private ComboBox<String> sortByDropdown, filterByDropdown;
     private VBox layout;
+    private PostTablePager pager;
+    private PostEventBus.Listener postListener;
+    private ProgressIndicator loadingIndicator;
+    private Task<?> pendingQuery;
     
     private GUIViewFacadeInterface viewFacade;
     
@@ -50,13 +58,12 @@ public class PostListView extends BaseView implements PostListViewInterface {
      * 
      * @param stage The primary stage for this view.
      * @param user The logged-in user.
-     * @param postController The controller for post-related operations.
-     * @param userController The controller for user-related operations.
+     * @param viewFacade The facade shared by all views.
      */
-    public PostListView(Stage stage, User user, PostController postController, UserController userController) {
+    public PostListView(Stage stage, User user, GUIViewFacadeInterface viewFacade) {
         this.user = user;
         this.stage = stage;
-        this.viewFacade = new GUIViewFacade(stage, userController, postController);
+        this.viewFacade = viewFacade;
         
         initializeComponents();
         show();
@@ -66,15 +73,19 @@ public class PostListView extends BaseView implements PostListViewInterface {
     @SuppressWarnings("unchecked")
     @Override
 	protected void initializeComponents() {
-    	try {
-			postsData = FXCollections.observableArrayList(viewFacade.getPostsByUser(user));
-		} catch (PostException e) {
-			e.printStackTrace();
-		}
-		 
+		postsData = FXCollections.observableArrayList();
 		postsTable = new TableView<>();
 		postsTable.setItems(postsData);
 		
+		// Only the first page of the user's posts is loaded, the rest follows on scroll
+		pager = new PostTablePager(postsTable, viewFacade, PostTablePager.DEFAULT_PAGE_SIZE);
+		pager.attachScrollListener();
+		startListing(SortBy.By_Date, user);
+		
+		// Posts added, edited, deleted or imported elsewhere are applied to the table as they are committed
+		postListener = event -> Platform.runLater(() -> pager.apply(event));
+		viewFacade.addPostListener(postListener);
+		
 		// Define columns
 		TableColumn<Post, Integer> idCol = new TableColumn<>("ID");
 		idCol.setCellValueFactory(new PropertyValueFactory<>("postId"));
@@ -154,14 +165,20 @@ public class PostListView extends BaseView implements PostListViewInterface {
 			}
 		});
 		
+		// Also cancels a query that is still running
 		clearTableButton = new Button("Clear List");
-		clearTableButton.setOnAction(e -> postsTable.getItems().clear());
+		clearTableButton.setOnAction(e -> {
+			cancelPendingQuery();
+			pager.stop();
+			postsTable.getItems().clear();
+		});
 		
+		// Reloads in place; navigating to the view again would show the cached listing
 		resetButton = new Button("Reload my posts");
-		resetButton.setOnAction(e -> viewFacade.navigateToMyPosts(user));
+		resetButton.setOnAction(e -> startListing(SortBy.By_Date, user));
 		
 		sortByDropdown = new ComboBox<>();
-        sortByDropdown.getItems().addAll("By Likes", "By Shares");
+        sortByDropdown.getItems().addAll("By Likes", "By Shares", "By Date");
         sortByDropdown.setValue("By Likes"); // Default value
 
         filterByDropdown = new ComboBox<>();
@@ -177,6 +194,15 @@ public class PostListView extends BaseView implements PostListViewInterface {
 			}
 		});
 		
+		browseButton = new Button("Browse Posts");
+		browseButton.setOnAction(e -> {
+			try {
+				handleBrowsePosts();
+			} catch (PostException e1) {
+				e1.printStackTrace();
+			}
+		});
+		
 		exportButton = new Button("Export Selected Post");
 		exportButton.setDisable(true);
 		exportButton.setOnAction(e -> {
@@ -186,11 +212,21 @@ public class PostListView extends BaseView implements PostListViewInterface {
 		    }
 		});
 		
+		exportListButton = new Button("Export Listed Posts");
+		exportListButton.setOnAction(e -> handleExportListedPosts());
+		
+		exportAllButton = new Button("Export All Posts");
+		exportAllButton.setOnAction(e -> handleExportAllPosts());
+		
 		 // Define HBoxes for grouping related controls
 	    HBox postIDControls = new HBox(10, postIdInput, retrieveButton, clearTableButton);
-	    HBox topNControls = new HBox(10, topNInput, sortByDropdown, filterByDropdown, topPostsButton);
-	    HBox postActions = new HBox(10, editButton, deleteButton, exportButton);
-	    HBox navigationActions = new HBox(10, backButton, resetButton);
+	    HBox topNControls = new HBox(10, topNInput, sortByDropdown, filterByDropdown, topPostsButton, browseButton);
+	    HBox postActions = new HBox(10, editButton, deleteButton, exportButton, exportListButton, exportAllButton);
+		loadingIndicator = new ProgressIndicator();
+		loadingIndicator.setPrefSize(24, 24);
+		loadingIndicator.setVisible(false);
+		
+	    HBox navigationActions = new HBox(10, backButton, resetButton, loadingIndicator);
 
 	    // Setting padding for the HBoxes
 	    postIDControls.setPadding(new Insets(10, 0, 10, 0));
@@ -204,9 +240,26 @@ public class PostListView extends BaseView implements PostListViewInterface {
 		
     }
     
+    @Override
+    protected void refresh(User user) {
+        this.user = user;
+    }
+    
+    @Override
+    protected void dispose() {
+        cancelPendingQuery();
+        pager.stop();
+        viewFacade.removePostListener(postListener);
+    }
+    
+    private void startListing(SortBy order, User filterUser) {
+        cancelPendingQuery();
+        pager.start(order, filterUser);
+    }
+    
     @Override
     protected void show() { 
-    	stage.setScene(new Scene(layout, 800, 600));
+    	setScene(stage, layout, 800, 600);
 		stage.setTitle("My Posts");
 		stage.show();
         System.out.println("PostListView initialized.");
@@ -214,6 +267,8 @@ public class PostListView extends BaseView implements PostListViewInterface {
     
     @Override
     public void handleBack() {
+        // The listing is kept for the next visit
+        cancelPendingQuery();
         viewFacade.navigateToDashboard(user);
         System.out.println("Navigating back to dashboard.");
     }
@@ -221,15 +276,18 @@ public class PostListView extends BaseView implements PostListViewInterface {
     @Override
     public void handleRetrievePostById() throws PostException {
     	try {
-            Post post = viewFacade.getPostByID(Integer.parseInt(postIdInput.getText()));
-            if (post != null) {
-                postsData.clear();
-                postsData.add(post);
-            } else {
-                // Show an error message to the user indicating the post was not found or not authored by the user.
-            	viewFacade.showAlert(AlertType.ERROR, "Error", "Post not found!");
-            }
-            System.out.println("Retrieved post by ID.");
+            int postId = Integer.parseInt(postIdInput.getText());
+            runQuery(() -> viewFacade.getPostByID(postId), post -> {
+                if (post != null) {
+                    pager.stop();
+                    postsData.clear();
+                    postsData.add(post);
+                } else {
+                    // Show an error message to the user indicating the post was not found or not authored by the user.
+                	viewFacade.showAlert(AlertType.ERROR, "Error", "Post not found!");
+                }
+                System.out.println("Retrieved post by ID.");
+            });
 
         } catch (NumberFormatException e) {
         	viewFacade.showAlert(AlertType.ERROR, "Error", "Invalid Post ID format!");
@@ -244,14 +302,16 @@ public class PostListView extends BaseView implements PostListViewInterface {
     
     @Override
     public void handleDeletePost(Post selectedPost) throws PostException {
-    	try {
+    	viewFacade.runInBackground(() -> {
     		viewFacade.deletePost(selectedPost);
-            postsData.remove(selectedPost);  // Refresh the table
+    		return selectedPost;
+    	}, deleted -> {
+            postsData.remove(deleted);  // Refresh the table
             System.out.println("Deleted selected post.");
-        } catch (Exception e) {
+        }, e -> {
             System.err.println("Error deleting post: " + e.getMessage());
             viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred while deleting post: " + e.getMessage());
-        }
+        });
     }
     
     @Override
@@ -267,31 +327,47 @@ public class PostListView extends BaseView implements PostListViewInterface {
             }
 
             n = Integer.parseInt(topNInput.getText());
-            List<Post> topPosts;
 
-            if (SortBy.By_Likes.getSortBy().equals(sortBy)) {
-                if (FilterBy.My_posts.getFilterBy().equals(filterBy)) {
-                    topPosts = viewFacade.getTopNPostsByLikes(n, user);
+            User filterUser = FilterBy.My_posts.getFilterBy().equals(filterBy) ? user : null;
+            PostIndex index = pager.getIndex();
+            if (index.covers(filterUser)) {
+                // Every post of the filter has been loaded already, so no query is needed
+                cancelPendingQuery();
+                pager.stop();
+                postsData.setAll(index.top(selectedSortBy(), filterUser, n));
+                System.out.println("Listed top posts from the loaded posts.");
+                return;
+            }
+            runQuery(() -> {
+                if (SortBy.By_Date.getSortBy().equals(sortBy)) {
+                    // The latest N posts are simply the first page of the date listing
+                    return viewFacade.getPostsPage(SortBy.By_Date, filterUser, null, n).getPosts();
+                } else if (SortBy.By_Likes.getSortBy().equals(sortBy)) {
+                    return viewFacade.getTopNPostsByLikes(n, filterUser);
                 } else {
-                    topPosts = viewFacade.getTopNPostsByLikes(n, null);
+                    return viewFacade.getTopNPostsByShares(n, filterUser);
                 }
-            } else {
-                if (FilterBy.My_posts.getFilterBy().equals(filterBy)) {
-                    topPosts = viewFacade.getTopNPostsByShares(n, user);
-                } else {
-                    topPosts = viewFacade.getTopNPostsByShares(n, null);
+            }, topPosts -> {
+                pager.stop();
+                postsTable.getItems().clear();
+                if (topPosts != null) {
+                    postsData.addAll(topPosts);
                 }
-            }
-
-            postsTable.getItems().clear();
-            if (topPosts != null) {
-                postsData.addAll(topPosts);
-            }
+            });
         } catch (NumberFormatException e) {
         	viewFacade.showAlert(AlertType.ERROR, "Error", "Invalid number format in the 'Enter N' field!");
         }
     }
     
+    @Override
+    public void handleBrowsePosts() throws PostException {
+        String filterBy = filterByDropdown.getValue();
+
+        SortBy order = selectedSortBy();
+        startListing(order, FilterBy.My_posts.getFilterBy().equals(filterBy) ? user : null);
+        System.out.println("Browsing posts " + order.getSortBy().toLowerCase() + ".");
+    }
+    
     @Override
     public void handleExportPost(Post post) {
     	try {
@@ -299,11 +375,12 @@ public class PostListView extends BaseView implements PostListViewInterface {
             File file = viewFacade.handleExportPost();
 
             if (file != null) {
-                boolean isSaved = viewFacade.savePostToFile(post, file);
-                if (isSaved) 
-                	viewFacade.showAlert(AlertType.INFORMATION, "Success", "Post exported successfully!");
-                else
-                	viewFacade.showAlert(AlertType.ERROR, "Error", "Error while exporting. Please try again!");
+                viewFacade.runInBackground(() -> viewFacade.savePostToFile(post, file), isSaved -> {
+                    if (isSaved) 
+                    	viewFacade.showAlert(AlertType.INFORMATION, "Success", "Post exported successfully!");
+                    else
+                    	viewFacade.showAlert(AlertType.ERROR, "Error", "Error while exporting. Please try again!");
+                }, e -> viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred while exporting post: " + e.getMessage()));
 
             } else { 
             	viewFacade.showAlert(AlertType.ERROR, "Error", "Error occured!");
@@ -314,4 +391,74 @@ public class PostListView extends BaseView implements PostListViewInterface {
             viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred while exporting post: " + e.getMessage());
         }
     }
+    
+    @Override
+    public void handleExportListedPosts() {
+    	File file = viewFacade.handleExportPost();
+    	if (file == null) {
+    		return;
+    	}
+    	List<Post> listedPosts = new ArrayList<>(postsTable.getItems());
+    	viewFacade.runInBackground(() -> viewFacade.exportPosts(listedPosts, file), count -> {
+    		viewFacade.showAlert(AlertType.INFORMATION, "Success", count + " posts exported successfully!");
+    	}, e -> {
+    		System.err.println("Error exporting listed posts: " + e.getMessage());
+    		viewFacade.showAlert(AlertType.ERROR, "Error", e.getMessage());
+    	});
+    }
+    
+    @Override
+    public void handleExportAllPosts() {
+    	File file = viewFacade.handleExportPost();
+    	if (file == null) {
+    		return;
+    	}
+    	// Streams every post of the current filter from the database, not just the loaded pages
+    	boolean myPosts = FilterBy.My_posts.getFilterBy().equals(filterByDropdown.getValue());
+    	viewFacade.runInBackground(() -> viewFacade.exportPosts(myPosts ? user : null, file), count -> {
+    		viewFacade.showAlert(AlertType.INFORMATION, "Success", count + " posts exported successfully!");
+    	}, e -> {
+    		System.err.println("Error exporting posts: " + e.getMessage());
+    		viewFacade.showAlert(AlertType.ERROR, "Error", e.getMessage());
+    	});
+    }
+    
+    private SortBy selectedSortBy() {
+        for (SortBy candidate : SortBy.values()) {
+            if (candidate.getSortBy().equals(sortByDropdown.getValue())) {
+                return candidate;
+            }
+        }
+        return SortBy.By_Date;
+    }
+    
+    /**
+     * Runs a query whose result replaces the table content in the background, showing the
+     * loading indicator meanwhile. A newer query, clearing the list or leaving the view cancels it.
+     * 
+     * @param query The query, run on the background executor.
+     * @param onResult Receives the result on the application thread.
+     */
+    private <T> void runQuery(Callable<T> query, Consumer<T> onResult) {
+    	cancelPendingQuery();
+    	loadingIndicator.setVisible(true);
+    	pendingQuery = viewFacade.runInBackground(query, result -> {
+    		pendingQuery = null;
+    		loadingIndicator.setVisible(false);
+    		onResult.accept(result);
+    	}, e -> {
+    		pendingQuery = null;
+    		loadingIndicator.setVisible(false);
+    		System.err.println("Error loading posts: " + e.getMessage());
+    		viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred while loading posts: " + e.getMessage());
+    	});
+    }
+    
+    private void cancelPendingQuery() {
+    	if (pendingQuery != null) {
+    		pendingQuery.cancel(false);
+    		pendingQuery = null;
+    		loadingIndicator.setVisible(false);
+    	}
+    }
 }
\ No newline at end of file
@@ -0,0 +1,237 @@
+package views;
+
+import java.util.Collections;
+import java.util.List;
+
+import enums.SortBy;
+import events.PostEvent;
+import javafx.concurrent.Task;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+import models.Post;
+import models.PostPage;
+import models.User;
+import utils.PostIndex;
+import views.facade.GUIViewFacadeInterface;
+
+/**
+ * The PostTablePager feeds a post TableView one keyset page at a time. The first page is
+ * loaded when a listing is started and further pages are appended as the user scrolls
+ * towards the end of the table, so opening a listing costs one page instead of the whole table.
+ * Pages are fetched in the background through the facade and appended on the application thread;
+ * at most one page is in flight and a page of a listing that was replaced or stopped is dropped.
+ * Changes to posts made afterwards are applied to the loaded posts with {@link #apply(PostEvent)}.
+ * Once a listing has been read to its end its posts are also handed to a {@link PostIndex}, which
+ * can then answer other orders and top N requests over the same posts without a query.
+ */
+public class PostTablePager {
+
+    // Posts fetched per page, overridable with -Ddah.ui.pageSize
+    public static final int DEFAULT_PAGE_SIZE = Integer.getInteger("dah.ui.pageSize", 100);
+
+    // Share of the scroll range after which the next page is fetched
+    private static final double PREFETCH_THRESHOLD = 0.9;
+
+    private final TableView<Post> table;
+    private final GUIViewFacadeInterface viewFacade;
+    private final int pageSize;
+    private final PostIndex postIndex = new PostIndex();
+
+    private SortBy sortBy;
+    private User user;
+    private Post lastPost;
+    private boolean hasMore;
+    private boolean active;
+    private Task<PostPage> pendingPage;
+
+    /**
+     * Constructs a pager for the given table.
+     *
+     * @param table The table whose items are paged.
+     * @param viewFacade The facade used to fetch pages.
+     * @param pageSize The number of posts fetched per page.
+     */
+    public PostTablePager(TableView<Post> table, GUIViewFacadeInterface viewFacade, int pageSize) {
+        this.table = table;
+        this.viewFacade = viewFacade;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Replaces the table content with the first page of a new listing.
+     *
+     * @param sortBy The sort order of the listing.
+     * @param user The user whose posts are listed, or null for all posts.
+     */
+    public void start(SortBy sortBy, User user) {
+        cancelPendingPage();
+        this.sortBy = sortBy;
+        this.user = user;
+        this.lastPost = null;
+        this.hasMore = true;
+        this.active = true;
+        table.getItems().clear();
+        loadNextPage();
+    }
+
+    /**
+     * Stops paging, e.g. when the table content is replaced by a search result.
+     */
+    public void stop() {
+        active = false;
+        cancelPendingPage();
+    }
+
+    /**
+     * @return the index over every listing that was read to its end, kept up to date by {@link #apply(PostEvent)}
+     */
+    public PostIndex getIndex() {
+        return postIndex;
+    }
+
+    /**
+     * @return whether a page is being fetched
+     */
+    public boolean isLoading() {
+        return pendingPage != null;
+    }
+
+    /**
+     * Starts fetching the next page of the current listing; it is appended to the table when it arrives.
+     *
+     * @return true if a page is being fetched
+     */
+    public boolean loadNextPage() {
+        if (!active || !hasMore) {
+            return false;
+        }
+        if (pendingPage != null) {
+            return true;
+        }
+        SortBy pageSortBy = sortBy;
+        User pageUser = user;
+        Post after = lastPost;
+        pendingPage = viewFacade.runInBackground(() -> viewFacade.getPostsPage(pageSortBy, pageUser, after, pageSize), page -> {
+            pendingPage = null;
+            table.getItems().addAll(page.getPosts());
+            if (page.getLastPost() != null) {
+                lastPost = page.getLastPost();
+            }
+            hasMore = page.hasMore();
+            System.out.println("Loaded a page of " + page.getPosts().size() + " posts.");
+            if (!hasMore) {
+                postIndex.load(pageUser, table.getItems());
+            }
+        }, e -> {
+            pendingPage = null;
+            active = false;
+            System.err.println("Error loading posts: " + e.getMessage());
+            viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred while loading posts: " + e.getMessage());
+        });
+        return true;
+    }
+
+    /**
+     * Applies a committed change to the loaded posts without querying. Added posts of the current
+     * listing are inserted at their place in the listing order, unless they fall after the last
+     * loaded post and a later page will bring them; updated posts are moved to their new place and
+     * deleted posts removed. While paging is stopped, e.g. on a search result, the listed posts
+     * are only updated or removed.
+     *
+     * @param event The change, applied on the application thread.
+     */
+    public void apply(PostEvent event) {
+        postIndex.apply(event);
+        List<Post> items = table.getItems();
+        switch (event.getType()) {
+            case Added:
+            case Bulk_added:
+                if (active) {
+                    event.getPosts().forEach(this::insert);
+                }
+                break;
+            case Updated: {
+                Post post = event.getPost();
+                int index = indexOf(post.getPostId());
+                if (active) {
+                    // Its sort key may have changed, and an edit can also bring a post into the loaded range
+                    if (index >= 0) {
+                        items.remove(index);
+                    }
+                    insert(post);
+                } else if (index >= 0) {
+                    items.set(index, post);
+                }
+                break;
+            }
+            case Deleted: {
+                int index = indexOf(event.getPost().getPostId());
+                if (index >= 0) {
+                    items.remove(index);
+                }
+                break;
+            }
+        }
+    }
+
+    private void insert(Post post) {
+        if (user != null && post.getUserId() != user.getUserId()) {
+            return;
+        }
+        List<Post> items = table.getItems();
+        int index = Collections.binarySearch(items, post, PostPage.listingOrder(sortBy));
+        if (index >= 0) {
+            items.set(index, post);
+        } else if (-index - 1 < items.size() || !hasMore) {
+            items.add(-index - 1, post);
+        }
+    }
+
+    private int indexOf(int postId) {
+        List<Post> items = table.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getPostId() == postId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void cancelPendingPage() {
+        if (pendingPage != null) {
+            pendingPage.cancel(false);
+            pendingPage = null;
+        }
+    }
+
+    /**
+     * Loads the next page whenever the vertical scroll bar nears its end. The scroll bar only
+     * exists once the table skin has been created, so this waits for the skin if needed.
+     */
+    public void attachScrollListener() {
+        if (table.getSkin() != null) {
+            attachToScrollBar();
+        } else {
+            table.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+                if (oldSkin == null && newSkin != null) {
+                    attachToScrollBar();
+                }
+            });
+        }
+    }
+
+    private void attachToScrollBar() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                bar.valueProperty().addListener((obs, oldValue, newValue) -> {
+                    if (newValue.doubleValue() >= bar.getMax() * PREFETCH_THRESHOLD) {
+                        loadNextPage();
+                    }
+                });
+            }
+        }
+    }
+}
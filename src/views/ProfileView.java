@@ -1,10 +1,7 @@
 package views;
 
-import controllers.PostController;
-import controllers.UserController;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -15,7 +12,6 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import models.User;
-import views.facade.GUIViewFacade;
 import views.facade.GUIViewFacadeInterface;
 import views.interfaces.ProfileViewInterface;
 
@@ -39,13 +35,12 @@ public class ProfileView extends BaseView implements ProfileViewInterface {
      * 
      * @param stage The primary stage for this view.
      * @param user The current logged-in user.
-     * @param userController The controller for user-related operations.
-     * @param postController The controller for post-related operations.
+     * @param viewFacade The facade shared by all views.
      */
-    public ProfileView(Stage stage, User user, UserController userController, PostController postController) {
+    public ProfileView(Stage stage, User user, GUIViewFacadeInterface viewFacade) {
         this.user = user;
         this.stage = stage;
-        this.viewFacade = new GUIViewFacade(stage, userController, postController);
+        this.viewFacade = viewFacade;
         
         initializeComponents();
         show();
@@ -60,19 +55,15 @@ public class ProfileView extends BaseView implements ProfileViewInterface {
         logoView.setPreserveRatio(true);
         
         usernameField = new TextField();
-        usernameField.setText(user.getUsername());
-
         firstNameField = new TextField();
-        firstNameField.setText(user.getFirstName());
-
         lastNameField = new TextField();
-        lastNameField.setText(user.getLastName());
 
         passwordField = new PasswordField();
         passwordField.setPromptText("New Password");
 
         confirmPasswordField = new PasswordField();
         confirmPasswordField.setPromptText("Confirm New Password");
+        fillFields();
 
         saveButton = new Button("Save");
         saveButton.setOnAction(e -> handleSave());
@@ -96,9 +87,24 @@ public class ProfileView extends BaseView implements ProfileViewInterface {
 
     }
     
+    @Override
+    protected void refresh(User user) {
+        this.user = user;
+        fillFields();
+    }
+    
+    // Shows the current profile with empty password fields
+    private void fillFields() {
+        usernameField.setText(user.getUsername());
+        firstNameField.setText(user.getFirstName());
+        lastNameField.setText(user.getLastName());
+        passwordField.clear();
+        confirmPasswordField.clear();
+    }
+    
     @Override
     protected void show() {
-    	stage.setScene(new Scene(mainLayout, 400, 600));
+    	setScene(stage, mainLayout, 400, 600);
         stage.setTitle("Edit Profile");
         stage.show();
         System.out.println("ProfileView displayed.");
@@ -106,36 +112,37 @@ public class ProfileView extends BaseView implements ProfileViewInterface {
     
     @Override
     public void handleSave() {
-    	try {
-    		String username = usernameField.getText();
-            String firstName = firstNameField.getText();
-            String lastName = lastNameField.getText();
-            String password = passwordField.getText();
-            String confirmPassword = confirmPasswordField.getText();
+		String username = usernameField.getText();
+        String firstName = firstNameField.getText();
+        String lastName = lastNameField.getText();
+        String password = passwordField.getText();
+        String confirmPassword = confirmPasswordField.getText();
+
+        if (!password.isEmpty()) {
+        	if (confirmPassword.isEmpty()) {
+        		viewFacade.showAlert(AlertType.ERROR, "Error", "Confirm password is empty.");
+                return;
+        	}
+        	if (password.length() < 6) {
+                viewFacade.showAlert(AlertType.ERROR, "Error", "Password should be at least 6 characters long!");
+                return;
+            }
+            if (!password.equals(confirmPassword)) {
+                viewFacade.showAlert(AlertType.ERROR, "Error", "Passwords do not match.");
+                return;
+            }
+        }
 
+        // The uniqueness check, the password hashing and the updates run in the background;
+        // the result is null on success or the message to show
+        saveButton.setDisable(true);
+        viewFacade.runInBackground(() -> {
             // Check if username has changed and if the new one is unique
             if (!user.getUsername().equals(username) && viewFacade.checkUsernameExist(username)) {
-            	viewFacade.showAlert(AlertType.ERROR, "Error", "The username is already taken.");
-                return;
+                return "The username is already taken.";
             }
-
-            if (!password.isEmpty()) {
-            	if (confirmPassword.isEmpty()) {
-            		viewFacade.showAlert(AlertType.ERROR, "Error", "Confirm password is empty.");
-                    return;
-            	}
-            	if (password.length() < 6) {
-                    viewFacade.showAlert(AlertType.ERROR, "Error", "Password should be at least 6 characters long!");
-                    return;
-                }
-                if (!password.equals(confirmPassword)) {
-                    viewFacade.showAlert(AlertType.ERROR, "Error", "Passwords do not match.");
-                    return;
-                }
-                if (viewFacade.isPasswordSameAsOld(user.getUserId(), password, user.getSalt())) {
-                    viewFacade.showAlert(AlertType.ERROR, "Error", "New password should be different from the previous one.");
-                    return;
-                }
+            if (!password.isEmpty() && viewFacade.isPasswordSameAsOld(user.getUserId(), password, user.getSalt())) {
+                return "New password should be different from the previous one.";
             }
 
             user.setUsername(username);
@@ -143,26 +150,27 @@ public class ProfileView extends BaseView implements ProfileViewInterface {
             user.setLastName(lastName);
             
             boolean isUpdated = true;
-            if (!password.isEmpty() && !confirmPassword.isEmpty()) {
+            if (!password.isEmpty()) {
                 isUpdated = viewFacade.updateUserPassword(user, password);
             }
-
             if (isUpdated) {
                 isUpdated = viewFacade.updateUserProfile(user);
             }
-
-            if (isUpdated) {
+            return isUpdated ? null : "Error updating profile. Please try again.";
+        }, error -> {
+            saveButton.setDisable(false);
+            if (error == null) {
                 viewFacade.showAlert(AlertType.INFORMATION, "Success", "Profile updated successfully.");
                 viewFacade.navigateToDashboard(user);
+                System.out.println("Profile saved.");
             } else {
-                viewFacade.showAlert(AlertType.ERROR, "Error", "Error updating profile. Please try again.");
+                viewFacade.showAlert(AlertType.ERROR, "Error", error);
             }
-    		System.out.println("Profile saved.");
-
-    	} catch (Exception e) {
+        }, e -> {
+            saveButton.setDisable(false);
     		System.err.println("Error saving profile: " + e.getMessage());
             viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred. Please try again.");
-    	}
+        });
     }
     
     @Override
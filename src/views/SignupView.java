@@ -1,10 +1,7 @@
 package views;
 
-import controllers.PostController;
-import controllers.UserController;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.Hyperlink;
@@ -15,7 +12,7 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
-import views.facade.GUIViewFacade;
+import models.User;
 import views.facade.GUIViewFacadeInterface;
 import views.interfaces.SignupViewInterface;
 
@@ -38,12 +35,11 @@ public class SignupView extends BaseView implements SignupViewInterface {
      * Constructs the SignupView.
      * 
      * @param stage The primary stage for this view.
-     * @param userController The controller for user-related operations.
-     * @param postController The controller for post-related operations.
+     * @param viewFacade The facade shared by all views.
      */
-    public SignupView(Stage stage, UserController userController, PostController postController) {
+    public SignupView(Stage stage, GUIViewFacadeInterface viewFacade) {
         this.stage = stage;
-        this.viewFacade = new GUIViewFacade(stage, userController, postController);
+        this.viewFacade = viewFacade;
 
         initializeComponents();
         show();
@@ -82,12 +78,20 @@ public class SignupView extends BaseView implements SignupViewInterface {
     
     @Override
     protected void show() {
-    	stage.setScene(new Scene(layout, 350, 400));
+    	setScene(stage, layout, 350, 400);
         stage.setTitle("Signup");
         stage.show();
         System.out.println("SignupView displayed.");
     }
     
+    @Override
+    protected void refresh(User user) {
+        // Every visit starts with an empty form
+        for (TextField field : new TextField[] { usernameField, firstNameField, lastNameField, passwordField, confirmPasswordField }) {
+            field.clear();
+        }
+    }
+    
     @Override
     public TextField createStyledTextField(String promptText) {
         TextField textField = new TextField();
@@ -126,14 +130,23 @@ public class SignupView extends BaseView implements SignupViewInterface {
                 return;
             }
 
-            boolean registered = viewFacade.signupUser(username, password, firstName, lastName);
-            if (registered) {
-                viewFacade.showAlert(AlertType.INFORMATION, "Success", "User successfully registered with '" + username + "' as username.");
-                viewFacade.navigateToLogin();
-                
-            } else {
-                viewFacade.showAlert(AlertType.ERROR, "Error", "Username already exists!");
-            }
+            // Hashing the password takes a while, so the registration runs in the background
+            signupButton.setDisable(true);
+            signupButton.setText("Signing up...");
+            viewFacade.runInBackground(() -> viewFacade.signupUser(username, password, firstName, lastName), registered -> {
+                resetSignupButton();
+                if (registered) {
+                    viewFacade.showAlert(AlertType.INFORMATION, "Success", "User successfully registered with '" + username + "' as username.");
+                    viewFacade.navigateToLogin();
+                    
+                } else {
+                    viewFacade.showAlert(AlertType.ERROR, "Error", "Username already exists!");
+                }
+            }, e -> {
+                resetSignupButton();
+                System.err.println("Error during signup: " + e.getMessage());
+                viewFacade.showAlert(AlertType.ERROR, "Error", "An unexpected error occurred during signup: " + e.getMessage());
+            });
     		System.out.println("User tried to sign up with username: " + username);
 
         } catch (Exception e) {
@@ -142,6 +155,11 @@ public class SignupView extends BaseView implements SignupViewInterface {
         }
     }
     
+    private void resetSignupButton() {
+        signupButton.setDisable(false);
+        signupButton.setText("Signup");
+    }
+    
     @Override
     public void handleBack() {
         // Switch back to LoginView
@@ -1,11 +1,8 @@
 package views;
 
-import controllers.PostController;
-import controllers.UserController;
 import exceptions.UserException;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -16,7 +13,6 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import models.User;
-import views.facade.GUIViewFacade;
 import views.facade.GUIViewFacadeInterface;
 import views.interfaces.UpgradeToVIPViewInterface;
 
@@ -39,13 +35,12 @@ public class UpgradeToVIPView extends BaseView implements UpgradeToVIPViewInterf
      * 
      * @param stage The primary stage for this view.
      * @param user The current logged in user.
-     * @param userController The controller for user-related operations.
-     * @param postController The controller for post-related operations.
+     * @param viewFacade The facade shared by all views.
      */
-    public UpgradeToVIPView(Stage stage, User user, UserController userController, PostController postController) {
+    public UpgradeToVIPView(Stage stage, User user, GUIViewFacadeInterface viewFacade) {
         this.user = user;
         this.stage = stage;
-        this.viewFacade = new GUIViewFacade(stage, userController, postController);
+        this.viewFacade = viewFacade;
         
         initializeComponents();
         show();
@@ -82,9 +77,15 @@ public class UpgradeToVIPView extends BaseView implements UpgradeToVIPViewInterf
         
     }
     
+    @Override
+    protected void refresh(User user) {
+        this.user = user;
+        resetUpgradeButton();
+    }
+    
     @Override
     protected void show() {
-    	stage.setScene(new Scene(layout, 600, 300));
+    	setScene(stage, layout, 600, 300);
         stage.setTitle("Upgrade to VIP");
         stage.show();
         System.out.println("UpgradeToVIPView displayed.");
@@ -102,16 +103,25 @@ public class UpgradeToVIPView extends BaseView implements UpgradeToVIPViewInterf
         upgradeButton.setDisable(true); // Disable the button to prevent multiple clicks
         upgradeButton.setText("Upgrading...");
         
-        if (viewFacade.upgradeToVIP(user)) {
-        	System.out.println("Successfully upgraded user: " + user.getUsername());
-        	viewFacade.showAlert(AlertType.INFORMATION, "Success", "Successfully upgraded to VIP. Please log out and log in again to access VIP functionalities.");
-        	viewFacade.navigateToDashboard(user);
-        } else {
-        	System.err.println("Error during the upgrade for user: " + user.getUsername());
+        viewFacade.runInBackground(() -> viewFacade.upgradeToVIP(user), upgraded -> {
+        	resetUpgradeButton();
+        	if (upgraded) {
+        		System.out.println("Successfully upgraded user: " + user.getUsername());
+        		viewFacade.showAlert(AlertType.INFORMATION, "Success", "Successfully upgraded to VIP. Please log out and log in again to access VIP functionalities.");
+        		viewFacade.navigateToDashboard(user);
+        	} else {
+        		System.err.println("Error during the upgrade for user: " + user.getUsername());
+        		viewFacade.showAlert(AlertType.ERROR, "Error", "An error occurred during the upgrade. Please try again.");
+        	}
+        }, e -> {
+        	resetUpgradeButton();
+        	System.err.println("Error during the upgrade for user: " + user.getUsername() + ": " + e.getMessage());
         	viewFacade.showAlert(AlertType.ERROR, "Error", "An error occurred during the upgrade. Please try again.");
-        }
-        
-        // Resetting the button state
+        });
+    }
+    
+    // Resetting the button state
+    private void resetUpgradeButton() {
         upgradeButton.setDisable(false);
         upgradeButton.setText("Upgrade to VIP");
     }
@@ -0,0 +1,96 @@
+package views;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import models.User;
+
+/**
+ * The ViewRouter keeps the views of the application once they have been built, so that
+ * navigating between screens swaps scenes instead of rebuilding scene graphs and reloading data.
+ * <p>
+ * A view is created on first use. When it is navigated to again it is asked to
+ * {@link BaseView#refresh(User) refresh} whatever may have changed and is shown with its existing
+ * scene. Views shown to a logged-in user are dropped, and disposed, when another user or nobody
+ * logs in, so no data of one session leaks into the next. Used on the JavaFX application thread only.
+ * </p>
+ */
+public class ViewRouter {
+
+    private final Map<String, BaseView> views = new HashMap<>();
+    private final Map<String, Boolean> userViews = new HashMap<>();
+    private Integer sessionUserId;
+
+    /**
+     * Shows a view, creating it on first use.
+     *
+     * @param key     Identifies the view in the cache.
+     * @param user    The logged-in user, or null on the screens shown before login.
+     * @param factory Creates and shows the view when it is not cached.
+     * @return the view
+     */
+    public <V extends BaseView> V navigate(String key, User user, Supplier<V> factory) {
+        return navigate(key, user, factory, null);
+    }
+
+    /**
+     * Shows a view, creating it on first use.
+     *
+     * @param key     Identifies the view in the cache.
+     * @param user    The logged-in user, or null on the screens shown before login.
+     * @param factory Creates and shows the view when it is not cached.
+     * @param prepare Applied to a cached view before it is refreshed, e.g. to hand it the post to edit; may be null.
+     * @return the view
+     */
+    @SuppressWarnings("unchecked")
+    public <V extends BaseView> V navigate(String key, User user, Supplier<V> factory, Consumer<V> prepare) {
+        long start = System.nanoTime();
+        startSession(user);
+
+        V view = (V) views.get(key);
+        boolean cached = view != null;
+        if (cached) {
+            if (prepare != null) {
+                prepare.accept(view);
+            }
+            view.refresh(user);
+            view.show();
+        } else {
+            view = factory.get();
+            views.put(key, view);
+            userViews.put(key, user != null);
+        }
+        System.out.println(String.format("Navigated to %s (%s) in %.1f ms.", key, cached ? "cached" : "created",
+                (System.nanoTime() - start) / 1_000_000.0));
+        return view;
+    }
+
+    /**
+     * Drops every cached view.
+     */
+    public void clear() {
+        views.values().forEach(BaseView::dispose);
+        views.clear();
+        userViews.clear();
+    }
+
+    // Forgets the views of the previous user when the logged-in user changes.
+    private void startSession(User user) {
+        Integer userId = user == null ? null : user.getUserId();
+        if (userId == null ? sessionUserId == null : userId.equals(sessionUserId)) {
+            return;
+        }
+        sessionUserId = userId;
+        Iterator<Map.Entry<String, Boolean>> entries = userViews.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Boolean> entry = entries.next();
+            if (entry.getValue()) {
+                views.remove(entry.getKey()).dispose();
+                entries.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package views.facade;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The BackgroundExecutor runs the database queries and password hashing triggered by the views
+ * on a small pool of daemon threads, so that the JavaFX application thread only builds and
+ * updates the scene graph and never waits for SQLite or PBKDF2.
+ */
+public final class BackgroundExecutor {
+
+    // Threads running view work in the background, overridable with -Ddah.ui.backgroundThreads
+    public static final int DEFAULT_THREADS = Integer.getInteger("dah.ui.backgroundThreads", 4);
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(DEFAULT_THREADS, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ui-background-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private BackgroundExecutor() {
+    }
+
+    /**
+     * @param task The work to run, e.g. a JavaFX Task.
+     */
+    public static void execute(Runnable task) {
+        EXECUTOR.execute(task);
+    }
+}
@@ -1,20 +1,40 @@
 package views.facade;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 import controllers.PostController;
 import controllers.UserController;
+import enums.ErrorMode;
+import enums.SortBy;
+import events.PostEventBus;
 import exceptions.CsvLoadingException;
 import exceptions.PostException;
 import exceptions.UserException;
+import exporter.PostExporter;
+import importer.ChunkedCsvImporter;
+import importer.ImportProgress;
+import importer.ImportStats;
+import importer.JsonLinesRowSource;
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.scene.Cursor;
+import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.stage.Stage;
 import models.Post;
+import models.PostPage;
 import models.User;
 import utils.CSVUtils;
 import utils.FileChooserUtils;
+import utils.JsonLinesTokenizer;
 import utils.PasswordUtils;
 import views.BulkImportView;
 import views.DashboardView;
@@ -25,12 +45,17 @@ import views.PostListView;
 import views.ProfileView;
 import views.SignupView;
 import views.UpgradeToVIPView;
+import views.ViewRouter;
 
 public class GUIViewFacade implements GUIViewFacadeInterface {
 
 	private Stage currentStage;
     private UserController userController;
     private PostController postController;
+    
+    private final ViewRouter router = new ViewRouter();
+    
+    private static final String BUSY_TASKS_KEY = "dah.busyTasks";
 
     public GUIViewFacade(Stage stage, UserController userController, PostController postController) {
     	this.currentStage = stage;
@@ -39,54 +64,66 @@ public class GUIViewFacade implements GUIViewFacadeInterface {
     }
     
     // Navigation Methods
+    // Views are built once and kept by the router; navigating again refreshes and shows them
     @Override
     public void navigateToLogin() {
-    	new LoginView(currentStage, userController, postController);
+    	router.navigate("login", null, () -> new LoginView(currentStage, this));
     }
     
     @Override
     public void navigateToSignup() {
-        new SignupView(currentStage, userController, postController);
+        router.navigate("signup", null, () -> new SignupView(currentStage, this));
     }
     
     @Override
     public void navigateToDashboard(User user) {
-        new DashboardView(currentStage, user, postController, userController);
+        router.navigate("dashboard", user, () -> new DashboardView(currentStage, user, this));
     }
     
     @Override
     public void navigateToAddPost(User user) {
-    	new PostFormView(currentStage, user, postController, userController);
+    	router.navigate("addPost", user, () -> new PostFormView(currentStage, user, this));
     }
     
     @Override
     public void navigateToMyPosts(User user) {
-        new PostListView(currentStage, user, postController, userController);
+        router.navigate("myPosts", user, () -> new PostListView(currentStage, user, this));
     }
     
     @Override
     public void navigateToEditUserProfile(User user) { 
-    	new ProfileView(currentStage, user, userController, postController);
+    	router.navigate("profile", user, () -> new ProfileView(currentStage, user, this));
     }
     
     @Override
     public void navigateToUpgradeToVIP(User user) { 
-    	new UpgradeToVIPView(currentStage, user, userController, postController);
+    	router.navigate("upgradeToVIP", user, () -> new UpgradeToVIPView(currentStage, user, this));
     }
     
     @Override
     public void navigateToVisualization(User user) { 
-    	new PieChartView(currentStage, user, userController, postController);
+    	router.navigate("visualization", user, () -> new PieChartView(currentStage, user, this));
     }
     
     @Override
     public void navigateToBulkImports(User user) { 
-    	new BulkImportView(currentStage, user, postController, userController);
+    	router.navigate("bulkImports", user, () -> new BulkImportView(currentStage, user, this));
     }
     
     @Override
     public void navigateToEditPost(User user, Post post) {
-        new PostFormView(currentStage, user, postController, userController, post);
+        router.navigate("editPost", user, () -> new PostFormView(currentStage, user, this, post), view -> view.setExistingPost(post));
+    }
+    
+    // Post Events
+    @Override
+    public void addPostListener(PostEventBus.Listener listener) {
+    	postController.getPostEventBus().subscribe(listener);
+    }
+    
+    @Override
+    public void removePostListener(PostEventBus.Listener listener) {
+    	postController.getPostEventBus().unsubscribe(listener);
     }
 
 
@@ -99,6 +136,44 @@ public class GUIViewFacade implements GUIViewFacadeInterface {
         alert.setContentText(message);
         alert.showAndWait();
     }
+    
+    
+    // Background Work
+    @Override
+    public <T> Task<T> runInBackground(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+    	Task<T> task = new Task<>() {
+    		@Override
+    		protected T call() throws Exception {
+    			return work.call();
+    		}
+    	};
+    	task.setOnSucceeded(e -> onSuccess.accept(task.getValue()));
+    	task.setOnFailed(e -> onFailure.accept(task.getException()));
+    	runInBackground(task);
+    	return task;
+    }
+    
+    @Override
+    public void runInBackground(Task<?> task) {
+    	// The wait cursor belongs to the scene the work was started from, even if the user navigates away
+    	Scene scene = currentStage.getScene();
+    	if (scene != null) {
+    		adjustBusyCount(scene, 1);
+    		task.stateProperty().addListener((observable, oldState, newState) -> {
+    			if (newState == Worker.State.SUCCEEDED || newState == Worker.State.FAILED || newState == Worker.State.CANCELLED) {
+    				adjustBusyCount(scene, -1);
+    			}
+    		});
+    	}
+    	BackgroundExecutor.execute(task);
+    }
+    
+    // Counts the background tasks started from a scene and shows a wait cursor while there are any.
+    private static void adjustBusyCount(Scene scene, int delta) {
+    	int busy = (Integer) scene.getProperties().getOrDefault(BUSY_TASKS_KEY, 0) + delta;
+    	scene.getProperties().put(BUSY_TASKS_KEY, busy);
+    	scene.setCursor(busy > 0 ? Cursor.WAIT : null);
+    }
 
     
     // Post-related methods
@@ -129,6 +204,21 @@ public class GUIViewFacade implements GUIViewFacadeInterface {
     	return postController.getAllPosts();
     }
     
+    @Override
+    public long forEachPost(User user, Consumer<Post> action) throws PostException {
+    	return postController.forEachPost(user, action);
+    }
+    
+    @Override
+    public PostPage getPostsPage(SortBy sortBy, User user, Post after, int pageSize) throws PostException {
+    	return postController.getPostsPage(sortBy, user, after, pageSize);
+    }
+    
+    @Override
+    public long[] getSharesHistogram(User user, int... boundaries) throws PostException {
+    	return postController.getSharesHistogram(user, boundaries);
+    }
+    
     @Override
     public Post getPostByID(int postId) throws PostException { 
     	return postController.getPostByID(postId);
@@ -159,26 +249,66 @@ public class GUIViewFacade implements GUIViewFacadeInterface {
     	return CSVUtils.savePostToFile(post, file);
     }
     
+    @Override
+    public long exportPosts(User user, File file) throws PostException {
+    	return postController.exportPosts(user, file, PostExporter.isGzipFile(file));
+    }
+    
+    @Override
+    public long exportPosts(List<Post> posts, File file) throws PostException {
+    	try {
+    		return PostExporter.export(action -> {
+    			posts.forEach(action);
+    			return posts.size();
+    		}, file);
+    	} catch (IOException e) {
+    		throw new PostException("Failed to export posts: " + e.getMessage(), e);
+    	}
+    }
+    
     @Override
     public List<Post> previewImportedPosts(File file, User user) throws CsvLoadingException{ 
-    	return CSVUtils.readPosts(file.getAbsolutePath(), user);
+    	List<Post> posts = new ArrayList<>();
+    	if (JsonLinesTokenizer.isJsonLinesFile(file)) {
+    		JsonLinesRowSource.readPosts(file, user, posts::add);
+    		return posts;
+    	}
+    	// Parsed in parallel chunks of the memory-mapped file, in file order
+    	new ChunkedCsvImporter().readPosts(file, user, posts::add);
+    	return posts;
+    }
+    
+    @Override
+    public List<Post> removeDuplicatePosts(List<Post> posts, User user) throws PostException {
+    	return postController.removeDuplicatePosts(posts, user);
     }
     
     @Override
     public boolean addBulkPosts(List<Post> posts) throws PostException {
     	return postController.addBulkPosts(posts);
     }
+    
+    @Override
+    public ImportStats importPosts(File file, User user, ErrorMode errorMode) throws PostException {
+    	return postController.importPosts(file, user, errorMode);
+    }
+    
+    @Override
+    public ImportStats importPosts(File file, User user, ErrorMode errorMode, ImportProgress progress) throws PostException {
+    	return postController.importPosts(file, user, errorMode, progress);
+    }
 
     
     // User-related methods
+    // Password hashing runs on the service executor, so its hashing limit also holds for the views
     @Override
     public User loginUser(String username, String password) throws UserException {
-        return userController.loginUser(username, password);
+        return await(userController.getAsyncUserService().loginUser(username, password));
     }
 
     @Override
     public boolean signupUser(String username, String password, String firstName, String lastName) throws UserException {
-        return userController.registerUser(username, password, firstName, lastName);
+        return await(userController.getAsyncUserService().registerUser(username, password, firstName, lastName));
     }
     
     @Override
@@ -204,7 +334,21 @@ public class GUIViewFacade implements GUIViewFacadeInterface {
 
     @Override
     public boolean updateUserPassword(User user, String password) throws UserException {
-        return userController.updateUserPassword(user, password);
+        return await(userController.getAsyncUserService().updateUserPassword(user, password));
+    }
+    
+    // Waits for an asynchronous user service call, rethrowing the UserException it failed with.
+    private static <T> T await(CompletableFuture<T> call) throws UserException {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UserException userException) {
+                throw userException;
+            } else if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new UserException("User service call failed: " + e.getCause().getMessage(), null);
+        }
     }
     
     @Override
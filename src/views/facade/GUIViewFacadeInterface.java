@@ -2,12 +2,21 @@ package views.facade;
 
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
+import enums.ErrorMode;
+import enums.SortBy;
+import events.PostEventBus;
 import exceptions.CsvLoadingException;
 import exceptions.PostException;
 import exceptions.UserException;
+import importer.ImportProgress;
+import importer.ImportStats;
+import javafx.concurrent.Task;
 import javafx.scene.control.Alert.AlertType;
 import models.Post;
+import models.PostPage;
 import models.User;
 
 /**
@@ -43,6 +52,19 @@ public interface GUIViewFacadeInterface {
  
     public void navigateToEditPost(User user, Post post);
 
+    // === Post Events ===
+    /**
+     * Subscribes to committed changes to posts. The listener is called on the thread that made
+     * the change, so views pass the event on with {@code Platform.runLater}.
+     * @param listener The listener to add.
+     */
+    public void addPostListener(PostEventBus.Listener listener);
+    
+    /**
+     * @param listener A listener added with {@link #addPostListener(PostEventBus.Listener)}.
+     */
+    public void removePostListener(PostEventBus.Listener listener);
+
     // === Alerts & Messages ===
     /**
      * Displays an alert to the user.
@@ -51,6 +73,24 @@ public interface GUIViewFacadeInterface {
      * @param message The message content of the alert.
      */
     public void showAlert(AlertType alertType, String title, String message);
+    
+    // === Background Work ===
+    /**
+     * Runs work, typically one or more of the facade calls below, off the JavaFX application thread
+     * and hands its outcome back to the application thread. A wait cursor is shown meanwhile.
+     * @param work The work to run on the background executor.
+     * @param onSuccess Receives the result on the application thread.
+     * @param onFailure Receives the exception on the application thread.
+     * @return the running task; once cancelled, e.g. with {@code cancel(false)} so that a JDBC call is not
+     *         interrupted, neither callback is called and the result is dropped.
+     */
+    public <T> Task<T> runInBackground(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure);
+    
+    /**
+     * Runs a prepared task, e.g. one reporting progress, on the background executor with a wait cursor.
+     * @param task The task to run.
+     */
+    public void runInBackground(Task<?> task);
 
     // === Post-related methods ===
     
@@ -64,6 +104,12 @@ public interface GUIViewFacadeInterface {
     
     public List<Post> getAllPosts() throws PostException;
     
+    public long forEachPost(User user, Consumer<Post> action) throws PostException;
+    
+    public PostPage getPostsPage(SortBy sortBy, User user, Post after, int pageSize) throws PostException;
+    
+    public long[] getSharesHistogram(User user, int... boundaries) throws PostException;
+    
     public Post getPostByID(int postId) throws PostException;
     
     public List<Post> getTopNPostsByLikes(int n, User user) throws PostException;
@@ -76,9 +122,19 @@ public interface GUIViewFacadeInterface {
     
     public boolean savePostToFile(Post post, File file);
     
+    public long exportPosts(User user, File file) throws PostException;
+    
+    public long exportPosts(List<Post> posts, File file) throws PostException;
+    
     public List<Post> previewImportedPosts(File file, User user) throws CsvLoadingException;
     
+    public List<Post> removeDuplicatePosts(List<Post> posts, User user) throws PostException;
+    
     public boolean addBulkPosts(List<Post> posts) throws PostException;
+    
+    public ImportStats importPosts(File file, User user, ErrorMode errorMode) throws PostException;
+    
+    public ImportStats importPosts(File file, User user, ErrorMode errorMode, ImportProgress progress) throws PostException;
 
     // === User-related methods ===
     
@@ -13,4 +13,6 @@ public interface BulkImportViewInterface {
     String formatPostForDisplay(Post post);
 
     void handleSave() throws PostException;
+
+    void handleDirectImport(File selectedFile);
 }
@@ -16,5 +16,11 @@ public interface PostListViewInterface {
     
     void handleTopPosts() throws PostException;
 
+    void handleBrowsePosts() throws PostException;
+
     void handleExportPost(Post post);
+
+    void handleExportListedPosts();
+
+    void handleExportAllPosts();
 }